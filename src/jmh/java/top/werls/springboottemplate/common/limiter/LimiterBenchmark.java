@@ -0,0 +1,107 @@
+package top.werls.springboottemplate.common.limiter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.web.method.HandlerMethod;
+import top.werls.springboottemplate.common.aspect.LimiterStubs;
+import top.werls.springboottemplate.common.aspect.RequestLimitCaffAspect;
+import top.werls.springboottemplate.common.aspect.RequestRateLimiterAspect;
+
+/**
+ * 限流切面与限流引擎的吞吐量基准，8 个线程随机访问 {@code clients} 个客户端。
+ *
+ * <p>规则上限很低，绝大多数调用走拒绝路径，与被攻击时的情况一致。配合 {@code -prof gc} 查看每次调用的内存分配 （{@code
+ * gc.alloc.rate.norm}）。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class LimiterBenchmark {
+
+  @Param({"1000", "100000"})
+  public int clients;
+
+  private String[] addresses;
+
+  private RequestLimitCaffAspect caffAspect;
+  private RequestRateLimiterAspect rateAspect;
+  private ProceedingJoinPoint fixedJoinPoint;
+  private ProceedingJoinPoint ratedJoinPoint;
+
+  private LocalLimiter localLimiter;
+  private EndpointPolicy fixedPolicy;
+  private EndpointPolicy ratedPolicy;
+  private LimitRule fixedRule;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    addresses = new String[clients];
+    for (int i = 0; i < clients; i++) {
+      addresses[i] = LimiterStubs.client(i);
+    }
+    caffAspect = LimiterStubs.caffAspect();
+    rateAspect = LimiterStubs.rateAspect();
+    fixedJoinPoint = LimiterStubs.joinPoint(LimiterStubs.method("fixed"));
+    ratedJoinPoint = LimiterStubs.joinPoint(LimiterStubs.method("rated"));
+    localLimiter = new LocalLimiter(clients * 2L, clients * 2);
+    LimiterStubs.Target target = new LimiterStubs.Target();
+    fixedPolicy = new EndpointPolicy(0, new HandlerMethod(target, LimiterStubs.method("fixed")));
+    ratedPolicy = new EndpointPolicy(1, new HandlerMethod(target, LimiterStubs.method("rated")));
+    fixedRule = fixedPolicy.getRules()[0];
+  }
+
+  private String nextAddress() {
+    return addresses[ThreadLocalRandom.current().nextInt(clients)];
+  }
+
+  @Benchmark
+  public Object caffeineAspect() throws Throwable {
+    LimiterStubs.CLIENT.set(nextAddress());
+    try {
+      return caffAspect.doAround(fixedJoinPoint);
+    } catch (RateLimitException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object rateLimiterAspect() throws Throwable {
+    LimiterStubs.CLIENT.set(nextAddress());
+    try {
+      return rateAspect.doAround(ratedJoinPoint);
+    } catch (RateLimitException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public LimitDecision localStringKey() {
+    return localLimiter.tryAcquire(nextAddress() + ":" + fixedPolicy.getName(), fixedRule);
+  }
+
+  @Benchmark
+  public LimitDecision compactTableFixedWindow() {
+    return localLimiter.tryAcquire(nextAddress(), fixedPolicy, 0);
+  }
+
+  @Benchmark
+  public LimitDecision compactTableTokenBucket() {
+    return localLimiter.tryAcquire(nextAddress(), ratedPolicy, 0);
+  }
+}
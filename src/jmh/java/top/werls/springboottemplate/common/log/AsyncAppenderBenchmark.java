@@ -0,0 +1,114 @@
+package top.werls.springboottemplate.common.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 日志对请求耗时的影响，8 个线程模拟请求处理：一段固定计算 + 两条 INFO 日志。
+ *
+ * <ul>
+ *   <li>{@code off}：logger 级别为 OFF，只剩级别判断的开销，作为基线</li>
+ *   <li>{@code sync}：直接写 {@link FileAppender}，与原来的 logback-spring.xml 相同</li>
+ *   <li>{@code async}：经过 {@link RingBufferAsyncAppender}，下游文件 appender 关闭 immediateFlush</li>
+ * </ul>
+ *
+ * <p>使用 SampleTime 模式，对比 p99/p999 比对比平均值更能说明请求线程被磁盘 I/O 阻塞的情况。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class AsyncAppenderBenchmark {
+
+  @Param({"off", "sync", "async"})
+  public String mode;
+
+  private LoggerContext context;
+  private Logger logger;
+  private Path directory;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("log-bench");
+    context = new LoggerContext();
+    context.setName("bench");
+    logger = context.getLogger("bench.request");
+    logger.setAdditive(false);
+    switch (mode) {
+      case "off" -> logger.setLevel(Level.OFF);
+      case "sync" -> {
+        logger.setLevel(Level.INFO);
+        logger.addAppender(fileAppender(true));
+      }
+      case "async" -> {
+        logger.setLevel(Level.INFO);
+        RingBufferAsyncAppender async = new RingBufferAsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC_FILE");
+        async.setNeverBlock(true);
+        async.addAppender(fileAppender(false));
+        async.start();
+        logger.addAppender(async);
+      }
+      default -> throw new IllegalArgumentException(mode);
+    }
+  }
+
+  private Appender<ILoggingEvent> fileAppender(boolean immediateFlush) {
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(context);
+    encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{50} - %msg%n");
+    encoder.start();
+    FileAppender<ILoggingEvent> appender = new FileAppender<>();
+    appender.setContext(context);
+    appender.setName("FILE");
+    appender.setFile(directory.resolve("bench.log").toString());
+    appender.setEncoder(encoder);
+    appender.setImmediateFlush(immediateFlush);
+    appender.start();
+    return appender;
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    context.stop();
+    try (var files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        Files.deleteIfExists(file);
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+
+  @Benchmark
+  public void request(Blackhole blackhole) {
+    logger.info("request start: uri={}, user={}", "/api/demo", "admin");
+    Blackhole.consumeCPU(2_000);
+    blackhole.consume(System.nanoTime());
+    logger.info("request end: uri={}, status={}", "/api/demo", 200);
+  }
+}
@@ -0,0 +1,79 @@
+package top.werls.springboottemplate.common.utils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 三种签名算法的签名、验签吞吐量与 token 长度，claims 与 {@code SysUserServiceImpl.login} 签发的一致。
+ *
+ * <p>token 长度在每个参数的 setup 阶段打印。签名部分 RS256（2048 位）为 256 字节，ES256 与 Ed25519 为 64 字节，Base64URL
+ * 编码后 token 相差约 250 字节。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtAlgorithmBenchmark {
+
+  @Param({"RS256", "ES256", "ED25519"})
+  public String algorithm;
+
+  private KeyPair keyPair;
+  private SignatureAlgorithm signature;
+  private JwtParser parser;
+  private Map<String, Object> claims;
+  private String token;
+
+  @Setup
+  public void setUp() throws NoSuchAlgorithmException {
+    signature =
+        switch (algorithm) {
+          case "RS256" -> Jwts.SIG.RS256;
+          case "ES256" -> Jwts.SIG.ES256;
+          case "ED25519" -> Jwts.SIG.EdDSA;
+          default -> throw new IllegalArgumentException(algorithm);
+        };
+    // EdDSA 默认生成 Ed448 密钥，这里固定为 Ed25519
+    keyPair =
+        "ED25519".equals(algorithm)
+            ? KeyPairGenerator.getInstance("Ed25519").generateKeyPair()
+            : signature.keyPair().build();
+    parser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+    claims = Map.of("username", "admin", "time", System.currentTimeMillis());
+    token = sign();
+    System.out.printf("%n%s token length: %d bytes%n", algorithm, token.length());
+  }
+
+  @Benchmark
+  public String sign() {
+    return Jwts.builder()
+        .claims(claims)
+        .issuedAt(new Date())
+        .signWith(keyPair.getPrivate(), signature)
+        .compact();
+  }
+
+  @Benchmark
+  public Claims verify() {
+    return parser.parseSignedClaims(token).getPayload();
+  }
+}
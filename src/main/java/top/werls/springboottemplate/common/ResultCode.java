@@ -34,6 +34,11 @@ public enum ResultCode {
      */
     PARAM_ERROR(400, "参数错误"),
 
+    /**
+     * 请求过于频繁
+     */
+    TOO_MANY_REQUESTS(429, "访问过于频繁，请稍后再尝试"),
+
     /**
      * 系统错误
      */
@@ -147,6 +147,15 @@ public class ResultData<T> implements Serializable {
     return new ResultData<>(ResultCode.PARAM_ERROR.getCode(), message);
   }
 
+  public static <T> ResultData<T> tooManyRequests() {
+    return new ResultData<>(ResultCode.TOO_MANY_REQUESTS.getCode(),
+        ResultCode.TOO_MANY_REQUESTS.getMessage());
+  }
+
+  public static <T> ResultData<T> tooManyRequests(String message) {
+    return new ResultData<>(ResultCode.TOO_MANY_REQUESTS.getCode(), message);
+  }
+
   public static <T> ResultData<T> systemError() {
     return new ResultData<>(ResultCode.SYSTEM_ERROR.getCode(),
         ResultCode.SYSTEM_ERROR.getMessage());
@@ -0,0 +1,36 @@
+package top.werls.springboottemplate.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 自适应并发限制，根据观测到的响应时间动态调整接口允许的并发数，超出时直接返回 503。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdaptiveLimit {
+
+  /**
+   * 初始并发上限
+   *
+   */
+  int initialLimit() default 20;
+
+  /**
+   * 并发上限的下界
+   *
+   */
+  int minLimit() default 1;
+
+  /**
+   * 并发上限的上界
+   *
+   */
+  int maxLimit() default 200;
+}
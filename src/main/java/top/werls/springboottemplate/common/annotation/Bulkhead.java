@@ -0,0 +1,44 @@
+package top.werls.springboottemplate.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 舱壁隔离，限制方法的并发执行数，超出时在有界队列中等待，等待超时或队列已满返回 503。
+ *
+ * <p>开启虚拟线程后每个请求都有独立线程，不再受线程池大小约束，需要用它保护文件 I/O、BCrypt 这类共享资源。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+  /**
+   * 舱壁名称，名称相同的方法共享并发名额；为空时使用 类名.方法名
+   *
+   */
+  String name() default "";
+
+  /**
+   * 最大并发数
+   *
+   */
+  int maxConcurrent() default 10;
+
+  /**
+   * 获取名额的最长等待时间（毫秒），0 表示不等待
+   *
+   */
+  long maxWaitMs() default 0;
+
+  /**
+   * 最多允许多少个请求同时等待，超出直接拒绝
+   *
+   */
+  int maxQueue() default 100;
+}
@@ -0,0 +1,35 @@
+package top.werls.springboottemplate.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 请求优先级，JVM 压力升高时按优先级从低到高逐步丢弃请求。
+ *
+ * <p>可以标注在类或方法上，方法上的优先；都没有标注时为 {@link Level#NORMAL}。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestPriority {
+
+  /**
+   * 优先级
+   *
+   */
+  Level value();
+
+  /** 优先级，从高到低 */
+  enum Level {
+    /** 永不丢弃，如登录 */
+    CRITICAL,
+    HIGH,
+    NORMAL,
+    LOW
+  }
+}
@@ -0,0 +1,23 @@
+package top.werls.springboottemplate.common.apitoken;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 存储中的 API token，只保存 token 的 SHA-256，不保存原文。
+ *
+ * @param tokenHash token 的 SHA-256（十六进制），见 {@code JwtTokenUtils.hashString}
+ * @param username 所属用户
+ * @param authorities 权限
+ * @param expiresAt 过期时间，为 null 表示不过期
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public record ApiTokenRecord(
+    String tokenHash, String username, List<String> authorities, Instant expiresAt) {
+
+  public boolean isExpired(Instant now) {
+    return expiresAt != null && !now.isBefore(expiresAt);
+  }
+}
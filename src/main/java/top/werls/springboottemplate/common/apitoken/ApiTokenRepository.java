@@ -0,0 +1,32 @@
+package top.werls.springboottemplate.common.apitoken;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * API token 存储。默认实现为 {@link InMemoryApiTokenRepository}，接入数据库时提供自己的实现 bean 即可替换。
+ *
+ * <p>{@link ApiTokenService} 缓存查询结果并批量回写最近使用时间，实现不需要自己做缓存。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public interface ApiTokenRepository {
+
+  /**
+   * 按 token 哈希查找
+   *
+   * @param tokenHash token 的 SHA-256（十六进制）
+   * @return token 记录，不存在时为空
+   */
+  Optional<ApiTokenRecord> findByHash(String tokenHash);
+
+  /**
+   * 批量更新最近使用时间
+   *
+   * @param lastUsed token 哈希 -> 最近使用时间
+   */
+  void updateLastUsed(Map<String, Instant> lastUsed);
+}
@@ -0,0 +1,167 @@
+package top.werls.springboottemplate.common.apitoken;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import top.werls.springboottemplate.common.utils.JwtTokenUtils;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * API token 认证。
+ *
+ * <p>请求携带 token 原文，按其 SHA-256 查询 {@link ApiTokenRepository}。查询结果（包括不存在）缓存在有界的本地缓存中：存在的 token 缓存
+ * {@code positive-ttl}，不存在的缓存 {@code negative-ttl}，同一个 token 并发未命中时只查询一次存储。 机器客户端每秒数千次请求也只在缓存过期时访问一次存储。
+ *
+ * <p>最近使用时间先记录在内存中，每个 token 只保留最新值，由后台线程每隔 {@code flush-interval} 批量写回存储。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+public class ApiTokenService {
+
+  private final ConfigProperties.ApiTokenProperties properties;
+  private final ApiTokenRepository repository;
+
+  /** token 哈希 -> 查询结果，record 为 null 表示不存在 */
+  private final Cache<String, Lookup> cache;
+
+  /** 待写回的最近使用时间 */
+  private final Map<String, Instant> pendingLastUsed = new ConcurrentHashMap<>();
+
+  private final ScheduledExecutorService flusher;
+
+  public ApiTokenService(ConfigProperties configProperties, ApiTokenRepository repository) {
+    this(configProperties.getApiToken(), repository, true);
+  }
+
+  ApiTokenService(ConfigProperties.ApiTokenProperties properties, ApiTokenRepository repository,
+      boolean schedule) {
+    this.properties = properties;
+    this.repository = repository;
+    long positive = properties.getPositiveTtl().toNanos();
+    long negative = properties.getNegativeTtl().toNanos();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfter(
+                Expiry.<String, Lookup>creating(
+                    (hash, lookup) -> Duration.ofNanos(lookup.record() == null ? negative : positive)))
+            .build();
+    this.flusher = schedule ? startFlusher() : null;
+  }
+
+  /**
+   * 请求头中的 token 是否是 API token（以 {@code prefix_} 开头）
+   *
+   * @param token 去掉 Bearer 前缀的 token
+   * @return 是 API token 时返回 true
+   */
+  public boolean supports(String token) {
+    return properties.isEnabled() && token.startsWith(properties.getPrefix() + "_");
+  }
+
+  /**
+   * 校验 API token
+   *
+   * @param token token 原文
+   * @return token 记录，不存在或已过期时返回 null
+   */
+  public ApiTokenRecord authenticate(String token) {
+    String hash = JwtTokenUtils.hashString(token);
+    Lookup lookup = cache.get(hash, this::load);
+    ApiTokenRecord record = lookup.record();
+    Instant now = Instant.now();
+    if (record == null || record.isExpired(now)) {
+      return null;
+    }
+    pendingLastUsed.put(hash, now);
+    return record;
+  }
+
+  /**
+   * token 被删除或修改后移除缓存，否则最长在 positive-ttl 后生效
+   *
+   * @param tokenHash token 哈希
+   */
+  public void invalidate(String tokenHash) {
+    cache.invalidate(tokenHash);
+  }
+
+  private Lookup load(String hash) {
+    return new Lookup(repository.findByHash(hash).orElse(null));
+  }
+
+  /** 把累积的最近使用时间批量写回存储 */
+  void flush() {
+    if (pendingLastUsed.isEmpty()) {
+      return;
+    }
+    Map<String, Instant> batch = new HashMap<>();
+    for (Map.Entry<String, Instant> entry : pendingLastUsed.entrySet()) {
+      // 只移除读到的值，期间更新的时间留到下一批
+      if (pendingLastUsed.remove(entry.getKey(), entry.getValue())) {
+        batch.put(entry.getKey(), entry.getValue());
+      }
+    }
+    try {
+      repository.updateLastUsed(batch);
+    } catch (RuntimeException e) {
+      // 写回失败时放回，已有更新的值不覆盖
+      batch.forEach(pendingLastUsed::putIfAbsent);
+      throw e;
+    }
+  }
+
+  public long cacheSize() {
+    return cache.estimatedSize();
+  }
+
+  private ScheduledExecutorService startFlusher() {
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "api-token-flush");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = properties.getFlushInterval().toMillis();
+    executor.scheduleWithFixedDelay(
+        () -> {
+          try {
+            flush();
+          } catch (Exception e) {
+            log.error("写回 API token 使用时间失败: {}", e.getMessage());
+          }
+        },
+        interval,
+        interval,
+        TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (flusher != null) {
+      flusher.shutdownNow();
+    }
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      log.error("写回 API token 使用时间失败: {}", e.getMessage());
+    }
+  }
+
+  private record Lookup(ApiTokenRecord record) {}
+}
@@ -0,0 +1,42 @@
+package top.werls.springboottemplate.common.apitoken;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存中的 API token 存储，用于开发与测试，重启后丢失。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class InMemoryApiTokenRepository implements ApiTokenRepository {
+
+  private final Map<String, ApiTokenRecord> tokens = new ConcurrentHashMap<>();
+  private final Map<String, Instant> lastUsed = new ConcurrentHashMap<>();
+
+  public void save(ApiTokenRecord record) {
+    tokens.put(record.tokenHash(), record);
+  }
+
+  public void delete(String tokenHash) {
+    tokens.remove(tokenHash);
+    lastUsed.remove(tokenHash);
+  }
+
+  @Override
+  public Optional<ApiTokenRecord> findByHash(String tokenHash) {
+    return Optional.ofNullable(tokens.get(tokenHash));
+  }
+
+  @Override
+  public void updateLastUsed(Map<String, Instant> lastUsed) {
+    this.lastUsed.putAll(lastUsed);
+  }
+
+  public Optional<Instant> lastUsed(String tokenHash) {
+    return Optional.ofNullable(lastUsed.get(tokenHash));
+  }
+}
@@ -0,0 +1,64 @@
+package top.werls.springboottemplate.common.aspect;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.annotation.Bulkhead;
+import top.werls.springboottemplate.common.limiter.LimitRejectionRecorder;
+import top.werls.springboottemplate.common.limiter.bulkhead.BulkheadFullException;
+import top.werls.springboottemplate.common.limiter.bulkhead.BulkheadRegistry;
+import top.werls.springboottemplate.common.limiter.bulkhead.SemaphoreBulkhead;
+
+/**
+ * 舱壁隔离切面，对标注了 {@link Bulkhead} 的方法生效。
+ *
+ * <p>方法到舱壁的映射缓存在本地，请求期间只做一次 Map 查找和一次信号量操作。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Aspect
+@Component
+public class BulkheadAspect {
+
+  private final BulkheadRegistry registry;
+
+  private final LimitRejectionRecorder rejections;
+
+  private final Map<Method, SemaphoreBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+  public BulkheadAspect(BulkheadRegistry registry, LimitRejectionRecorder rejections) {
+    this.registry = registry;
+    this.rejections = rejections;
+  }
+
+  @Around("@annotation(annotation)")
+  public Object doAround(ProceedingJoinPoint joinPoint, Bulkhead annotation) throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    SemaphoreBulkhead bulkhead =
+        bulkheads.computeIfAbsent(method, m -> registry.get(resolveName(m, annotation), annotation));
+    if (!bulkhead.tryAcquire()) {
+      rejections.record(LimitRejectionRecorder.Reason.BULKHEAD, bulkhead.getName(), "-");
+      throw new BulkheadFullException(bulkhead.getName(), bulkhead.retryAfterMillis());
+    }
+    try {
+      return joinPoint.proceed();
+    } finally {
+      bulkhead.release();
+    }
+  }
+
+  private static String resolveName(Method method, Bulkhead annotation) {
+    if (StringUtils.isNotBlank(annotation.name())) {
+      return annotation.name();
+    }
+    return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+  }
+}
@@ -1,12 +1,32 @@
 package top.werls.springboottemplate.common.aspect;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import top.werls.springboottemplate.common.jfr.ControllerInvocationEvent;
+import top.werls.springboottemplate.common.metrics.EndpointLatency;
+import top.werls.springboottemplate.common.metrics.LatencyRegistry;
+import top.werls.springboottemplate.common.metrics.ResourceRegistry;
+import top.werls.springboottemplate.common.metrics.ThreadResources;
+import top.werls.springboottemplate.common.watchdog.SlowRequestWatchdog;
+import top.werls.springboottemplate.config.ConfigProperties;
 
 /**
+ * 记录 controller 耗时到各接口的直方图，见 {@link LatencyRegistry}。
+ *
+ * <p>不再逐次输出 INFO 日志；需要时开启 DEBUG 并设置 {@code env.latency.debug-sample-rate}，按比例抽样输出。
+ * 每次调用同时提交一个 {@link ControllerInvocationEvent}，没有 JFR 录制时不产生开销。
+ * 开启 {@code env.latency.resource-accounting} 时记录调用期间当前线程分配的内存与 CPU 时间，见 {@link ResourceRegistry}。
+ * 调用期间登记到 {@link SlowRequestWatchdog}，超过阈值时采样调用栈。
+ *
  * @author leejiawei
  * @version TODO
  * @since on  2022/2/8
@@ -15,26 +35,77 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 public class LogAspect {
+
+    private final LatencyRegistry latencyRegistry;
+
+    private final ResourceRegistry resourceRegistry;
+
+    private final SlowRequestWatchdog watchdog;
+
+    private final double debugSampleRate;
+
+    private final boolean resourceAccounting;
+
+    public LogAspect(LatencyRegistry latencyRegistry, ResourceRegistry resourceRegistry,
+            SlowRequestWatchdog watchdog, ConfigProperties configProperties) {
+        this.latencyRegistry = latencyRegistry;
+        this.resourceRegistry = resourceRegistry;
+        this.watchdog = watchdog;
+        this.debugSampleRate = configProperties.getLatency().getDebugSampleRate();
+        this.resourceAccounting = configProperties.getLatency().isResourceAccounting();
+    }
+
     @Pointcut("execution(public * top.werls.springboottemplate.*.controller.*.*(..))")
     public void logPointCut() {
     }
 
-    @Before("logPointCut()")
-    public void before(JoinPoint joinPoint) {
-        log.info("before class: {} ,method: {}", joinPoint.getSignature().getDeclaringType(),joinPoint.getSignature().getName());
-    }
-    @After("logPointCut()")
-    public void after(JoinPoint joinPoint) {
-        log.info("after class: {} ,method: {}", joinPoint.getSignature().getDeclaringType(),joinPoint.getSignature().getName());
-    }
     @Around("logPointCut()")
     public Object doAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        long start = System.currentTimeMillis();
-        Object result =joinPoint.proceed();
-        log.info("after class: {} ,method: {}, time:{}ms",
-                joinPoint.getSignature().getDeclaringType(),
-                joinPoint.getSignature().getName()
-                ,System.currentTimeMillis()-start);
-        return result;
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        EndpointLatency latency = latencyRegistry.get(method);
+        ControllerInvocationEvent event = new ControllerInvocationEvent();
+        event.begin();
+        // 虚拟线程上两者都返回 -1，由 VirtualThreadSampler 补记
+        long allocatedStart = resourceAccounting ? ThreadResources.allocatedBytes() : -1;
+        long cpuStart = resourceAccounting ? ThreadResources.cpuTime() : -1;
+        SlowRequestWatchdog.Ticket ticket = begin(latency.getName());
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long end = System.nanoTime();
+            watchdog.end(ticket, failed);
+            latency.record(start, end, failed);
+            if (resourceAccounting) {
+                resourceRegistry.get(method).record(
+                        ThreadResources.since(allocatedStart, ThreadResources.allocatedBytes()),
+                        ThreadResources.since(cpuStart, ThreadResources.cpuTime()));
+            }
+            if (event.shouldCommit()) {
+                event.endpoint = latency.getName();
+                event.failed = failed;
+                event.commit();
+            }
+            if (debugSampleRate > 0 && log.isDebugEnabled()
+                    && ThreadLocalRandom.current().nextDouble() < debugSampleRate) {
+                log.debug("method: {}, time: {}us, failed: {}", latency.getName(), (end - start) / 1000, failed);
+            }
+        }
+    }
+
+    private SlowRequestWatchdog.Ticket begin(String endpoint) {
+        if (!watchdog.isEnabled()) {
+            return null;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            return watchdog.begin(endpoint, servlet.getRequest().getMethod(),
+                    servlet.getRequest().getRequestURI(),
+                    SecurityContextHolder.getContext().getAuthentication());
+        }
+        return watchdog.begin(endpoint, null, null, null);
     }
 }
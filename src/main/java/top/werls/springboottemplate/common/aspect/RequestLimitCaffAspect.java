@@ -10,8 +10,12 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import top.werls.springboottemplate.common.annotation.RequestLimit;
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.common.limiter.LimitRejectionRecorder;
+import top.werls.springboottemplate.common.limiter.RateLimitException;
 
 /**
  * test 基于 Caffeine 实现的高性能固定窗口限流切面
@@ -22,6 +26,7 @@ import top.werls.springboottemplate.common.annotation.RequestLimit;
  */
 @Aspect
 @Component
+@ConditionalOnProperty(prefix = "env.limiter", name = "mode", havingValue = "aspect")
 @Slf4j
 public class RequestLimitCaffAspect {
 
@@ -31,8 +36,11 @@ public class RequestLimitCaffAspect {
   // key: IP + Method, value: 当前计数
   private final Cache<String, Integer> limitCache;
 
-  public RequestLimitCaffAspect(HttpServletRequest request) {
+  private final LimitRejectionRecorder rejections;
+
+  public RequestLimitCaffAspect(HttpServletRequest request, LimitRejectionRecorder rejections) {
     this.request = request;
+    this.rejections = rejections;
     // 初始化 Caffeine
     this.limitCache =
         Caffeine.newBuilder().expireAfterWrite(1, TimeUnit.HOURS).maximumSize(10_000).build();
@@ -68,8 +76,13 @@ public class RequestLimitCaffAspect {
                 });
 
     if (currentCount != null && currentCount > frequency) {
-      log.warn("IP [{}] 访问 [{}] 超过频率限制 ({}次/分)", ip, method.getName(), frequency);
-      throw new RuntimeException("访问过于频繁，请稍后再尝试");
+      rejections.record(
+          LimitRejectionRecorder.Reason.RATE,
+          method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+          ip);
+      // 计数只在缓存过期时清零，无法给出准确的恢复时间，按注解的窗口长度提示
+      throw new RateLimitException(
+          LimitDecision.reject(frequency, TimeUnit.MINUTES.toMillis(requestLimit.minute())));
     }
 
     return joinPoint.proceed();
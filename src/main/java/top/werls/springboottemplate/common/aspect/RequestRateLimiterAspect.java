@@ -10,12 +10,16 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import top.werls.springboottemplate.common.annotation.RequestLimit;
 
 import java.lang.reflect.Method;
 import java.util.concurrent.TimeUnit;
 import top.werls.springboottemplate.common.annotation.RequestRateLimit;
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.common.limiter.LimitRejectionRecorder;
+import top.werls.springboottemplate.common.limiter.RateLimitException;
 
 /**
  * 基于 Guava RateLimiter 的匀速限流切面
@@ -26,6 +30,7 @@ import top.werls.springboottemplate.common.annotation.RequestRateLimit;
  */
 @Aspect
 @Component
+@ConditionalOnProperty(prefix = "env.limiter", name = "mode", havingValue = "aspect")
 @Slf4j
 public class RequestRateLimiterAspect {
 
@@ -34,14 +39,17 @@ public class RequestRateLimiterAspect {
   // 使用 Caffeine 缓存 RateLimiter 实例
   private final Cache<String, RateLimiter> limiters;
 
-  public RequestRateLimiterAspect(HttpServletRequest request) {
+  private final LimitRejectionRecorder rejections;
+
+  public RequestRateLimiterAspect(HttpServletRequest request, LimitRejectionRecorder rejections) {
     this.request = request;
+    this.rejections = rejections;
     // 初始化缓存：设置写入后 1 小时过期
     this.limiters =
         Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).maximumSize(10_000).build();
   }
 
-    @Around("@annotation(top.werls.springboottemplate.common.annotation.RequestLimit)")
+  @Around("@annotation(top.werls.springboottemplate.common.annotation.RequestRateLimit)")
   public Object doAround(ProceedingJoinPoint joinPoint) throws Throwable {
     MethodSignature signature = (MethodSignature) joinPoint.getSignature();
     Method method = signature.getMethod();
@@ -63,12 +71,13 @@ public class RequestRateLimiterAspect {
     if (rateLimiter != null && rateLimiter.tryAcquire()) {
       return joinPoint.proceed();
     } else {
-      log.warn(
-          "IP [{}] 访问 [{}] 过于频繁，被拒绝 (QPS限制: {})",
-          key,
-          method.getName(),
-          String.format("%.2f", permitsPerSecond));
-      throw new RuntimeException("访问过于频繁，请稍后再尝试");
+      rejections.record(
+          LimitRejectionRecorder.Reason.RATE,
+          method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+          key);
+      // 下一个令牌的产生间隔
+      throw new RateLimitException(
+          LimitDecision.reject(requestLimit.frequency(), (long) Math.ceil(1000 / permitsPerSecond)));
     }
   }
 
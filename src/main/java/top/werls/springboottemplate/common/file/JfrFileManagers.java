@@ -0,0 +1,191 @@
+package top.werls.springboottemplate.common.file;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import top.werls.springboottemplate.common.jfr.FileIoEvent;
+
+/**
+ * 为 {@link FileManagers} 的每次操作提交 {@link FileIoEvent}，与具体的存储实现无关。
+ *
+ * <p>读操作返回包装后的输入流，事件在输入流关闭时提交，耗时与字节数覆盖调用方实际读取的过程；写操作统计从输入流读出的字节数。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class JfrFileManagers implements FileManagers {
+
+  private final FileManagers delegate;
+
+  public JfrFileManagers(FileManagers delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public File get(String filename) {
+    FileIoEvent event = begin();
+    File file = delegate.get(filename);
+    commit(event, "lookup", null, filename, 0, file != null);
+    return file;
+  }
+
+  @Override
+  public File getByPath(String path) throws FileNotFoundException {
+    FileIoEvent event = begin();
+    boolean success = false;
+    try {
+      File file = delegate.getByPath(path);
+      success = file != null;
+      return file;
+    } finally {
+      commit(event, "lookup", path, null, 0, success);
+    }
+  }
+
+  @Override
+  public File get(String filename, String path) throws FileNotFoundException {
+    FileIoEvent event = begin();
+    boolean success = false;
+    try {
+      File file = delegate.get(filename, path);
+      success = file != null;
+      return file;
+    } finally {
+      commit(event, "lookup", path, filename, 0, success);
+    }
+  }
+
+  @Override
+  public InputStream getInputStream(String filename, String path) {
+    FileIoEvent event = begin();
+    return read(event, delegate.getInputStream(filename, path), path, filename);
+  }
+
+  @Override
+  public InputStream getInputStream(String filename) {
+    FileIoEvent event = begin();
+    return read(event, delegate.getInputStream(filename), null, filename);
+  }
+
+  @Override
+  public void save(InputStream file, String filename) {
+    FileIoEvent event = begin();
+    CountingInputStream counting = new CountingInputStream(file);
+    boolean success = false;
+    try {
+      delegate.save(counting, filename);
+      success = true;
+    } finally {
+      commit(event, "write", null, filename, counting.bytes, success);
+    }
+  }
+
+  @Override
+  public void save(InputStream file, String path, String filename) {
+    FileIoEvent event = begin();
+    CountingInputStream counting = new CountingInputStream(file);
+    boolean success = false;
+    try {
+      delegate.save(counting, path, filename);
+      success = true;
+    } finally {
+      commit(event, "write", path, filename, counting.bytes, success);
+    }
+  }
+
+  @Override
+  public void delete(String filename) {
+    FileIoEvent event = begin();
+    boolean success = false;
+    try {
+      delegate.delete(filename);
+      success = true;
+    } finally {
+      commit(event, "delete", null, filename, 0, success);
+    }
+  }
+
+  @Override
+  public void delete(String filename, String path) {
+    FileIoEvent event = begin();
+    boolean success = false;
+    try {
+      delegate.delete(filename, path);
+      success = true;
+    } finally {
+      commit(event, "delete", path, filename, 0, success);
+    }
+  }
+
+  private static FileIoEvent begin() {
+    FileIoEvent event = new FileIoEvent();
+    event.begin();
+    return event;
+  }
+
+  private static InputStream read(FileIoEvent event, InputStream in, String path, String filename) {
+    if (in == null) {
+      commit(event, "read", path, filename, 0, false);
+      return null;
+    }
+    return new CountingInputStream(in) {
+      private boolean committed;
+
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          if (!committed) {
+            committed = true;
+            commit(event, "read", path, filename, bytes, true);
+          }
+        }
+      }
+    };
+  }
+
+  private static void commit(
+      FileIoEvent event, String operation, String path, String filename, long bytes,
+      boolean success) {
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.path = path;
+      event.filename = filename;
+      event.bytes = bytes;
+      event.success = success;
+      event.commit();
+    }
+  }
+
+  /** 统计读出的字节数 */
+  private static class CountingInputStream extends FilterInputStream {
+
+    protected long bytes;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        bytes++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n > 0) {
+        bytes += n;
+      }
+      return n;
+    }
+  }
+}
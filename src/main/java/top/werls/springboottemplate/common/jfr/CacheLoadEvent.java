@@ -0,0 +1,37 @@
+package top.werls.springboottemplate.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次缓存读取，由 {@link top.werls.springboottemplate.common.utils.cache.impl.AbstractCache} 提交。
+ *
+ * <p>缓存读取非常频繁，默认不开启，只在 {@code /actuator/jfr} 启动的录制中开启。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Name(JfrEvents.PREFIX + "CacheLoad")
+@Label("Cache Load")
+@Category({JfrEvents.CATEGORY, "Cache"})
+@Description("缓存读取与命中情况")
+@Enabled(false)
+@StackTrace(false)
+public class CacheLoadEvent extends Event {
+
+  @Label("Cache")
+  public String cache;
+
+  @Label("Hit")
+  public boolean hit;
+
+  @Label("Expired")
+  @Description("存在但已过期，按未命中处理")
+  public boolean expired;
+}
@@ -0,0 +1,32 @@
+package top.werls.springboottemplate.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次 controller 方法调用，由 {@link top.werls.springboottemplate.common.aspect.LogAspect} 提交。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Name(ControllerInvocationEvent.NAME)
+@Label("Controller Invocation")
+@Category({JfrEvents.CATEGORY, "Web"})
+@Description("Controller 方法调用")
+@StackTrace(false)
+public class ControllerInvocationEvent extends Event {
+
+  public static final String NAME = JfrEvents.PREFIX + "ControllerInvocation";
+
+  @Label("Endpoint")
+  @Description("Class.method")
+  public String endpoint;
+
+  @Label("Failed")
+  public boolean failed;
+}
@@ -0,0 +1,34 @@
+package top.werls.springboottemplate.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 一次动态编译，由 {@link top.werls.springboottemplate.common.utils.dynamicCompilation.DynamicCompileUtils}
+ * 提交。编译很少发生，保留调用栈便于定位调用方。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Name(JfrEvents.PREFIX + "DynamicCompile")
+@Label("Dynamic Compile")
+@Category({JfrEvents.CATEGORY, "Compiler"})
+@Description("从源码动态编译并加载类")
+public class DynamicCompileEvent extends Event {
+
+  @Label("Class Name")
+  public String className;
+
+  @Label("Source Size")
+  @DataAmount
+  public long sourceSize;
+
+  @Label("Success")
+  @Description("安全检查未通过或编译失败时为 false")
+  public boolean success;
+}
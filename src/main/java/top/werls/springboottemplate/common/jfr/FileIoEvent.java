@@ -0,0 +1,43 @@
+package top.werls.springboottemplate.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次 {@link top.werls.springboottemplate.common.file.FileManagers} 操作。
+ *
+ * <p>读操作从打开输入流开始计时，到输入流关闭时提交，{@code bytes} 为实际读取的字节数。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Name(JfrEvents.PREFIX + "FileIo")
+@Label("File I/O")
+@Category({JfrEvents.CATEGORY, "File"})
+@Description("文件存储的查找、读、写、删除")
+@StackTrace(false)
+public class FileIoEvent extends Event {
+
+  @Label("Operation")
+  @Description("lookup / read / write / delete")
+  public String operation;
+
+  @Label("Path")
+  public String path;
+
+  @Label("Filename")
+  public String filename;
+
+  @Label("Bytes")
+  @DataAmount
+  public long bytes;
+
+  @Label("Success")
+  public boolean success;
+}
@@ -0,0 +1,68 @@
+package top.werls.springboottemplate.common.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * JFR actuator 端点：
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/jfr} 查看录制状态与 dump 文件列表</li>
+ *   <li>{@code POST /actuator/jfr/start|dump|stop} 开始录制、dump 最近的数据、停止录制</li>
+ *   <li>{@code GET /actuator/jfr/{file}} 下载 dump 文件，用 JMC 或 {@code jfr print} 查看</li>
+ * </ul>
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+  private final JfrRecorder recorder;
+
+  public JfrEndpoint(JfrRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  @ReadOperation
+  public Map<String, Object> status() {
+    return recorder.status();
+  }
+
+  @WriteOperation
+  public Map<String, Object> action(@Selector String action) throws IOException, ParseException {
+    switch (action) {
+      case "start" -> recorder.start();
+      case "stop" -> recorder.stop();
+      case "dump" -> {
+        Path file = recorder.dump();
+        if (file == null) {
+          return null;
+        }
+        return Map.of("file", file.getFileName().toString(), "size", Files.size(file));
+      }
+      default -> {
+        return null;
+      }
+    }
+    return status();
+  }
+
+  @ReadOperation(produces = "application/octet-stream")
+  public Resource download(@Selector String file) {
+    Path path = recorder.resolveDump(file);
+    return path == null ? null : new FileSystemResource(path);
+  }
+}
@@ -0,0 +1,33 @@
+package top.werls.springboottemplate.common.jfr;
+
+import java.util.List;
+import jdk.jfr.Event;
+
+/**
+ * 应用自定义的 JFR 事件。
+ *
+ * <p>没有运行中的录制时，事件的 {@code commit()} 只是一次开关判断，JIT 通常还会消除事件对象的分配，可以常驻在热路径上。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class JfrEvents {
+
+  /** 事件名前缀 */
+  public static final String PREFIX = "top.werls.";
+
+  /** JMC 中的事件分类 */
+  public static final String CATEGORY = "Spring Boot Template";
+
+  /** 全部自定义事件 */
+  public static final List<Class<? extends Event>> ALL =
+      List.of(
+          ControllerInvocationEvent.class,
+          JwtVerifyEvent.class,
+          FileIoEvent.class,
+          CacheLoadEvent.class,
+          DynamicCompileEvent.class);
+
+  private JfrEvents() {}
+}
@@ -0,0 +1,184 @@
+package top.werls.springboottemplate.common.jfr;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 管理一个开启了 {@link JfrEvents#ALL} 的 JFR 录制。
+ *
+ * <p>录制写入磁盘并按 {@code max-age}/{@code max-size} 滚动淘汰，可以长期运行；需要分析时 dump 出最近一段时间的数据。
+ * 同一时刻只有一个录制，所有操作串行执行。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class JfrRecorder {
+
+  private static final String RECORDING_NAME = "spring-boot-template";
+
+  private static final Pattern DUMP_NAME = Pattern.compile("[\\w.-]+\\.jfr");
+
+  private static final DateTimeFormatter DUMP_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+  private final ConfigProperties.JfrProperties properties;
+
+  private final Path directory;
+
+  private Recording recording;
+
+  public JfrRecorder(ConfigProperties configProperties) {
+    this.properties = configProperties.getJfr();
+    this.directory = Paths.get(properties.getDirectory()).toAbsolutePath().normalize();
+    if (properties.isAutoStart()) {
+      try {
+        start();
+      } catch (IOException | ParseException e) {
+        log.error("启动 JFR 录制失败: {}", e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * 开始录制，已经在录制时不做任何操作
+   *
+   * @return 是否新开始了录制
+   * @throws IOException 读取 JDK 内置配置失败
+   * @throws ParseException JDK 内置配置格式错误
+   */
+  public synchronized boolean start() throws IOException, ParseException {
+    if (recording != null && recording.getState() == RecordingState.RUNNING) {
+      return false;
+    }
+    close();
+    Recording created =
+        StringUtils.isBlank(properties.getSettings())
+            ? new Recording()
+            : new Recording(Configuration.getConfiguration(properties.getSettings()));
+    created.setName(RECORDING_NAME);
+    created.setToDisk(true);
+    created.setMaxAge(properties.getMaxAge());
+    created.setMaxSize(properties.getMaxSize().toBytes());
+    for (Class<? extends Event> type : JfrEvents.ALL) {
+      created.enable(type).withThreshold(Duration.ZERO);
+    }
+    created.start();
+    recording = created;
+    log.info("JFR 录制已开始: settings={}, maxAge={}", properties.getSettings(), properties.getMaxAge());
+    return true;
+  }
+
+  /**
+   * 把当前录制的数据写入 dump 目录，录制继续进行
+   *
+   * @return dump 文件，没有运行中的录制时返回 null
+   * @throws IOException 写入失败
+   */
+  public synchronized Path dump() throws IOException {
+    if (recording == null || recording.getState() != RecordingState.RUNNING) {
+      return null;
+    }
+    Files.createDirectories(directory);
+    String name = RECORDING_NAME + "-" + LocalDateTime.now().format(DUMP_TIME) + ".jfr";
+    Path file = directory.resolve(name);
+    recording.dump(file);
+    return file;
+  }
+
+  /**
+   * 停止并丢弃当前录制，已经 dump 的文件保留
+   *
+   * @return 是否停止了录制
+   */
+  public synchronized boolean stop() {
+    if (recording == null) {
+      return false;
+    }
+    close();
+    log.info("JFR 录制已停止");
+    return true;
+  }
+
+  /**
+   * 按文件名查找 dump 文件，只允许访问 dump 目录下的 .jfr 文件
+   *
+   * @param name 文件名
+   * @return 文件不存在或文件名不合法时返回 null
+   */
+  public Path resolveDump(String name) {
+    if (name == null || !DUMP_NAME.matcher(name).matches()) {
+      return null;
+    }
+    Path file = directory.resolve(name).normalize();
+    return file.getParent().equals(directory) && Files.isRegularFile(file) ? file : null;
+  }
+
+  /**
+   * 当前录制状态与已有的 dump 文件
+   *
+   * @return 状态
+   */
+  public synchronized Map<String, Object> status() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    Recording current = this.recording;
+    result.put("state", current == null ? RecordingState.CLOSED : current.getState());
+    if (current != null) {
+      result.put("startTime", current.getStartTime());
+      result.put("size", current.getSize());
+    }
+    result.put("settings", properties.getSettings());
+    result.put("maxAge", properties.getMaxAge());
+    result.put("maxSize", properties.getMaxSize().toString());
+    result.put("events", JfrEvents.ALL.stream().map(Class::getSimpleName).toList());
+    result.put("dumps", dumps());
+    return result;
+  }
+
+  private List<String> dumps() {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    List<String> names = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files
+          .map(file -> file.getFileName().toString())
+          .filter(name -> DUMP_NAME.matcher(name).matches())
+          .sorted()
+          .forEach(names::add);
+    } catch (IOException e) {
+      log.warn("读取 JFR 目录失败: {}", e.getMessage());
+    }
+    return names;
+  }
+
+  @PreDestroy
+  public synchronized void close() {
+    if (recording != null) {
+      recording.close();
+      recording = null;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package top.werls.springboottemplate.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次 JWT 解析与验签，由 {@link top.werls.springboottemplate.common.utils.JwtTokenUtils} 提交。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Name(JfrEvents.PREFIX + "JwtVerify")
+@Label("JWT Verify")
+@Category({JfrEvents.CATEGORY, "Security"})
+@Description("JWT 解析与签名校验")
+@StackTrace(false)
+public class JwtVerifyEvent extends Event {
+
+  @Label("Token Length")
+  public int tokenLength;
+
+  @Label("Success")
+  public boolean success;
+
+  @Label("Cached")
+  @Description("命中已验签 token 缓存，未做签名校验")
+  public boolean cached;
+
+  @Label("Error")
+  @Description("失败时的异常类型")
+  public String error;
+}
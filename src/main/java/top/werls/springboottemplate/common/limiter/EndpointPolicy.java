@@ -0,0 +1,81 @@
+package top.werls.springboottemplate.common.limiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import top.werls.springboottemplate.common.annotation.AdaptiveLimit;
+import top.werls.springboottemplate.common.annotation.RequestLimit;
+import top.werls.springboottemplate.common.annotation.RequestPriority;
+import top.werls.springboottemplate.common.annotation.RequestRateLimit;
+import top.werls.springboottemplate.common.limiter.adaptive.AdaptiveConcurrencyLimiter;
+
+/**
+ * 单个接口（handler method）的限流策略，启动时由方法上的注解构建，请求期间只读。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Getter
+public class EndpointPolicy {
+
+  /** 解析结果在 request attribute 中的 key，供后续 filter 复用，避免重复匹配 */
+  public static final String ATTRIBUTE = EndpointPolicy.class.getName();
+
+  /** 启动时分配的接口编号，从 0 开始连续递增 */
+  private final int id;
+
+  /** 接口名，形如 {@code DemoApi.getDemo} */
+  private final String name;
+
+  private final HandlerMethod handlerMethod;
+
+  /** {@link RequestLimit} 与 {@link RequestRateLimit} 对应的计数规则 */
+  private final LimitRule[] rules;
+
+  /** {@link AdaptiveLimit} 对应的并发限制器，没有注解时为 null */
+  private final AdaptiveConcurrencyLimiter adaptiveLimiter;
+
+  /** {@link RequestPriority} 对应的优先级，方法上的优先，都没有时为 NORMAL */
+  private final RequestPriority.Level priority;
+
+  public EndpointPolicy(int id, HandlerMethod handlerMethod) {
+    this.id = id;
+    this.handlerMethod = handlerMethod;
+    this.name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    this.rules = resolveRules(handlerMethod);
+    AdaptiveLimit adaptiveLimit = handlerMethod.getMethodAnnotation(AdaptiveLimit.class);
+    this.adaptiveLimiter =
+        adaptiveLimit == null ? null : AdaptiveConcurrencyLimiter.of(adaptiveLimit);
+    this.priority = resolvePriority(handlerMethod);
+  }
+
+  private static RequestPriority.Level resolvePriority(HandlerMethod handlerMethod) {
+    RequestPriority priority = handlerMethod.getMethodAnnotation(RequestPriority.class);
+    if (priority == null) {
+      priority =
+          AnnotatedElementUtils.findMergedAnnotation(
+              handlerMethod.getBeanType(), RequestPriority.class);
+    }
+    return priority == null ? RequestPriority.Level.NORMAL : priority.value();
+  }
+
+  private static LimitRule[] resolveRules(HandlerMethod handlerMethod) {
+    List<LimitRule> rules = new ArrayList<>(2);
+    RequestLimit requestLimit = handlerMethod.getMethodAnnotation(RequestLimit.class);
+    if (requestLimit != null) {
+      rules.add(LimitRule.of(requestLimit));
+    }
+    RequestRateLimit rateLimit = handlerMethod.getMethodAnnotation(RequestRateLimit.class);
+    if (rateLimit != null) {
+      rules.add(LimitRule.of(rateLimit));
+    }
+    return rules.toArray(LimitRule[]::new);
+  }
+
+  public boolean hasRules() {
+    return rules.length > 0;
+  }
+}
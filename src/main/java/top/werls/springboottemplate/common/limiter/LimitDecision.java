@@ -0,0 +1,23 @@
+package top.werls.springboottemplate.common.limiter;
+
+/**
+ * 一次限流判定的结果
+ *
+ * @param allowed 是否放行
+ * @param limit 窗口内允许的次数
+ * @param remaining 剩余次数，未知时为 {@code -1}
+ * @param retryAfterMillis 被拒绝时建议的重试等待时间，毫秒
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public record LimitDecision(boolean allowed, int limit, long remaining, long retryAfterMillis) {
+
+  public static LimitDecision allow(int limit, long remaining) {
+    return new LimitDecision(true, limit, remaining, 0);
+  }
+
+  public static LimitDecision reject(int limit, long retryAfterMillis) {
+    return new LimitDecision(false, limit, 0, retryAfterMillis);
+  }
+}
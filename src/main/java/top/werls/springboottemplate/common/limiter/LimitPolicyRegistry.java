@@ -0,0 +1,157 @@
+package top.werls.springboottemplate.common.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * 限流策略注册表。
+ *
+ * <p>在所有单例初始化完成后扫描 {@link RequestMappingHandlerMapping}，为每个 handler method 构建
+ * {@link EndpointPolicy}。请求期间只做查表：无通配符的路径走 {@link HashMap} 精确匹配，其余按
+ * {@link PathPattern#SPECIFICITY_COMPARATOR} 排好序逐个匹配，不再经过 Spring MVC 的 handler 查找。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class LimitPolicyRegistry implements SmartInitializingSingleton {
+
+  private final ApplicationContext applicationContext;
+
+  /** 构建完成后整体替换，读路径无锁 */
+  private volatile Snapshot snapshot = new Snapshot(Map.of(), new Route[0], List.of());
+
+  public LimitPolicyRegistry(ApplicationContext applicationContext) {
+    this.applicationContext = applicationContext;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    Map<String, List<Route>> exact = new HashMap<>();
+    List<Route> patterns = new ArrayList<>();
+    List<EndpointPolicy> policies = new ArrayList<>();
+    Map<HandlerMethod, EndpointPolicy> byHandler = new HashMap<>();
+
+    for (RequestMappingHandlerMapping mapping :
+        applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+      for (Map.Entry<RequestMappingInfo, HandlerMethod> entry :
+          mapping.getHandlerMethods().entrySet()) {
+        HandlerMethod handlerMethod = entry.getValue();
+        EndpointPolicy policy =
+            byHandler.computeIfAbsent(
+                handlerMethod,
+                hm -> {
+                  EndpointPolicy p = new EndpointPolicy(policies.size(), hm);
+                  policies.add(p);
+                  return p;
+                });
+        Set<RequestMethod> methods = entry.getKey().getMethodsCondition().getMethods();
+        for (String value : entry.getKey().getPatternValues()) {
+          PathPattern pattern = PathPatternParser.defaultInstance.parse(value);
+          Route route = new Route(pattern, methods, policy);
+          patterns.add(route);
+          if (!pattern.hasPatternSyntax()) {
+            exact.computeIfAbsent(pattern.getPatternString(), k -> new ArrayList<>()).add(route);
+          }
+        }
+      }
+    }
+    patterns.sort((a, b) -> PathPattern.SPECIFICITY_COMPARATOR.compare(a.pattern, b.pattern));
+
+    Map<String, Route[]> exactRoutes = new HashMap<>();
+    exact.forEach((k, v) -> exactRoutes.put(k, v.toArray(Route[]::new)));
+    this.snapshot = new Snapshot(exactRoutes, patterns.toArray(Route[]::new), List.copyOf(policies));
+    log.info(
+        "限流策略注册完成: {} 个接口, 其中 {} 个配置了限流",
+        policies.size(),
+        policies.stream().filter(EndpointPolicy::hasRules).count());
+  }
+
+  /**
+   * 解析请求对应的接口策略，结果缓存到 request attribute 中。
+   *
+   * @param request 当前请求
+   * @return 匹配到的策略，没有对应的接口时返回 null
+   */
+  public EndpointPolicy resolve(HttpServletRequest request) {
+    Object cached = request.getAttribute(EndpointPolicy.ATTRIBUTE);
+    if (cached instanceof EndpointPolicy policy) {
+      return policy;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    EndpointPolicy policy = resolve(request.getMethod(), path);
+    if (policy != null) {
+      request.setAttribute(EndpointPolicy.ATTRIBUTE, policy);
+    }
+    return policy;
+  }
+
+  /**
+   * 按 HTTP 方法与路径（不含 context path）查找接口策略
+   *
+   * @param method HTTP 方法
+   * @param path 请求路径
+   * @return 匹配到的策略，没有时返回 null
+   */
+  public EndpointPolicy resolve(String method, String path) {
+    Snapshot current = this.snapshot;
+    RequestMethod requestMethod = RequestMethod.resolve(method);
+    Route[] routes = current.exact.get(path);
+    if (routes != null) {
+      for (Route route : routes) {
+        if (route.accepts(requestMethod)) {
+          return route.policy;
+        }
+      }
+    }
+    PathContainer container = null;
+    for (Route route : current.patterns) {
+      if (!route.accepts(requestMethod)) {
+        continue;
+      }
+      if (container == null) {
+        container = PathContainer.parsePath(path);
+      }
+      if (route.pattern.matches(container)) {
+        return route.policy;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 所有已注册的接口策略，下标即 {@link EndpointPolicy#getId()}
+   *
+   * @return 只读列表
+   */
+  public List<EndpointPolicy> getPolicies() {
+    return snapshot.policies;
+  }
+
+  private record Route(PathPattern pattern, Set<RequestMethod> methods, EndpointPolicy policy) {
+
+    boolean accepts(RequestMethod method) {
+      return methods.isEmpty() || methods.contains(method);
+    }
+  }
+
+  private record Snapshot(
+      Map<String, Route[]> exact, Route[] patterns, List<EndpointPolicy> policies) {}
+}
@@ -0,0 +1,64 @@
+package top.werls.springboottemplate.common.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 记录被拒绝的请求：按接口和原因累加 {@code limiter.rejected} 计数，并按 {@link LogSampler} 采样输出日志。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class LimitRejectionRecorder {
+
+  /** 拒绝原因，作为指标 tag */
+  public enum Reason {
+    RATE,
+    QUOTA,
+    ADAPTIVE,
+    BULKHEAD,
+    SHED,
+  }
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+  /** 每 10 秒最多输出 5 条拒绝日志 */
+  private final LogSampler sampler = new LogSampler(10_000, 5);
+
+  public LimitRejectionRecorder(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * 记录一次拒绝
+   *
+   * @param reason 拒绝原因
+   * @param endpoint 接口名
+   * @param key 限流 key，只用于日志
+   */
+  public void record(Reason reason, String endpoint, String key) {
+    counters
+        .computeIfAbsent(
+            reason.name() + ":" + endpoint,
+            k ->
+                Counter.builder("limiter.rejected")
+                    .tag("reason", reason.name().toLowerCase())
+                    .tag("endpoint", endpoint)
+                    .description("被限流拒绝的请求数")
+                    .register(meterRegistry))
+        .increment();
+    long dropped = sampler.sample();
+    if (dropped >= 0) {
+      log.warn("[{}] 访问 [{}] 被拒绝 ({}), 此前 {} 条拒绝日志已省略", key, endpoint, reason, dropped);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package top.werls.springboottemplate.common.limiter;
+
+import com.google.gson.Gson;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import top.werls.springboottemplate.common.ResultData;
+
+/**
+ * 限流相关的响应头与拒绝响应
+ *
+ * <ul>
+ *   <li>{@code X-RateLimit-Limit}：窗口内允许的次数</li>
+ *   <li>{@code X-RateLimit-Remaining}：剩余次数，未知时不输出</li>
+ *   <li>{@code Retry-After}：被拒绝时建议等待的秒数</li>
+ * </ul>
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class LimitResponses {
+
+  public static final String HEADER_LIMIT = "X-RateLimit-Limit";
+  public static final String HEADER_REMAINING = "X-RateLimit-Remaining";
+
+  private static final Gson GSON = new Gson();
+
+  private LimitResponses() {}
+
+  /**
+   * 写入限流响应头
+   *
+   * @param response 响应
+   * @param decision 判定结果
+   */
+  public static void writeHeaders(HttpServletResponse response, LimitDecision decision) {
+    if (decision.limit() > 0) {
+      response.setHeader(HEADER_LIMIT, Integer.toString(decision.limit()));
+    }
+    if (decision.remaining() >= 0) {
+      response.setHeader(HEADER_REMAINING, Long.toString(decision.remaining()));
+    }
+    if (!decision.allowed()) {
+      writeRetryAfter(response, decision.retryAfterMillis());
+    }
+  }
+
+  /**
+   * 写入 {@code Retry-After}，向上取整到秒，避免客户端在许可恢复前重试
+   *
+   * @param response 响应
+   * @param retryAfterMillis 建议等待的毫秒数
+   */
+  public static void writeRetryAfter(HttpServletResponse response, long retryAfterMillis) {
+    long seconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+  }
+
+  /**
+   * 直接在过滤器中写出 429 响应
+   *
+   * @param response 响应
+   * @param decision 判定结果
+   * @throws IOException 写出失败
+   */
+  public static void tooManyRequests(HttpServletResponse response, LimitDecision decision)
+      throws IOException {
+    writeHeaders(response, decision);
+    write(response, HttpStatus.TOO_MANY_REQUESTS, ResultData.tooManyRequests());
+  }
+
+  /**
+   * 直接在过滤器中写出 503 响应
+   *
+   * @param response 响应
+   * @param retryAfterMillis 建议等待的毫秒数
+   * @throws IOException 写出失败
+   */
+  public static void serviceUnavailable(HttpServletResponse response, long retryAfterMillis)
+      throws IOException {
+    writeRetryAfter(response, retryAfterMillis);
+    write(response, HttpStatus.SERVICE_UNAVAILABLE, ResultData.fail("服务繁忙，请稍后再尝试"));
+  }
+
+  private static void write(HttpServletResponse response, HttpStatus status, ResultData<?> body)
+      throws IOException {
+    response.setStatus(status.value());
+    response.setCharacterEncoding("UTF-8");
+    response.setContentType("application/json");
+    response.getWriter().write(GSON.toJson(body));
+    response.getWriter().flush();
+  }
+}
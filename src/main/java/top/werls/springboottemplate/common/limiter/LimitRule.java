@@ -0,0 +1,42 @@
+package top.werls.springboottemplate.common.limiter;
+
+import top.werls.springboottemplate.common.annotation.RequestLimit;
+import top.werls.springboottemplate.common.annotation.RequestRateLimit;
+
+/**
+ * 单条限流规则，启动时由注解解析得到，运行期只读。
+ *
+ * @param type 限流算法
+ * @param frequency 窗口内允许的次数
+ * @param windowMillis 窗口长度，毫秒
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public record LimitRule(Type type, int frequency, long windowMillis) {
+
+  /** 限流算法 */
+  public enum Type {
+    /** 固定窗口计数，对应 {@link RequestLimit} */
+    FIXED_WINDOW,
+    /** 令牌桶匀速限流，对应 {@link RequestRateLimit} */
+    TOKEN_BUCKET
+  }
+
+  public static LimitRule of(RequestLimit limit) {
+    return new LimitRule(Type.FIXED_WINDOW, limit.frequency(), limit.minute() * 60_000L);
+  }
+
+  public static LimitRule of(RequestRateLimit limit) {
+    return new LimitRule(Type.TOKEN_BUCKET, limit.frequency(), limit.minute() * 60_000L);
+  }
+
+  /**
+   * 每秒产生的令牌数
+   *
+   * @return permits per second
+   */
+  public double permitsPerSecond() {
+    return frequency * 1000.0 / windowMillis;
+  }
+}
@@ -0,0 +1,38 @@
+package top.werls.springboottemplate.common.limiter;
+
+/**
+ * 限流计数后端 SPI。
+ *
+ * <p>实现负责保存各个 key 的计数状态并给出判定，调用方（过滤器、切面）只负责解析规则与 key。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ * @see LocalLimiter
+ * @see top.werls.springboottemplate.common.limiter.resp.RespLimiterBackend
+ */
+public interface LimiterBackend {
+
+  /**
+   * 尝试获取一个许可
+   *
+   * @param key 限流 key，通常为 IP + 接口；在多个节点之间必须稳定
+   * @param rule 限流规则
+   * @return 判定结果
+   */
+  LimitDecision tryAcquire(String key, LimitRule rule);
+
+  /**
+   * 以客户端地址和接口为 key 尝试获取一个许可。默认拼接成 {@code 地址:接口名} 的字符串 key，
+   * 本地后端可以覆盖为不分配对象的实现
+   *
+   * @param client 客户端地址
+   * @param policy 接口策略
+   * @param ruleIndex 规则在 {@link EndpointPolicy#getRules()} 中的下标
+   * @return 判定结果
+   */
+  default LimitDecision tryAcquire(String client, EndpointPolicy policy, int ruleIndex) {
+    // 使用接口名而不是编号，保证多个节点之间 key 一致
+    return tryAcquire(client + ":" + policy.getName(), policy.getRules()[ruleIndex]);
+  }
+}
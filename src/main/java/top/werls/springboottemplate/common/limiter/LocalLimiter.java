@@ -0,0 +1,107 @@
+package top.werls.springboottemplate.common.limiter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import top.werls.springboottemplate.common.limiter.compact.ClientAddress;
+import top.werls.springboottemplate.common.limiter.compact.CompactKeyTable;
+
+/**
+ * 单机限流后端，计数状态保存在本 JVM 的 Caffeine 缓存中。多副本部署时每个节点各自计数。
+ *
+ * <ul>
+ *   <li>{@link LimitRule.Type#FIXED_WINDOW}：首次请求开启窗口并计数，窗口结束后清零</li>
+ *   <li>{@link LimitRule.Type#TOKEN_BUCKET}：Guava {@link RateLimiter} 匀速放行，与
+ *       {@code RequestRateLimiterAspect} 行为一致</li>
+ * </ul>
+ *
+ * <p>以 IP 地址为 key 的请求走 {@link CompactKeyTable}，不拼接字符串、不创建计数对象，状态表大小固定，
+ * 客户端再多也不会增加堆占用；地址无法解析时退回字符串 key。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class LocalLimiter implements LimiterBackend {
+
+  private final Cache<String, Window> windows;
+
+  private final Cache<String, RateLimiter> limiters;
+
+  private final CompactKeyTable table;
+
+  public LocalLimiter() {
+    this(10_000, 65_536);
+  }
+
+  public LocalLimiter(long maximumSize, int tableCapacity) {
+    this.windows =
+        Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).maximumSize(maximumSize).build();
+    this.limiters =
+        Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).maximumSize(maximumSize).build();
+    this.table = new CompactKeyTable(tableCapacity, 64);
+  }
+
+  @Override
+  public LimitDecision tryAcquire(String client, EndpointPolicy policy, int ruleIndex) {
+    if (StringUtils.isBlank(client)) {
+      return LimiterBackend.super.tryAcquire(client, policy, ruleIndex);
+    }
+    long address;
+    try {
+      address = ClientAddress.encode(client);
+    } catch (IllegalArgumentException e) {
+      // getRemoteAddr 一般总是数字地址，这里只处理测试或代理的特殊情况
+      return LimiterBackend.super.tryAcquire(client, policy, ruleIndex);
+    }
+    LimitRule rule = policy.getRules()[ruleIndex];
+    int tag = CompactKeyTable.tag(policy.getId(), ruleIndex, ClientAddress.isIpv4(client));
+    return switch (rule.type()) {
+      case FIXED_WINDOW -> table.fixedWindow(address, tag, rule, System.currentTimeMillis());
+      case TOKEN_BUCKET -> table.tokenBucket(address, tag, rule, System.nanoTime());
+    };
+  }
+
+  @Override
+  public LimitDecision tryAcquire(String key, LimitRule rule) {
+    return switch (rule.type()) {
+      case FIXED_WINDOW -> fixedWindow(key, rule);
+      case TOKEN_BUCKET -> tokenBucket(key, rule);
+    };
+  }
+
+  private LimitDecision fixedWindow(String key, LimitRule rule) {
+    long now = System.currentTimeMillis();
+    Window window = windows.get(key, k -> new Window());
+    int count;
+    long windowStart;
+    synchronized (window) {
+      if (now - window.start >= rule.windowMillis()) {
+        window.start = now;
+        window.count = 0;
+      }
+      count = ++window.count;
+      windowStart = window.start;
+    }
+    if (count > rule.frequency()) {
+      return LimitDecision.reject(rule.frequency(), windowStart + rule.windowMillis() - now);
+    }
+    return LimitDecision.allow(rule.frequency(), rule.frequency() - count);
+  }
+
+  private LimitDecision tokenBucket(String key, LimitRule rule) {
+    RateLimiter rateLimiter = limiters.get(key, k -> RateLimiter.create(rule.permitsPerSecond()));
+    if (rateLimiter.tryAcquire()) {
+      return LimitDecision.allow(rule.frequency(), -1);
+    }
+    return LimitDecision.reject(rule.frequency(), (long) Math.ceil(1000 / rule.permitsPerSecond()));
+  }
+
+  /** 固定窗口计数状态 */
+  private static final class Window {
+    private long start;
+    private int count;
+  }
+}
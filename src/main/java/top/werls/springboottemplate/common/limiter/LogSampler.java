@@ -0,0 +1,48 @@
+package top.werls.springboottemplate.common.limiter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 日志采样：每个时间间隔内只允许前 {@code permits} 条日志输出，其余计数后在下一个间隔输出汇总。
+ *
+ * <p>用于替代每次拒绝都 {@code log.warn}，攻击流量下日志量保持恒定。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class LogSampler {
+
+  private final long intervalMillis;
+  private final int permits;
+
+  private final AtomicLong windowStart = new AtomicLong();
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong suppressed = new AtomicLong();
+
+  public LogSampler(long intervalMillis, int permits) {
+    this.intervalMillis = intervalMillis;
+    this.permits = permits;
+  }
+
+  /**
+   * 是否输出本条日志
+   *
+   * @return 返回 -1 表示丢弃本条；否则输出本条，返回值为上一个间隔内被丢弃的条数
+   */
+  public long sample() {
+    long now = System.currentTimeMillis();
+    long start = windowStart.get();
+    if (now - start >= intervalMillis && windowStart.compareAndSet(start, now)) {
+      count.set(0);
+      long dropped = suppressed.getAndSet(0);
+      count.incrementAndGet();
+      return dropped;
+    }
+    if (count.incrementAndGet() <= permits) {
+      return 0;
+    }
+    suppressed.incrementAndGet();
+    return -1;
+  }
+}
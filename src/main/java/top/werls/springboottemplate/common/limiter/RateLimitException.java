@@ -0,0 +1,27 @@
+package top.werls.springboottemplate.common.limiter;
+
+import java.io.Serial;
+import lombok.Getter;
+
+/**
+ * 请求被限流时抛出，由 {@code GlobalExceptionHandler} 转换为 429 响应。
+ *
+ * <p>不填充堆栈、不支持 suppressed：被拒绝的请求在攻击时数量极大，创建异常的开销应尽量小。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Getter
+public class RateLimitException extends RuntimeException {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private final transient LimitDecision decision;
+
+  public RateLimitException(LimitDecision decision) {
+    super("访问过于频繁，请稍后再尝试", null, false, false);
+    this.decision = decision;
+  }
+}
@@ -0,0 +1,78 @@
+package top.werls.springboottemplate.common.limiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 限流过滤器，放在 Security 过滤链的最前端。
+ *
+ * <p>被拒绝的请求不会进入 {@code JwtAuthenticationTokenFilter}，省去 RSA 验签和用户查询。 接口对应的规则由
+ * {@link LimitPolicyRegistry} 在启动时构建，请求期间只做查表和计数。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "env.limiter", name = "mode", havingValue = "filter", matchIfMissing = true)
+public class RequestLimitFilter extends OncePerRequestFilter {
+
+  private final LimitPolicyRegistry registry;
+
+  private final LimiterBackend limiter;
+
+  private final LimitRejectionRecorder rejections;
+
+  public RequestLimitFilter(
+      LimitPolicyRegistry registry, LimiterBackend limiter, LimitRejectionRecorder rejections) {
+    this.registry = registry;
+    this.limiter = limiter;
+    this.rejections = rejections;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    EndpointPolicy policy = registry.resolve(request);
+    if (policy != null && policy.hasRules()) {
+      String client = resolveKey(request);
+      LimitDecision tightest = null;
+      for (int i = 0; i < policy.getRules().length; i++) {
+        LimitDecision decision = limiter.tryAcquire(client, policy, i);
+        if (!decision.allowed()) {
+          rejections.record(LimitRejectionRecorder.Reason.RATE, policy.getName(), client);
+          LimitResponses.tooManyRequests(response, decision);
+          return;
+        }
+        if (tightest == null
+            || tightest.remaining() < 0
+            || (decision.remaining() >= 0 && decision.remaining() < tightest.remaining())) {
+          tightest = decision;
+        }
+      }
+      // 响应头只报告最紧的一条规则
+      LimitResponses.writeHeaders(response, tightest);
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  /** 解析限流 Key (IP 或 SessionID) */
+  private String resolveKey(HttpServletRequest request) {
+    String ip = request.getRemoteAddr();
+    if (StringUtils.isBlank(ip)) {
+      String sessionId = request.getRequestedSessionId();
+      return StringUtils.isNotBlank(sessionId) ? sessionId : "defaultKey";
+    }
+    return ip;
+  }
+}
@@ -0,0 +1,73 @@
+package top.werls.springboottemplate.common.limiter.adaptive;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import top.werls.springboottemplate.common.limiter.EndpointPolicy;
+import top.werls.springboottemplate.common.limiter.LimitPolicyRegistry;
+import top.werls.springboottemplate.common.limiter.LimitRejectionRecorder;
+import top.werls.springboottemplate.common.limiter.LimitResponses;
+
+/**
+ * 自适应并发限制过滤器，对标注了 {@link top.werls.springboottemplate.common.annotation.AdaptiveLimit}
+ * 的接口生效。
+ *
+ * <p>并发数达到当前估计上限时直接返回 503，不排队；请求结束后把耗时反馈给限制器。 响应状态为 503/504 视为过载失败，其余异常不计入样本。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+  /** 被拒绝时建议客户端等待的时间，并发限制恢复通常只需要若干个 RTT */
+  private static final long RETRY_AFTER_MILLIS = 1000;
+
+  private final LimitPolicyRegistry registry;
+
+  private final LimitRejectionRecorder rejections;
+
+  public AdaptiveConcurrencyFilter(
+      LimitPolicyRegistry registry, LimitRejectionRecorder rejections) {
+    this.registry = registry;
+    this.rejections = rejections;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    EndpointPolicy policy = registry.resolve(request);
+    AdaptiveConcurrencyLimiter limiter = policy == null ? null : policy.getAdaptiveLimiter();
+    if (limiter == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+    if (permit == null) {
+      rejections.record(
+          LimitRejectionRecorder.Reason.ADAPTIVE, policy.getName(), request.getRemoteAddr());
+      LimitResponses.serviceUnavailable(response, RETRY_AFTER_MILLIS);
+      return;
+    }
+    boolean completed = false;
+    try {
+      filterChain.doFilter(request, response);
+      completed = true;
+    } finally {
+      if (!completed) {
+        permit.onIgnore();
+      } else if (response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+          || response.getStatus() == HttpServletResponse.SC_GATEWAY_TIMEOUT) {
+        permit.onDropped();
+      } else {
+        permit.onSuccess();
+      }
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package top.werls.springboottemplate.common.limiter.adaptive;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import top.werls.springboottemplate.common.annotation.AdaptiveLimit;
+
+/**
+ * 单个接口的自适应并发限制器。
+ *
+ * <p>{@link #tryAcquire()} 成功后返回 {@link Permit}，调用方在请求结束时必须调用其中一个回调，把耗时反馈给 {@link VegasLimit}。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private final VegasLimit limit;
+
+  private final AtomicInteger inflight = new AtomicInteger();
+
+  private final LongAdder rejected = new LongAdder();
+
+  public AdaptiveConcurrencyLimiter(VegasLimit limit) {
+    this.limit = limit;
+  }
+
+  public static AdaptiveConcurrencyLimiter of(AdaptiveLimit annotation) {
+    return new AdaptiveConcurrencyLimiter(
+        new VegasLimit(annotation.initialLimit(), annotation.minLimit(), annotation.maxLimit()));
+  }
+
+  /**
+   * 尝试占用一个并发名额
+   *
+   * @return 占用成功返回 permit，超过当前上限返回 null
+   */
+  public Permit tryAcquire() {
+    int current;
+    do {
+      current = inflight.get();
+      if (current >= limit.getLimit()) {
+        rejected.increment();
+        return null;
+      }
+    } while (!inflight.compareAndSet(current, current + 1));
+    return new Permit(System.nanoTime(), current + 1);
+  }
+
+  public int getLimit() {
+    return limit.getLimit();
+  }
+
+  public int getInflight() {
+    return inflight.get();
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /** 已占用的并发名额 */
+  public final class Permit {
+
+    private final long startNanos;
+    private final int inflightAtStart;
+
+    private Permit(long startNanos, int inflightAtStart) {
+      this.startNanos = startNanos;
+      this.inflightAtStart = inflightAtStart;
+    }
+
+    /** 请求正常完成 */
+    public void onSuccess() {
+      inflight.decrementAndGet();
+      limit.onSample(System.nanoTime() - startNanos, inflightAtStart, false);
+    }
+
+    /** 请求因过载失败（超时、下游拒绝等） */
+    public void onDropped() {
+      inflight.decrementAndGet();
+      limit.onSample(System.nanoTime() - startNanos, inflightAtStart, true);
+    }
+
+    /** 请求失败但与负载无关，不作为样本 */
+    public void onIgnore() {
+      inflight.decrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package top.werls.springboottemplate.common.limiter.adaptive;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.limiter.EndpointPolicy;
+import top.werls.springboottemplate.common.limiter.LimitPolicyRegistry;
+
+/**
+ * 把各接口的自适应并发上限发布为 Micrometer 指标：
+ *
+ * <ul>
+ *   <li>{@code limiter.adaptive.limit}：当前估计的并发上限</li>
+ *   <li>{@code limiter.adaptive.inflight}：当前并发数</li>
+ *   <li>{@code limiter.adaptive.rejected}：被拒绝的请求数</li>
+ * </ul>
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+public class AdaptiveLimitMetrics {
+
+  private final MeterRegistry meterRegistry;
+
+  private final LimitPolicyRegistry registry;
+
+  public AdaptiveLimitMetrics(MeterRegistry meterRegistry, LimitPolicyRegistry registry) {
+    this.meterRegistry = meterRegistry;
+    this.registry = registry;
+  }
+
+  /** 策略注册表在单例初始化完成后才构建，因此在容器刷新完成后再注册指标 */
+  @EventListener(ContextRefreshedEvent.class)
+  public void bind() {
+    for (EndpointPolicy policy : registry.getPolicies()) {
+      AdaptiveConcurrencyLimiter limiter = policy.getAdaptiveLimiter();
+      if (limiter == null) {
+        continue;
+      }
+      Gauge.builder("limiter.adaptive.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+          .tag("endpoint", policy.getName())
+          .description("自适应并发上限")
+          .register(meterRegistry);
+      Gauge.builder("limiter.adaptive.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+          .tag("endpoint", policy.getName())
+          .description("当前并发数")
+          .register(meterRegistry);
+      FunctionCounter.builder(
+              "limiter.adaptive.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+          .tag("endpoint", policy.getName())
+          .description("超过并发上限被拒绝的请求数")
+          .register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package top.werls.springboottemplate.common.limiter.adaptive;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * TCP Vegas 风格的并发上限估计。
+ *
+ * <p>以观测到的最小响应时间 {@code rttNoLoad} 作为无排队时的基准，用 {@code limit * (1 - rttNoLoad / rtt)} 估算当前排队的请求数：
+ *
+ * <ul>
+ *   <li>排队很少（不超过 {@code log10(limit)}）时快速增加 {@code beta}</li>
+ *   <li>排队少于 {@code alpha} 时缓慢增加 {@code log10(limit)}</li>
+ *   <li>排队多于 {@code beta} 时减少 {@code log10(limit)}</li>
+ *   <li>请求失败（超时、被下游拒绝）时减少 {@code log10(limit)}</li>
+ * </ul>
+ *
+ * <p>其中 {@code alpha = 3 * log10(limit)}，{@code beta = 6 * log10(limit)}。下游长期变慢后最小 RTT 会失真，因此每隔一定样本数用当前
+ * RTT 重置一次基准（probe）。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class VegasLimit {
+
+  /** 每隔 {@code PROBE_MULTIPLIER * limit} 个样本重置一次 rttNoLoad */
+  private static final int PROBE_MULTIPLIER = 30;
+
+  private final int minLimit;
+  private final int maxLimit;
+
+  private double estimatedLimit;
+  private long rttNoLoad;
+  private long probeCountdown;
+
+  /** 供读取方无锁访问 */
+  private volatile int limit;
+
+  public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.estimatedLimit = Math.clamp(initialLimit, minLimit, maxLimit);
+    this.limit = (int) estimatedLimit;
+    this.probeCountdown = nextProbeCountdown();
+  }
+
+  /**
+   * 当前并发上限
+   *
+   * @return limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * 当前无负载 RTT 基准，纳秒
+   *
+   * @return rttNoLoad
+   */
+  public synchronized long getRttNoLoad() {
+    return rttNoLoad;
+  }
+
+  /**
+   * 记录一次请求样本
+   *
+   * @param rttNanos 请求耗时，纳秒
+   * @param inflight 请求开始时的并发数
+   * @param didDrop 请求是否因过载失败
+   */
+  public synchronized void onSample(long rttNanos, int inflight, boolean didDrop) {
+    if (rttNanos <= 0) {
+      return;
+    }
+    if (--probeCountdown <= 0) {
+      probeCountdown = nextProbeCountdown();
+      rttNoLoad = rttNanos;
+      return;
+    }
+    if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+      rttNoLoad = rttNanos;
+      return;
+    }
+    double current = estimatedLimit;
+    double log = Math.max(1, Math.log10(current));
+    double newLimit;
+    if (didDrop) {
+      newLimit = current - log;
+    } else if (inflight * 2 < current) {
+      // 流量不足以压满上限，样本不能说明上限是否合适
+      return;
+    } else {
+      int queueSize = (int) Math.ceil(current * (1 - (double) rttNoLoad / rttNanos));
+      double alpha = 3 * log;
+      double beta = 6 * log;
+      if (queueSize <= log) {
+        newLimit = current + beta;
+      } else if (queueSize < alpha) {
+        newLimit = current + log;
+      } else if (queueSize > beta) {
+        newLimit = current - log;
+      } else {
+        return;
+      }
+    }
+    estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+    limit = (int) estimatedLimit;
+  }
+
+  private long nextProbeCountdown() {
+    long base = (long) PROBE_MULTIPLIER * Math.max(limit, 1);
+    return base + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+  }
+}
@@ -0,0 +1,30 @@
+package top.werls.springboottemplate.common.limiter.bulkhead;
+
+import java.io.Serial;
+import lombok.Getter;
+
+/**
+ * 舱壁已满时抛出，由 {@code GlobalExceptionHandler} 转换为 503 响应。
+ *
+ * <p>与 {@link top.werls.springboottemplate.common.limiter.RateLimitException} 一样不填充堆栈。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Getter
+public class BulkheadFullException extends RuntimeException {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private final String bulkhead;
+
+  private final long retryAfterMillis;
+
+  public BulkheadFullException(String bulkhead, long retryAfterMillis) {
+    super("服务繁忙，请稍后再尝试", null, false, false);
+    this.bulkhead = bulkhead;
+    this.retryAfterMillis = retryAfterMillis;
+  }
+}
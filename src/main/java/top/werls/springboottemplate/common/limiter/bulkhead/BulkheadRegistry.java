@@ -0,0 +1,77 @@
+package top.werls.springboottemplate.common.limiter.bulkhead;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.annotation.Bulkhead;
+
+/**
+ * 按名称管理舱壁，首次使用时创建并发布 Micrometer 指标：
+ *
+ * <ul>
+ *   <li>{@code bulkhead.inflight}：正在执行的请求数</li>
+ *   <li>{@code bulkhead.queued}：正在等待名额的请求数</li>
+ *   <li>{@code bulkhead.rejected}：被拒绝的请求数</li>
+ * </ul>
+ *
+ * <p>同名舱壁以第一次创建时的注解参数为准。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+public class BulkheadRegistry {
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, SemaphoreBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+  public BulkheadRegistry(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * 获取或创建舱壁
+   *
+   * @param name 舱壁名称
+   * @param annotation 注解参数
+   * @return 舱壁
+   */
+  public SemaphoreBulkhead get(String name, Bulkhead annotation) {
+    SemaphoreBulkhead bulkhead = bulkheads.get(name);
+    if (bulkhead != null) {
+      return bulkhead;
+    }
+    return bulkheads.computeIfAbsent(
+        name,
+        k -> {
+          SemaphoreBulkhead created = SemaphoreBulkhead.of(k, annotation);
+          bind(created);
+          return created;
+        });
+  }
+
+  public Collection<SemaphoreBulkhead> getBulkheads() {
+    return bulkheads.values();
+  }
+
+  private void bind(SemaphoreBulkhead bulkhead) {
+    Gauge.builder("bulkhead.inflight", bulkhead, SemaphoreBulkhead::getInflight)
+        .tag("name", bulkhead.getName())
+        .description("正在执行的请求数")
+        .register(meterRegistry);
+    Gauge.builder("bulkhead.queued", bulkhead, SemaphoreBulkhead::getQueued)
+        .tag("name", bulkhead.getName())
+        .description("正在等待名额的请求数")
+        .register(meterRegistry);
+    FunctionCounter.builder("bulkhead.rejected", bulkhead, SemaphoreBulkhead::getRejected)
+        .tag("name", bulkhead.getName())
+        .description("舱壁已满被拒绝的请求数")
+        .register(meterRegistry);
+  }
+}
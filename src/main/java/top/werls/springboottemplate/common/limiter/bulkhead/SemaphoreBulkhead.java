@@ -0,0 +1,107 @@
+package top.werls.springboottemplate.common.limiter.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import top.werls.springboottemplate.common.annotation.Bulkhead;
+
+/**
+ * 基于公平信号量的舱壁。
+ *
+ * <p>{@link Semaphore} 基于 AQS，等待时虚拟线程会被卸载，不会占用载体线程；公平模式保证先等待的请求先获得名额。
+ * 注意公平信号量的无参 {@code tryAcquire()} 仍会插队，这里统一使用带超时的版本。
+ *
+ * <p>等待中的请求数由 {@link #waiting} 限制在 {@code maxQueue} 以内，超出直接拒绝，避免请求在舱壁前无限堆积。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class SemaphoreBulkhead {
+
+  @Getter
+  private final String name;
+
+  @Getter
+  private final int maxConcurrent;
+
+  private final long maxWaitMs;
+
+  private final int maxQueue;
+
+  private final Semaphore semaphore;
+
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  private final LongAdder rejected = new LongAdder();
+
+  public SemaphoreBulkhead(String name, int maxConcurrent, long maxWaitMs, int maxQueue) {
+    this.name = name;
+    this.maxConcurrent = maxConcurrent;
+    this.maxWaitMs = maxWaitMs;
+    this.maxQueue = maxQueue;
+    this.semaphore = new Semaphore(maxConcurrent, true);
+  }
+
+  public static SemaphoreBulkhead of(String name, Bulkhead annotation) {
+    return new SemaphoreBulkhead(
+        name, annotation.maxConcurrent(), annotation.maxWaitMs(), annotation.maxQueue());
+  }
+
+  /**
+   * 获取一个并发名额，成功后必须调用 {@link #release()}
+   *
+   * @return 是否获取成功
+   */
+  public boolean tryAcquire() {
+    try {
+      // 超时为 0 时不会阻塞，但遵守公平顺序
+      if (semaphore.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+      if (maxWaitMs <= 0) {
+        rejected.increment();
+        return false;
+      }
+      if (waiting.incrementAndGet() > maxQueue) {
+        waiting.decrementAndGet();
+        rejected.increment();
+        return false;
+      }
+      try {
+        if (semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      } finally {
+        waiting.decrementAndGet();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    rejected.increment();
+    return false;
+  }
+
+  public void release() {
+    semaphore.release();
+  }
+
+  /** 被拒绝后建议客户端等待的时间 */
+  public long retryAfterMillis() {
+    return Math.max(1000, maxWaitMs);
+  }
+
+  public int getInflight() {
+    return maxConcurrent - semaphore.availablePermits();
+  }
+
+  public int getQueued() {
+    return waiting.get();
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+}
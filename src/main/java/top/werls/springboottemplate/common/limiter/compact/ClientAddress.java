@@ -0,0 +1,214 @@
+package top.werls.springboottemplate.common.limiter.compact;
+
+/**
+ * 把客户端 IP 字符串编码为一个 {@code long}，解析过程不分配对象。
+ *
+ * <ul>
+ *   <li>IPv4（包括 {@code ::ffff:a.b.c.d} 形式的映射地址）：32 位地址本身</li>
+ *   <li>IPv6：高 64 位，即 /64 网段。运营商通常给单个用户分配整个 /64，按完整地址限流很容易被绕过</li>
+ * </ul>
+ *
+ * <p>两种编码的取值范围有重叠，调用方需要结合 {@link #isIpv4(String)} 区分地址族。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class ClientAddress {
+
+  private static final String MAPPED_PREFIX = "::ffff:";
+  private static final String MAPPED_FULL_PREFIX = "0:0:0:0:0:ffff:";
+
+  private ClientAddress() {}
+
+  /**
+   * 是否为 IPv4 地址（包括 IPv4 映射的 IPv6 地址）
+   *
+   * @param address 地址字符串
+   * @return 是否为 IPv4
+   */
+  public static boolean isIpv4(String address) {
+    return address.indexOf(':') < 0 || mappedOffset(address) > 0;
+  }
+
+  /**
+   * 编码地址
+   *
+   * @param address {@code HttpServletRequest#getRemoteAddr()} 返回的数字地址，IPv6 可以带 {@code %zone}
+   * @return IPv4 返回 32 位地址，IPv6 返回 /64 网段
+   * @throws IllegalArgumentException 不是合法的数字地址
+   */
+  public static long encode(String address) {
+    int end = address.indexOf('%');
+    if (end < 0) {
+      end = address.length();
+    }
+    if (address.indexOf(':') < 0) {
+      return ipv4(address, 0, end);
+    }
+    int mapped = mappedOffset(address);
+    if (mapped > 0) {
+      return ipv4(address, mapped, end);
+    }
+    return ipv6Prefix(address, end);
+  }
+
+  private static int mappedOffset(String address) {
+    if (address.indexOf('.') < 0) {
+      return 0;
+    }
+    if (address.regionMatches(true, 0, MAPPED_PREFIX, 0, MAPPED_PREFIX.length())) {
+      return MAPPED_PREFIX.length();
+    }
+    if (address.regionMatches(true, 0, MAPPED_FULL_PREFIX, 0, MAPPED_FULL_PREFIX.length())) {
+      return MAPPED_FULL_PREFIX.length();
+    }
+    return 0;
+  }
+
+  private static long ipv4(String s, int from, int to) {
+    long result = 0;
+    int octets = 0;
+    int start = from;
+    while (true) {
+      int dot = indexOf(s, '.', start, to);
+      int segmentEnd = dot < 0 ? to : dot;
+      int length = segmentEnd - start;
+      if (length < 1 || length > 3) {
+        throw invalid(s);
+      }
+      int value = 0;
+      for (int i = start; i < segmentEnd; i++) {
+        char c = s.charAt(i);
+        if (c < '0' || c > '9') {
+          throw invalid(s);
+        }
+        value = value * 10 + (c - '0');
+      }
+      if (value > 255) {
+        throw invalid(s);
+      }
+      result = (result << 8) | value;
+      octets++;
+      if (dot < 0) {
+        break;
+      }
+      start = dot + 1;
+    }
+    if (octets != 4) {
+      throw invalid(s);
+    }
+    return result;
+  }
+
+  private static long ipv6Prefix(String s, int end) {
+    int gap = indexOf(s, "::", end);
+    if (gap < 0) {
+      return groups(s, 0, end, 0, 8, true);
+    }
+    if (indexOf(s, "::", gap + 1, end) >= 0) {
+      throw invalid(s);
+    }
+    int head = count(s, 0, gap);
+    int tail = count(s, gap + 2, end);
+    if (head + tail > 7) {
+      throw invalid(s);
+    }
+    // :: 之后的分组从右侧对齐
+    return groups(s, 0, gap, 0, head, false) | groups(s, gap + 2, end, 8 - tail, tail, true);
+  }
+
+  /** 统计 [from, to) 中的分组数，末尾的点分 IPv4 占两个分组 */
+  private static int count(String s, int from, int to) {
+    if (from == to) {
+      return 0;
+    }
+    int count = 1;
+    for (int i = from; i < to; i++) {
+      if (s.charAt(i) == ':') {
+        count++;
+      }
+    }
+    return indexOf(s, '.', from, to) >= 0 ? count + 1 : count;
+  }
+
+  /**
+   * 解析 [from, to) 中的分组，从第 position 个分组开始写入，只保留前 4 个分组。 {@code trailing} 表示这段位于地址末尾，
+   * 只有这时才允许点分 IPv4
+   */
+  private static long groups(
+      String s, int from, int to, int position, int expected, boolean trailing) {
+    if (from == to) {
+      if (expected != 0) {
+        throw invalid(s);
+      }
+      return 0;
+    }
+    long prefix = 0;
+    int index = position;
+    int start = from;
+    while (true) {
+      int colon = indexOf(s, ':', start, to);
+      int segmentEnd = colon < 0 ? to : colon;
+      if (segmentEnd == start) {
+        throw invalid(s);
+      }
+      if (indexOf(s, '.', start, segmentEnd) >= 0) {
+        // 点分 IPv4 只能出现在最后
+        if (colon >= 0 || !trailing) {
+          throw invalid(s);
+        }
+        long v4 = ipv4(s, start, segmentEnd);
+        prefix |= group(v4 >>> 16, index++);
+        prefix |= group(v4 & 0xFFFF, index++);
+      } else {
+        prefix |= group(hex(s, start, segmentEnd), index++);
+      }
+      if (colon < 0) {
+        break;
+      }
+      start = colon + 1;
+    }
+    if (index - position != expected) {
+      throw invalid(s);
+    }
+    return prefix;
+  }
+
+  private static long group(long value, int index) {
+    return index < 4 ? value << (48 - 16 * index) : 0;
+  }
+
+  private static int hex(String s, int from, int to) {
+    if (to - from > 4) {
+      throw invalid(s);
+    }
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      int digit = Character.digit(s.charAt(i), 16);
+      if (digit < 0) {
+        throw invalid(s);
+      }
+      value = (value << 4) | digit;
+    }
+    return value;
+  }
+
+  private static int indexOf(String s, char c, int from, int to) {
+    int index = s.indexOf(c, from);
+    return index >= to ? -1 : index;
+  }
+
+  private static int indexOf(String s, String str, int to) {
+    return indexOf(s, str, 0, to);
+  }
+
+  private static int indexOf(String s, String str, int from, int to) {
+    int index = s.indexOf(str, from);
+    return index < 0 || index + str.length() > to ? -1 : index;
+  }
+
+  private static IllegalArgumentException invalid(String address) {
+    return new IllegalArgumentException("not a numeric IP address: " + address);
+  }
+}
@@ -0,0 +1,179 @@
+package top.werls.springboottemplate.common.limiter.compact;
+
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.common.limiter.LimitRule;
+
+/**
+ * 以基本类型数组保存限流状态的定长哈希表，取代 “字符串 key + Caffeine + 包装对象” 的组合。
+ *
+ * <p>key 由 {@link ClientAddress} 编码的地址 ({@code long}) 与标签 ({@code int}，包含接口编号、规则下标和地址族) 组成，
+ * 每个槽位只占 {@code key 8 + tag 4 + stamp 8 + count 4 + ref 1} 约 25 字节，且在构造时一次性分配，请求期间不分配对象。
+ *
+ * <p>表按 8 路组相联组织：key 哈希到一个组，在组内 8 个槽位中线性查找；组已满时用 CLOCK 算法淘汰，
+ * 命中时置位访问标记，时钟指针扫过时清除标记，第二次扫到仍未被访问的槽位被淘汰。 被淘汰的客户端下次访问时按新客户端重新计数。
+ *
+ * <p>组按下标分配到若干把锁上（锁分段），不同组的访问互不阻塞。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class CompactKeyTable {
+
+  private static final int WAYS = 8;
+
+  private final long[] keys;
+  private final int[] tags;
+  /** 固定窗口：窗口开始毫秒；令牌桶：GCRA 理论到达时间，纳秒 */
+  private final long[] stamps;
+  private final int[] counts;
+  private final byte[] referenced;
+  private final byte[] hands;
+
+  private final int bucketMask;
+  private final Object[] locks;
+  private final int lockMask;
+
+  /**
+   * @param capacity 槽位数，向上取整为 2 的幂
+   * @param stripes 锁的数量，向上取整为 2 的幂
+   */
+  public CompactKeyTable(int capacity, int stripes) {
+    int slots = Math.max(WAYS, ceilingPowerOfTwo(capacity));
+    int buckets = slots / WAYS;
+    this.keys = new long[slots];
+    this.tags = new int[slots];
+    this.stamps = new long[slots];
+    this.counts = new int[slots];
+    this.referenced = new byte[slots];
+    this.hands = new byte[buckets];
+    this.bucketMask = buckets - 1;
+    int lockCount = Math.min(buckets, ceilingPowerOfTwo(stripes));
+    this.locks = new Object[lockCount];
+    for (int i = 0; i < lockCount; i++) {
+      locks[i] = new Object();
+    }
+    this.lockMask = lockCount - 1;
+  }
+
+  /**
+   * 组合标签
+   *
+   * @param endpointId 接口编号
+   * @param ruleIndex 规则下标，小于 64
+   * @param ipv4 是否为 IPv4 地址
+   * @return 非 0 的标签，0 表示空槽位
+   */
+  public static int tag(int endpointId, int ruleIndex, boolean ipv4) {
+    return (endpointId << 8) | 0x80 | (ruleIndex << 1) | (ipv4 ? 0 : 1);
+  }
+
+  public int capacity() {
+    return keys.length;
+  }
+
+  /**
+   * 固定窗口计数，语义与 {@code LocalLimiter} 的字符串 key 版本一致
+   *
+   * @param key 编码后的地址
+   * @param tag {@link #tag(int, int, boolean)}
+   * @param rule 规则
+   * @param nowMillis 当前毫秒时间
+   * @return 判定结果
+   */
+  public LimitDecision fixedWindow(long key, int tag, LimitRule rule, long nowMillis) {
+    int bucket = bucket(key, tag);
+    int count;
+    long windowStart;
+    synchronized (locks[bucket & lockMask]) {
+      int slot = slot(bucket, key, tag, nowMillis);
+      if (nowMillis - stamps[slot] >= rule.windowMillis()) {
+        stamps[slot] = nowMillis;
+        counts[slot] = 0;
+      }
+      // 超过上限后不再累加，避免长窗口下溢出
+      count = counts[slot] > rule.frequency() ? counts[slot] : ++counts[slot];
+      windowStart = stamps[slot];
+    }
+    if (count > rule.frequency()) {
+      return LimitDecision.reject(rule.frequency(), windowStart + rule.windowMillis() - nowMillis);
+    }
+    return LimitDecision.allow(rule.frequency(), rule.frequency() - count);
+  }
+
+  /**
+   * 令牌桶（GCRA），容量为 {@code max(1, ceil(permitsPerSecond))}，与分布式后端一致
+   *
+   * @param key 编码后的地址
+   * @param tag {@link #tag(int, int, boolean)}
+   * @param rule 规则
+   * @param nowNanos 当前 {@link System#nanoTime()}
+   * @return 判定结果
+   */
+  public LimitDecision tokenBucket(long key, int tag, LimitRule rule, long nowNanos) {
+    double permitsPerSecond = rule.permitsPerSecond();
+    long interval = (long) (1_000_000_000L / permitsPerSecond);
+    long capacity = Math.max(1, (long) Math.ceil(permitsPerSecond));
+    long tolerance = capacity * interval;
+    int bucket = bucket(key, tag);
+    long next;
+    synchronized (locks[bucket & lockMask]) {
+      int slot = slot(bucket, key, tag, nowNanos);
+      long tat = stamps[slot];
+      next = (tat - nowNanos < 0 ? nowNanos : tat) + interval;
+      if (next - nowNanos <= tolerance) {
+        stamps[slot] = next;
+      }
+    }
+    long used = next - nowNanos;
+    if (used > tolerance) {
+      long retryAfterNanos = used - tolerance;
+      return LimitDecision.reject(rule.frequency(), Math.max(1, retryAfterNanos / 1_000_000));
+    }
+    return LimitDecision.allow(rule.frequency(), (tolerance - used) / interval);
+  }
+
+  private static int ceilingPowerOfTwo(int n) {
+    return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+
+  private int bucket(long key, int tag) {
+    long h = key ^ (tag * 0x9E3779B97F4A7C15L);
+    h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+    h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return (int) h & bucketMask;
+  }
+
+  /** 查找或分配槽位，调用方持有组所在分段的锁 */
+  private int slot(int bucket, long key, int tag, long now) {
+    int base = bucket * WAYS;
+    int empty = -1;
+    for (int i = base; i < base + WAYS; i++) {
+      if (tags[i] == tag && keys[i] == key) {
+        referenced[i] = 1;
+        return i;
+      }
+      if (empty < 0 && tags[i] == 0) {
+        empty = i;
+      }
+    }
+    int slot = empty >= 0 ? empty : evict(bucket, base);
+    keys[slot] = key;
+    tags[slot] = tag;
+    stamps[slot] = now;
+    counts[slot] = 0;
+    referenced[slot] = 1;
+    return slot;
+  }
+
+  private int evict(int bucket, int base) {
+    int hand = hands[bucket];
+    while (referenced[base + hand] != 0) {
+      referenced[base + hand] = 0;
+      hand = (hand + 1) & (WAYS - 1);
+    }
+    hands[bucket] = (byte) ((hand + 1) & (WAYS - 1));
+    return base + hand;
+  }
+}
@@ -0,0 +1,83 @@
+package top.werls.springboottemplate.common.limiter.quota;
+
+import java.util.concurrent.atomic.AtomicLong;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 基于 GCRA（Generic Cell Rate Algorithm）的配额桶。
+ *
+ * <p>整个状态只有一个“理论到达时间” TAT，每放行一个请求 TAT 前进 {@code period / limit}，TAT 超出当前时间一个周期即拒绝。
+ * 效果等同于容量为 limit、每周期补满的令牌桶，但只需要一次 CAS，并且可以通过回退 TAT 无损地归还许可。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class GcraBucket {
+
+  private final ConfigProperties.QuotaDefinition definition;
+  private final long periodNanos;
+  private final long intervalNanos;
+  private final AtomicLong tat;
+
+  public GcraBucket(ConfigProperties.QuotaDefinition definition) {
+    this.definition = definition;
+    this.periodNanos = definition.getPeriod().toNanos();
+    this.intervalNanos = Math.max(1, periodNanos / Math.max(1, definition.getLimit()));
+    this.tat = new AtomicLong(System.nanoTime());
+  }
+
+  public ConfigProperties.QuotaDefinition getDefinition() {
+    return definition;
+  }
+
+  public int getLimit() {
+    return definition.getLimit();
+  }
+
+  /**
+   * 尝试获取一个许可
+   *
+   * @param nowNanos {@link System#nanoTime()}
+   * @return 是否放行
+   */
+  public boolean tryAcquire(long nowNanos) {
+    while (true) {
+      long current = tat.get();
+      long next = Math.max(current, nowNanos) + intervalNanos;
+      if (next - nowNanos > periodNanos) {
+        return false;
+      }
+      if (tat.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  /** 归还一个已获取的许可 */
+  public void release() {
+    tat.addAndGet(-intervalNanos);
+  }
+
+  /**
+   * 剩余许可数
+   *
+   * @param nowNanos {@link System#nanoTime()}
+   * @return 剩余许可数
+   */
+  public long remaining(long nowNanos) {
+    long used = Math.max(0, tat.get() - nowNanos);
+    return Math.max(0, (periodNanos - used) / intervalNanos);
+  }
+
+  /**
+   * 下一个许可可用前需要等待的时间
+   *
+   * @param nowNanos {@link System#nanoTime()}
+   * @return 等待毫秒数，当前可用时为 0
+   */
+  public long retryAfterMillis(long nowNanos) {
+    long wait = tat.get() + intervalNanos - nowNanos - periodNanos;
+    return wait <= 0 ? 0 : Math.max(1, wait / 1_000_000);
+  }
+}
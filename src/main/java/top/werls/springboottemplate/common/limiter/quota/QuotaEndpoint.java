@@ -0,0 +1,41 @@
+package top.werls.springboottemplate.common.limiter.quota;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 配额 actuator 端点：GET 查看当前定义与剩余量，POST 重新加载配额文件
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+@Endpoint(id = "quotas")
+public class QuotaEndpoint {
+
+  private final QuotaManager quotaManager;
+
+  public QuotaEndpoint(QuotaManager quotaManager) {
+    this.quotaManager = quotaManager;
+  }
+
+  @ReadOperation
+  public Map<String, Object> quotas() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("definitions", quotaManager.getProperties());
+    result.put("remaining", quotaManager.remaining());
+    return result;
+  }
+
+  @WriteOperation
+  public Map<String, Object> reload() throws IOException {
+    quotaManager.reloadFromFile();
+    return quotas();
+  }
+}
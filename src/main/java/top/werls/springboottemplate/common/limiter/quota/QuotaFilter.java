@@ -0,0 +1,79 @@
+package top.werls.springboottemplate.common.limiter.quota;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import top.werls.springboottemplate.common.limiter.EndpointPolicy;
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.common.limiter.LimitPolicyRegistry;
+import top.werls.springboottemplate.common.limiter.LimitRejectionRecorder;
+import top.werls.springboottemplate.common.limiter.LimitResponses;
+
+/**
+ * 分级配额过滤器，放在 {@code JwtAuthenticationTokenFilter} 之后。
+ *
+ * <p>用户配额以已验证的 JWT 用户名为 key，伪造的用户名无法消耗他人配额，更换 IP 也无法绕过；未登录请求按 IP 计算。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+public class QuotaFilter extends OncePerRequestFilter {
+
+  private final QuotaManager quotaManager;
+
+  private final LimitPolicyRegistry registry;
+
+  private final LimitRejectionRecorder rejections;
+
+  public QuotaFilter(
+      QuotaManager quotaManager, LimitPolicyRegistry registry, LimitRejectionRecorder rejections) {
+    this.quotaManager = quotaManager;
+    this.registry = registry;
+    this.rejections = rejections;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (!quotaManager.isEnabled()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    EndpointPolicy policy = registry.resolve(request);
+    String endpoint = policy == null ? "" : policy.getName();
+    String principal = resolvePrincipal(request);
+    LimitDecision decision = quotaManager.tryAcquire(principal, endpoint);
+    if (!decision.allowed()) {
+      rejections.record(LimitRejectionRecorder.Reason.QUOTA, endpoint, principal);
+      LimitResponses.tooManyRequests(response, decision);
+      return;
+    }
+    // 限流过滤器已经写过响应头时，只有配额更紧才覆盖
+    String written = response.getHeader(LimitResponses.HEADER_REMAINING);
+    if (decision.remaining() >= 0
+        && (written == null || Long.parseLong(written) > decision.remaining())) {
+      LimitResponses.writeHeaders(response, decision);
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  private static String resolvePrincipal(HttpServletRequest request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.isAuthenticated()
+        && !(authentication instanceof AnonymousAuthenticationToken)) {
+      return "user:" + authentication.getName();
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+}
@@ -0,0 +1,288 @@
+package top.werls.springboottemplate.common.limiter.quota;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 分级配额管理。
+ *
+ * <p>每个请求依次检查全局、用户、接口三级配额，任一级不足时归还已经获取的上级许可并整体拒绝，因此三级配额要么同时扣减、要么都不扣减。
+ * 各级桶都是 {@link GcraBucket}，获取与归还都只是一次 CAS，不需要全局锁。
+ *
+ * <p>配额定义保存在不可变快照中，{@link #reload(ConfigProperties.QuotaProperties)} 整体替换快照，定义未变化的桶会保留当前状态。
+ * 配置了 {@code env.limiter.quota.file} 时，后台线程定期检查文件修改时间并自动重新加载；也可以通过 actuator
+ * {@code quotas} 端点手动触发。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class QuotaManager {
+
+  private static final String PREFIX = "env.limiter.quota";
+
+  private final ConfigProperties.QuotaProperties initial;
+
+  private volatile Snapshot snapshot;
+
+  private final ScheduledExecutorService watcher;
+
+  private long fileLastModified;
+
+  public QuotaManager(ConfigProperties configProperties) {
+    this.initial = configProperties.getLimiter().getQuota();
+    this.snapshot = new Snapshot(initial, null);
+    this.watcher = startWatcher();
+  }
+
+  public boolean isEnabled() {
+    return snapshot.properties.isEnabled();
+  }
+
+  /**
+   * 依次获取全局、用户、接口配额
+   *
+   * @param principal 用户标识
+   * @param endpoint 接口名
+   * @return 判定结果，被拒绝时 limit 为不足的那一级配额
+   */
+  public LimitDecision tryAcquire(String principal, String endpoint) {
+    Snapshot current = this.snapshot;
+    long now = System.nanoTime();
+    GcraBucket global = current.global;
+    if (global != null && !global.tryAcquire(now)) {
+      return reject(global, now);
+    }
+    GcraBucket user =
+        current.principalDefinition == null
+            ? null
+            : current.principals.get(principal, k -> new GcraBucket(current.principalDefinition));
+    if (user != null && !user.tryAcquire(now)) {
+      release(global);
+      return reject(user, now);
+    }
+    GcraBucket api = current.endpoints.get(endpoint);
+    if (api != null && !api.tryAcquire(now)) {
+      release(user);
+      release(global);
+      return reject(api, now);
+    }
+    // 响应头只报告最紧的一级
+    GcraBucket tightest = tightest(now, global, user, api);
+    return tightest == null
+        ? LimitDecision.allow(0, -1)
+        : LimitDecision.allow(tightest.getLimit(), tightest.remaining(now));
+  }
+
+  private static GcraBucket tightest(long now, GcraBucket... buckets) {
+    GcraBucket result = null;
+    for (GcraBucket bucket : buckets) {
+      if (bucket != null && (result == null || bucket.remaining(now) < result.remaining(now))) {
+        result = bucket;
+      }
+    }
+    return result;
+  }
+
+  private static void release(GcraBucket bucket) {
+    if (bucket != null) {
+      bucket.release();
+    }
+  }
+
+  private static LimitDecision reject(GcraBucket bucket, long now) {
+    return LimitDecision.reject(bucket.getLimit(), bucket.retryAfterMillis(now));
+  }
+
+  /**
+   * 用新的配额定义替换当前定义，定义未变化的桶保留状态
+   *
+   * @param properties 新的配额定义
+   */
+  public void reload(ConfigProperties.QuotaProperties properties) {
+    this.snapshot = new Snapshot(properties, this.snapshot);
+    log.info(
+        "配额已加载: enabled={}, global={}, principal={}, endpoints={}",
+        properties.isEnabled(),
+        properties.getGlobal(),
+        properties.getPrincipal(),
+        properties.getEndpoints().keySet());
+  }
+
+  /**
+   * 从外部配额文件重新加载，没有配置文件时恢复启动时的配置
+   *
+   * @throws IOException 文件读取失败
+   */
+  public void reloadFromFile() throws IOException {
+    String location = initial.getFile();
+    if (StringUtils.isBlank(location)) {
+      reload(initial);
+      return;
+    }
+    Resource resource = new DefaultResourceLoader().getResource(location);
+    PropertySourceLoader loader =
+        location.endsWith(".properties")
+            ? new PropertiesPropertySourceLoader()
+            : new YamlPropertySourceLoader();
+    List<PropertySource<?>> sources = loader.load("quota", resource);
+    ConfigProperties.QuotaProperties properties =
+        new Binder(ConfigurationPropertySources.from(sources))
+            .bind(PREFIX, Bindable.of(ConfigProperties.QuotaProperties.class))
+            .orElseGet(ConfigProperties.QuotaProperties::new);
+    // 文件位置与检查间隔只能在启动配置中修改
+    properties.setFile(initial.getFile());
+    properties.setReloadInterval(initial.getReloadInterval());
+    reload(properties);
+  }
+
+  /**
+   * 当前生效的配额定义
+   *
+   * @return 配额定义
+   */
+  public ConfigProperties.QuotaProperties getProperties() {
+    return snapshot.properties;
+  }
+
+  /**
+   * 全局与各接口配额的剩余数量
+   *
+   * @return 名称 -> 剩余数量
+   */
+  public Map<String, Long> remaining() {
+    Snapshot current = this.snapshot;
+    long now = System.nanoTime();
+    Map<String, Long> result = new HashMap<>();
+    if (current.global != null) {
+      result.put("global", current.global.remaining(now));
+    }
+    current.endpoints.forEach((name, bucket) -> result.put(name, bucket.remaining(now)));
+    result.put("principals", current.principals.estimatedSize());
+    return result;
+  }
+
+  private ScheduledExecutorService startWatcher() {
+    if (StringUtils.isBlank(initial.getFile())) {
+      return null;
+    }
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "quota-reload");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = initial.getReloadInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::checkFile, 0, interval, TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  private void checkFile() {
+    try {
+      Resource resource = new DefaultResourceLoader().getResource(initial.getFile());
+      if (!resource.exists()) {
+        return;
+      }
+      long lastModified = resource.lastModified();
+      if (lastModified != fileLastModified) {
+        fileLastModified = lastModified;
+        reloadFromFile();
+      }
+    } catch (Exception e) {
+      log.error("加载配额文件失败: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (watcher != null) {
+      watcher.shutdownNow();
+    }
+  }
+
+  /** 某一时刻的配额定义与对应的桶 */
+  private static final class Snapshot {
+
+    private final ConfigProperties.QuotaProperties properties;
+    private final GcraBucket global;
+    private final ConfigProperties.QuotaDefinition principalDefinition;
+    private final Cache<String, GcraBucket> principals;
+    private final Map<String, GcraBucket> endpoints;
+
+    Snapshot(ConfigProperties.QuotaProperties properties, Snapshot previous) {
+      this.properties = properties;
+      this.global = bucket(properties.getGlobal(), previous == null ? null : previous.global);
+      this.principalDefinition = valid(properties.getPrincipal()) ? properties.getPrincipal() : null;
+      if (previous != null
+          && previous.principalDefinition != null
+          && sameDefinition(previous.principalDefinition, principalDefinition)) {
+        this.principals = previous.principals;
+      } else {
+        long expire = principalDefinition == null ? 1 : principalDefinition.getPeriod().toMillis() * 2;
+        this.principals =
+            Caffeine.newBuilder()
+                .expireAfterAccess(expire, TimeUnit.MILLISECONDS)
+                .maximumSize(properties.getMaximumPrincipals())
+                .build();
+      }
+      Map<String, GcraBucket> endpointBuckets = new HashMap<>();
+      properties
+          .getEndpoints()
+          .forEach(
+              (name, definition) -> {
+                GcraBucket bucket =
+                    bucket(definition, previous == null ? null : previous.endpoints.get(name));
+                if (bucket != null) {
+                  endpointBuckets.put(name, bucket);
+                }
+              });
+      this.endpoints = Map.copyOf(endpointBuckets);
+    }
+
+    private static GcraBucket bucket(
+        ConfigProperties.QuotaDefinition definition, GcraBucket previous) {
+      if (!valid(definition)) {
+        return null;
+      }
+      if (previous != null && sameDefinition(previous.getDefinition(), definition)) {
+        return previous;
+      }
+      return new GcraBucket(definition);
+    }
+
+    private static boolean valid(ConfigProperties.QuotaDefinition definition) {
+      return definition != null && definition.getLimit() > 0 && definition.getPeriod() != null;
+    }
+
+    private static boolean sameDefinition(
+        ConfigProperties.QuotaDefinition a, ConfigProperties.QuotaDefinition b) {
+      return b != null && a.getLimit() == b.getLimit() && Objects.equals(a.getPeriod(), b.getPeriod());
+    }
+  }
+}
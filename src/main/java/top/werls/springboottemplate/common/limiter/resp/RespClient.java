@@ -0,0 +1,233 @@
+package top.werls.springboottemplate.common.limiter.resp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 精简的 RESP2 (Redis 协议) 客户端，只实现限流需要的命令。
+ *
+ * <p>内部维护一个固定上限的连接池，每条连接同一时刻只被一个线程使用。 返回值映射：简单字符串/批量字符串 -> {@link String}，整数 ->
+ * {@link Long}，数组 -> {@link List}，空值 -> null，错误 -> {@link RespException}。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+public class RespClient implements Closeable {
+
+  private final String host;
+  private final int port;
+  private final String password;
+  private final int database;
+  private final int timeoutMillis;
+
+  private final BlockingQueue<Connection> idle;
+  private final AtomicInteger opened = new AtomicInteger();
+  private final int poolSize;
+  private volatile boolean closed;
+
+  public RespClient(String host, int port, String password, int database, int timeoutMillis,
+      int poolSize) {
+    this.host = host;
+    this.port = port;
+    this.password = password;
+    this.database = database;
+    this.timeoutMillis = timeoutMillis;
+    this.poolSize = poolSize;
+    this.idle = new ArrayBlockingQueue<>(poolSize);
+  }
+
+  /**
+   * 执行一条命令
+   *
+   * @param args 命令及参数
+   * @return 服务端回复
+   * @throws IOException 网络错误或服务端返回错误
+   */
+  public Object command(String... args) throws IOException {
+    Connection connection = borrow();
+    boolean broken = true;
+    try {
+      Object reply = connection.call(args);
+      broken = false;
+      return reply;
+    } catch (RespException e) {
+      // 服务端错误回复不影响连接本身
+      broken = false;
+      throw e;
+    } finally {
+      release(connection, broken);
+    }
+  }
+
+  /**
+   * 通过 EVALSHA 执行脚本，服务端没有缓存脚本时回退到 EVAL
+   *
+   * @param sha 脚本 SHA1，见 {@link #sha1Hex(String)}
+   * @param script 脚本源码
+   * @param keys KEYS
+   * @param args ARGV
+   * @return 脚本返回值
+   * @throws IOException 网络错误或脚本执行错误
+   */
+  public Object eval(String sha, String script, List<String> keys, List<String> args)
+      throws IOException {
+    try {
+      return command(evalArgs("EVALSHA", sha, keys, args));
+    } catch (RespException e) {
+      if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) {
+        throw e;
+      }
+      return command(evalArgs("EVAL", script, keys, args));
+    }
+  }
+
+  private static String[] evalArgs(String command, String script, List<String> keys,
+      List<String> args) {
+    String[] result = new String[3 + keys.size() + args.size()];
+    result[0] = command;
+    result[1] = script;
+    result[2] = Integer.toString(keys.size());
+    int i = 3;
+    for (String key : keys) {
+      result[i++] = key;
+    }
+    for (String arg : args) {
+      result[i++] = arg;
+    }
+    return result;
+  }
+
+  /**
+   * 计算脚本的 SHA1，与 Redis SCRIPT LOAD 的返回值一致
+   *
+   * @param script 脚本源码
+   * @return 小写十六进制 SHA1
+   */
+  public static String sha1Hex(String script) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-1 algorithm not found", e);
+    }
+  }
+
+  private Connection borrow() throws IOException {
+    if (closed) {
+      throw new IOException("RespClient closed");
+    }
+    Connection connection = idle.poll();
+    if (connection != null) {
+      return connection;
+    }
+    if (opened.incrementAndGet() <= poolSize) {
+      try {
+        return open();
+      } catch (IOException e) {
+        opened.decrementAndGet();
+        throw e;
+      }
+    }
+    opened.decrementAndGet();
+    try {
+      connection = idle.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("interrupted while waiting for connection", e);
+    }
+    if (connection == null) {
+      throw new IOException("timed out waiting for a free connection to " + host + ":" + port);
+    }
+    return connection;
+  }
+
+  private void release(Connection connection, boolean broken) {
+    if (broken || closed || !idle.offer(connection)) {
+      connection.close();
+      opened.decrementAndGet();
+    }
+  }
+
+  private Connection open() throws IOException {
+    Socket socket = new Socket();
+    try {
+      socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+      socket.setSoTimeout(timeoutMillis);
+      socket.setTcpNoDelay(true);
+      Connection connection = new Connection(socket);
+      if (password != null && !password.isEmpty()) {
+        connection.call("AUTH", password);
+      }
+      if (database != 0) {
+        connection.call("SELECT", Integer.toString(database));
+      }
+      return connection;
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    Connection connection;
+    while ((connection = idle.poll()) != null) {
+      connection.close();
+    }
+  }
+
+  /** 服务端返回的错误回复 */
+  public static class RespException extends IOException {
+
+    public RespException(String message) {
+      super(message);
+    }
+  }
+
+  /** 单条连接，非线程安全 */
+  private static final class Connection {
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+
+    Connection(Socket socket) throws IOException {
+      this.socket = socket;
+      this.in = new BufferedInputStream(socket.getInputStream());
+      this.out = new BufferedOutputStream(socket.getOutputStream());
+    }
+
+    Object call(String... args) throws IOException {
+      RespCodec.writeCommand(out, args);
+      out.flush();
+      return RespCodec.read(in);
+    }
+
+    void close() {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        log.debug("close resp connection: {}", e.getMessage());
+      }
+    }
+  }
+}
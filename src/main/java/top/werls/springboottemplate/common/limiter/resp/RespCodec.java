@@ -0,0 +1,163 @@
+package top.werls.springboottemplate.common.limiter.resp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RESP2 编解码，客户端与测试用的内嵌服务端共用。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class RespCodec {
+
+  private static final byte[] CRLF = {'\r', '\n'};
+
+  private RespCodec() {}
+
+  /**
+   * 以批量字符串数组的形式写出一条命令
+   *
+   * @param out 输出流
+   * @param args 命令及参数
+   * @throws IOException 写出失败
+   */
+  public static void writeCommand(OutputStream out, String... args) throws IOException {
+    writeHeader(out, '*', args.length);
+    for (String arg : args) {
+      writeBulk(out, arg);
+    }
+  }
+
+  /**
+   * 写出一个回复，类型映射与 {@link #read(InputStream)} 相反
+   *
+   * @param out 输出流
+   * @param reply 回复内容
+   * @throws IOException 写出失败
+   */
+  public static void writeReply(OutputStream out, Object reply) throws IOException {
+    switch (reply) {
+      case null -> out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+      case RespClient.RespException e -> {
+        out.write('-');
+        out.write(e.getMessage().getBytes(StandardCharsets.UTF_8));
+        out.write(CRLF);
+      }
+      case Number n -> writeHeader(out, ':', n.longValue());
+      case List<?> list -> {
+        writeHeader(out, '*', list.size());
+        for (Object item : list) {
+          writeReply(out, item);
+        }
+      }
+      default -> writeBulk(out, reply.toString());
+    }
+  }
+
+  /**
+   * 读取一个回复
+   *
+   * @param in 输入流
+   * @return 解析结果
+   * @throws IOException 读取失败，或服务端返回错误 {@link RespClient.RespException}
+   */
+  public static Object read(InputStream in) throws IOException {
+    int type = in.read();
+    if (type < 0) {
+      throw new EOFException("connection closed");
+    }
+    String line = readLine(in);
+    return switch (type) {
+      case '+' -> line;
+      case '-' -> throw new RespClient.RespException(line);
+      case ':' -> Long.parseLong(line);
+      case '$' -> readBulk(in, Integer.parseInt(line));
+      case '*' -> {
+        int size = Integer.parseInt(line);
+        if (size < 0) {
+          yield null;
+        }
+        List<Object> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          items.add(read(in));
+        }
+        yield items;
+      }
+      default -> throw new IOException("unknown RESP type: " + (char) type);
+    };
+  }
+
+  /**
+   * 读取客户端发来的命令（批量字符串数组）
+   *
+   * @param in 输入流
+   * @return 命令及参数，连接关闭时返回 null
+   * @throws IOException 读取失败或格式错误
+   */
+  public static List<String> readCommand(InputStream in) throws IOException {
+    int type = in.read();
+    if (type < 0) {
+      return null;
+    }
+    if (type != '*') {
+      throw new IOException("expected array, got: " + (char) type);
+    }
+    int size = Integer.parseInt(readLine(in));
+    List<String> args = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      if (in.read() != '$') {
+        throw new IOException("expected bulk string");
+      }
+      args.add(readBulk(in, Integer.parseInt(readLine(in))));
+    }
+    return args;
+  }
+
+  private static String readBulk(InputStream in, int length) throws IOException {
+    if (length < 0) {
+      return null;
+    }
+    byte[] data = in.readNBytes(length);
+    if (data.length != length) {
+      throw new EOFException("connection closed");
+    }
+    readLine(in);
+    return new String(data, StandardCharsets.UTF_8);
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(16);
+    int b;
+    while ((b = in.read()) != '\r') {
+      if (b < 0) {
+        throw new EOFException("connection closed");
+      }
+      buffer.write(b);
+    }
+    if (in.read() != '\n') {
+      throw new IOException("malformed RESP line");
+    }
+    return buffer.toString(StandardCharsets.UTF_8);
+  }
+
+  private static void writeBulk(OutputStream out, String value) throws IOException {
+    byte[] data = value.getBytes(StandardCharsets.UTF_8);
+    writeHeader(out, '$', data.length);
+    out.write(data);
+    out.write(CRLF);
+  }
+
+  private static void writeHeader(OutputStream out, char type, long value) throws IOException {
+    out.write(type);
+    out.write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+    out.write(CRLF);
+  }
+}
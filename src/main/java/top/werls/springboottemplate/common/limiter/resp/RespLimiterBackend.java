@@ -0,0 +1,261 @@
+package top.werls.springboottemplate.common.limiter.resp;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.common.limiter.LimitRule;
+import top.werls.springboottemplate.common.limiter.LimiterBackend;
+
+/**
+ * 基于 Redis 协议的分布式限流后端。
+ *
+ * <p>计数在服务端用 Lua 脚本原子完成，所有节点共享同一份额度。为了避免每个请求都访问一次 Redis，节点按批次向服务端预取许可（租约），
+ * 租约内的许可在本地用 CAS 扣减；服务端拒绝时把“拒绝到何时”也缓存在本地，攻击流量在拒绝期内不会再打到 Redis。
+ *
+ * <p>预取的许可在租约过期后作废，不会归还服务端，因此全局放行量不会超过规则上限，但在多节点下可能略少于上限。 批量大小按
+ * {@code frequency * prefetchRatio} 计算，并限制在 {@code [1, maxPrefetch]} 之间。
+ *
+ * <p>Redis 不可用时退化为传入的本地后端，保证服务可用。一次失败后熔断 {@code circuitCooldownMillis}，期间直接使用本地后端，
+ * 不再等待连接超时；冷却结束后只放一个请求探测 Redis，成功后恢复。熔断与恢复各输出一条日志。
+ *
+ * <p>同一个 key 的固定窗口与令牌桶规则各自持有租约，与 {@code LocalLimiter} 分开计数的行为一致。
+ *
+ * <p>需要 Redis 5.0 及以上：令牌桶脚本先调用 {@code TIME} 再写入，依赖 5.0 起默认的脚本效果复制（effects replication），
+ * 更早的版本会拒绝执行。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+public class RespLimiterBackend implements LimiterBackend, AutoCloseable {
+
+  /**
+   * 固定窗口：KEYS[1] 计数 key；ARGV 依次为上限、窗口毫秒、申请数量。 返回 {本次授予数量, 剩余数量, 窗口剩余毫秒}
+   */
+  static final String FIXED_WINDOW_SCRIPT =
+      """
+      local limit = tonumber(ARGV[1])
+      local want = tonumber(ARGV[3])
+      local used = tonumber(redis.call('GET', KEYS[1]) or '0')
+      local grant = math.max(0, math.min(want, limit - used))
+      if grant > 0 then
+        used = redis.call('INCRBY', KEYS[1], grant)
+      end
+      local ttl = redis.call('PTTL', KEYS[1])
+      if ttl < 0 then
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        ttl = tonumber(ARGV[2])
+      end
+      return {grant, math.max(0, limit - used), ttl}
+      """;
+
+  /**
+   * 令牌桶：KEYS[1] 桶 key；ARGV 依次为容量、每毫秒产生的令牌数、申请数量。 时间取服务端 TIME，避免节点间时钟偏差。 返回 {本次授予数量,
+   * 剩余令牌, 下一个令牌的等待毫秒}
+   */
+  static final String TOKEN_BUCKET_SCRIPT =
+      """
+      local capacity = tonumber(ARGV[1])
+      local rate = tonumber(ARGV[2])
+      local want = tonumber(ARGV[3])
+      local t = redis.call('TIME')
+      local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+      local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+      local tokens = tonumber(state[1]) or capacity
+      local ts = tonumber(state[2]) or now
+      tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+      local grant = math.max(0, math.min(want, math.floor(tokens)))
+      tokens = tokens - grant
+      redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+      redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+      local wait = 0
+      if grant == 0 then
+        wait = math.ceil((1 - tokens) / rate)
+      end
+      return {grant, math.floor(tokens), wait}
+      """;
+
+  private static final String FIXED_WINDOW_SHA = RespClient.sha1Hex(FIXED_WINDOW_SCRIPT);
+  private static final String TOKEN_BUCKET_SHA = RespClient.sha1Hex(TOKEN_BUCKET_SCRIPT);
+
+  /** 令牌桶租约的最长有效期，超过后未用完的令牌作废 */
+  private static final long TOKEN_LEASE_MILLIS = 1000;
+
+  private final RespClient client;
+  private final LimiterBackend fallback;
+  private final String keyPrefix;
+  private final double prefetchRatio;
+  private final int maxPrefetch;
+  private final long circuitCooldownMillis;
+
+  private final Cache<String, Lease> leases;
+
+  /** 熔断截止时间，0 表示 Redis 可用 */
+  private final AtomicLong openUntil = new AtomicLong();
+
+  public RespLimiterBackend(RespClient client, LimiterBackend fallback, String keyPrefix,
+      double prefetchRatio, int maxPrefetch, long maximumKeys, long circuitCooldownMillis) {
+    this.client = client;
+    this.fallback = fallback;
+    this.keyPrefix = keyPrefix;
+    this.prefetchRatio = prefetchRatio;
+    this.maxPrefetch = maxPrefetch;
+    this.circuitCooldownMillis = circuitCooldownMillis;
+    this.leases =
+        Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).maximumSize(maximumKeys).build();
+  }
+
+  @Override
+  public LimitDecision tryAcquire(String key, LimitRule rule) {
+    // 与服务端 key 相同，不同类型的规则不共用租约
+    String typedKey = (rule.type() == LimitRule.Type.FIXED_WINDOW ? "fw:" : "tb:") + key;
+    Lease lease = leases.get(typedKey, k -> new Lease());
+    long now = System.currentTimeMillis();
+    if (lease.tryTake(now)) {
+      return LimitDecision.allow(rule.frequency(), lease.remaining);
+    }
+    if (now < lease.deniedUntil) {
+      return LimitDecision.reject(rule.frequency(), lease.deniedUntil - now);
+    }
+    if (!circuitAllows(now)) {
+      return fallback.tryAcquire(key, rule);
+    }
+    lease.lock.lock();
+    try {
+      // 其它线程可能已经续租
+      now = System.currentTimeMillis();
+      if (lease.tryTake(now)) {
+        return LimitDecision.allow(rule.frequency(), lease.remaining);
+      }
+      if (now < lease.deniedUntil) {
+        return LimitDecision.reject(rule.frequency(), lease.deniedUntil - now);
+      }
+      LimitDecision decision = renew(typedKey, rule, lease, now);
+      closeCircuit();
+      return decision;
+    } catch (IOException e) {
+      openCircuit(e);
+      return fallback.tryAcquire(key, rule);
+    } finally {
+      lease.lock.unlock();
+    }
+  }
+
+  private LimitDecision renew(String key, LimitRule rule, Lease lease, long now)
+      throws IOException {
+    int want = prefetchSize(rule);
+    List<?> reply;
+    long leaseMillis;
+    if (rule.type() == LimitRule.Type.FIXED_WINDOW) {
+      reply =
+          (List<?>)
+              client.eval(
+                  FIXED_WINDOW_SHA,
+                  FIXED_WINDOW_SCRIPT,
+                  List.of(keyPrefix + key),
+                  List.of(
+                      Integer.toString(rule.frequency()),
+                      Long.toString(rule.windowMillis()),
+                      Integer.toString(want)));
+      leaseMillis = ((Number) reply.get(2)).longValue();
+    } else {
+      double ratePerMillis = rule.permitsPerSecond() / 1000;
+      reply =
+          (List<?>)
+              client.eval(
+                  TOKEN_BUCKET_SHA,
+                  TOKEN_BUCKET_SCRIPT,
+                  List.of(keyPrefix + key),
+                  List.of(
+                      Long.toString(Math.max(1, (long) Math.ceil(rule.permitsPerSecond()))),
+                      Double.toString(ratePerMillis),
+                      Integer.toString(want)));
+      leaseMillis = TOKEN_LEASE_MILLIS;
+    }
+    int granted = ((Number) reply.get(0)).intValue();
+    long remaining = ((Number) reply.get(1)).longValue();
+    if (granted <= 0) {
+      long retryAfter = Math.max(1, ((Number) reply.get(2)).longValue());
+      lease.deniedUntil = now + retryAfter;
+      return LimitDecision.reject(rule.frequency(), retryAfter);
+    }
+    lease.remaining = remaining;
+    // 本次请求消耗一个，剩余的留在本地
+    lease.renew(granted - 1, now + leaseMillis);
+    return LimitDecision.allow(rule.frequency(), remaining + granted - 1);
+  }
+
+  /**
+   * 熔断期间返回 false；冷却结束后只有一个线程能把截止时间推后并获得探测机会
+   */
+  private boolean circuitAllows(long now) {
+    long until = openUntil.get();
+    if (until == 0) {
+      return true;
+    }
+    return now >= until && openUntil.compareAndSet(until, now + circuitCooldownMillis);
+  }
+
+  private void openCircuit(IOException e) {
+    long until = System.currentTimeMillis() + circuitCooldownMillis;
+    if (openUntil.getAndSet(until) == 0) {
+      log.warn("分布式限流不可用，{} 毫秒内退化为本地限流: {}", circuitCooldownMillis, e.getMessage());
+    } else {
+      log.debug("分布式限流探测失败: {}", e.getMessage());
+    }
+  }
+
+  private void closeCircuit() {
+    if (openUntil.get() != 0 && openUntil.getAndSet(0) != 0) {
+      log.info("分布式限流已恢复");
+    }
+  }
+
+  @Override
+  public void close() {
+    client.close();
+  }
+
+  private int prefetchSize(LimitRule rule) {
+    int size = (int) (rule.frequency() * prefetchRatio);
+    return Math.max(1, Math.min(maxPrefetch, size));
+  }
+
+  /** 本地租约：服务端已经授予、尚未使用的许可 */
+  private static final class Lease {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong permits = new AtomicLong();
+    private volatile long expiresAt;
+    private volatile long deniedUntil;
+    /** 续租时服务端剩余数量，仅用于响应头，不要求精确 */
+    private volatile long remaining;
+
+    boolean tryTake(long now) {
+      if (now >= expiresAt) {
+        return false;
+      }
+      long current;
+      do {
+        current = permits.get();
+        if (current <= 0) {
+          return false;
+        }
+      } while (!permits.compareAndSet(current, current - 1));
+      return true;
+    }
+
+    void renew(long count, long expiresAt) {
+      this.permits.set(count);
+      this.expiresAt = expiresAt;
+      this.deniedUntil = 0;
+    }
+  }
+}
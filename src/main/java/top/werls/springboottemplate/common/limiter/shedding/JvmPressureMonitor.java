@@ -0,0 +1,225 @@
+package top.werls.springboottemplate.common.limiter.shedding;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * JVM 压力监控，后台线程定期采样并计算压力分数 (0~1)：
+ *
+ * <ul>
+ *   <li>堆占用：取最近一次 GC 后堆内存池的占用，没有发生过 GC 时取 {@link MemoryMXBean} 当前占用。 GC
+ *       前的占用随分配锯齿波动，不能反映真实压力</li>
+ *   <li>GC 暂停：通过 GC 通知累计暂停时间，计算采样间隔内的暂停时间占比</li>
+ *   <li>CPU：{@link com.sun.management.OperatingSystemMXBean#getProcessCpuLoad()}，不支持时取系统负载除以核数</li>
+ * </ul>
+ *
+ * <p>压力上升时立即生效，下降时按指数衰减，避免在阈值附近抖动。 请求线程只读取一个 volatile 字段。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class JvmPressureMonitor {
+
+  /** 压力下降时旧值的权重 */
+  private static final double DECAY = 0.8;
+
+  private final ConfigProperties.SheddingProperties properties;
+
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+  private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+  private final Set<String> heapPools = new HashSet<>();
+
+  private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+  private final NotificationListener gcListener = this::onGc;
+
+  /** 累计 GC 暂停毫秒 */
+  private final LongAdder gcPauseMillis = new LongAdder();
+
+  /** 最近一次 GC 后的堆占用字节，-1 表示还没有 GC */
+  private volatile long heapAfterGc = -1;
+
+  private volatile double heapPressure;
+  private volatile double gcPressure;
+  private volatile double cpuPressure;
+  private volatile double pressure;
+
+  private long lastSampleNanos = System.nanoTime();
+  private long lastGcPauseMillis;
+
+  private final ScheduledExecutorService sampler;
+
+  public JvmPressureMonitor(ConfigProperties configProperties, MeterRegistry meterRegistry) {
+    this.properties = configProperties.getLimiter().getShedding();
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        heapPools.add(pool.getName());
+      }
+    }
+    Gauge.builder("limiter.pressure", this, JvmPressureMonitor::getPressure)
+        .description("JVM 压力分数")
+        .register(meterRegistry);
+    Gauge.builder("limiter.pressure.signal", this, JvmPressureMonitor::getHeapPressure)
+        .tag("signal", "heap")
+        .register(meterRegistry);
+    Gauge.builder("limiter.pressure.signal", this, JvmPressureMonitor::getGcPressure)
+        .tag("signal", "gc")
+        .register(meterRegistry);
+    Gauge.builder("limiter.pressure.signal", this, JvmPressureMonitor::getCpuPressure)
+        .tag("signal", "cpu")
+        .register(meterRegistry);
+    this.sampler = properties.isEnabled() ? start() : null;
+  }
+
+  private ScheduledExecutorService start() {
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (gc instanceof NotificationEmitter emitter) {
+        emitter.addNotificationListener(gcListener, null, null);
+        emitters.add(emitter);
+      }
+    }
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "jvm-pressure");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = properties.getSampleInterval().toMillis();
+    executor.scheduleAtFixedRate(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  private void onGc(Notification notification, Object handback) {
+    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(
+        notification.getType())) {
+      return;
+    }
+    GarbageCollectionNotificationInfo info =
+        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    // 并发收集器（如 ZGC 的 Cycles）报告的是周期耗时而不是暂停时间
+    if (!info.getGcName().contains("Cycles")) {
+      gcPauseMillis.add(info.getGcInfo().getDuration());
+    }
+    long used = 0;
+    for (Map.Entry<String, MemoryUsage> entry : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+      if (heapPools.contains(entry.getKey())) {
+        used += entry.getValue().getUsed();
+      }
+    }
+    heapAfterGc = used;
+  }
+
+  private void sample() {
+    try {
+      long now = System.nanoTime();
+      long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - lastSampleNanos));
+      long pause = gcPauseMillis.sum();
+      double gcFraction = (double) (pause - lastGcPauseMillis) / elapsedMillis;
+      lastSampleNanos = now;
+      lastGcPauseMillis = pause;
+      update(heapOccupancy(), gcFraction, cpuLoad());
+    } catch (Exception e) {
+      log.warn("JVM 压力采样失败: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 根据采样值更新压力分数
+   *
+   * @param heapOccupancy 堆占用率
+   * @param gcFraction GC 暂停时间占比
+   * @param cpuLoad CPU 使用率，未知时为负数
+   */
+  void update(double heapOccupancy, double gcFraction, double cpuLoad) {
+    heapPressure =
+        SheddingPolicy.ramp(heapOccupancy, properties.getHeapThreshold(), properties.getHeapCritical());
+    gcPressure =
+        SheddingPolicy.ramp(gcFraction, properties.getGcThreshold(), properties.getGcCritical());
+    cpuPressure =
+        SheddingPolicy.ramp(cpuLoad, properties.getCpuThreshold(), properties.getCpuCritical());
+    double current = Math.max(heapPressure, Math.max(gcPressure, cpuPressure));
+    double previous = pressure;
+    pressure = current >= previous ? current : previous * DECAY + current * (1 - DECAY);
+  }
+
+  private double heapOccupancy() {
+    MemoryUsage heap = memory.getHeapMemoryUsage();
+    long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+    long used = heapAfterGc >= 0 ? heapAfterGc : heap.getUsed();
+    return (double) used / max;
+  }
+
+  private double cpuLoad() {
+    if (os instanceof com.sun.management.OperatingSystemMXBean bean) {
+      return bean.getProcessCpuLoad();
+    }
+    double load = os.getSystemLoadAverage();
+    return load < 0 ? -1 : load / os.getAvailableProcessors();
+  }
+
+  public boolean isEnabled() {
+    return sampler != null;
+  }
+
+  public double getPressure() {
+    return pressure;
+  }
+
+  public double getHeapPressure() {
+    return heapPressure;
+  }
+
+  public double getGcPressure() {
+    return gcPressure;
+  }
+
+  public double getCpuPressure() {
+    return cpuPressure;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (sampler != null) {
+      sampler.shutdownNow();
+    }
+    for (NotificationEmitter emitter : emitters) {
+      try {
+        emitter.removeNotificationListener(gcListener);
+      } catch (ListenerNotFoundException e) {
+        log.debug("remove gc listener: {}", e.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package top.werls.springboottemplate.common.limiter.shedding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import top.werls.springboottemplate.common.annotation.RequestPriority;
+import top.werls.springboottemplate.common.limiter.EndpointPolicy;
+import top.werls.springboottemplate.common.limiter.LimitPolicyRegistry;
+import top.werls.springboottemplate.common.limiter.LimitRejectionRecorder;
+import top.werls.springboottemplate.common.limiter.LimitResponses;
+
+/**
+ * 降载过滤器，放在所有限流过滤器之前。
+ *
+ * <p>根据 {@link JvmPressureMonitor} 的压力分数与接口的 {@link RequestPriority} 按 {@link SheddingPolicy}
+ * 随机丢弃请求，返回 503。没有压力时只多一次 volatile 读。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+  /** 压力通常在若干个采样周期后才会回落 */
+  private static final long RETRY_AFTER_MILLIS = 5000;
+
+  private final JvmPressureMonitor monitor;
+
+  private final LimitPolicyRegistry registry;
+
+  private final LimitRejectionRecorder rejections;
+
+  public LoadSheddingFilter(
+      JvmPressureMonitor monitor, LimitPolicyRegistry registry, LimitRejectionRecorder rejections) {
+    this.monitor = monitor;
+    this.registry = registry;
+    this.rejections = rejections;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    double pressure = monitor.getPressure();
+    if (pressure > 0) {
+      EndpointPolicy policy = registry.resolve(request);
+      RequestPriority.Level level =
+          policy == null ? RequestPriority.Level.NORMAL : policy.getPriority();
+      double probability = SheddingPolicy.shedProbability(level, pressure);
+      if (probability > 0 && ThreadLocalRandom.current().nextDouble() < probability) {
+        String endpoint = policy == null ? "" : policy.getName();
+        rejections.record(LimitRejectionRecorder.Reason.SHED, endpoint, request.getRemoteAddr());
+        LimitResponses.serviceUnavailable(response, RETRY_AFTER_MILLIS);
+        return;
+      }
+    }
+    filterChain.doFilter(request, response);
+  }
+}
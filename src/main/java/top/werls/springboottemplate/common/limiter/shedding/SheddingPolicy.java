@@ -0,0 +1,58 @@
+package top.werls.springboottemplate.common.limiter.shedding;
+
+import top.werls.springboottemplate.common.annotation.RequestPriority;
+
+/**
+ * 压力分数到丢弃概率的映射。
+ *
+ * <p>每个优先级有一个区间，压力分数低于区间下界时全部放行，高于上界时全部丢弃，区间内按比例随机丢弃；
+ * 优先级越低区间越靠前，压力上升时低优先级先被丢弃，{@link RequestPriority.Level#CRITICAL} 永不丢弃。
+ *
+ * <pre>
+ *   LOW      0.2 ~ 0.4
+ *   NORMAL   0.4 ~ 0.7
+ *   HIGH     0.7 ~ 0.95
+ * </pre>
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class SheddingPolicy {
+
+  private SheddingPolicy() {}
+
+  /**
+   * 丢弃概率
+   *
+   * @param level 请求优先级
+   * @param pressure 压力分数 0~1
+   * @return 0~1
+   */
+  public static double shedProbability(RequestPriority.Level level, double pressure) {
+    return switch (level) {
+      case CRITICAL -> 0;
+      case HIGH -> ramp(pressure, 0.7, 0.95);
+      case NORMAL -> ramp(pressure, 0.4, 0.7);
+      case LOW -> ramp(pressure, 0.2, 0.4);
+    };
+  }
+
+  /**
+   * 把 value 在 [low, high] 区间内线性映射到 0~1
+   *
+   * @param value 观测值
+   * @param low 下界，映射为 0
+   * @param high 上界，映射为 1
+   * @return 0~1
+   */
+  public static double ramp(double value, double low, double high) {
+    if (value <= low) {
+      return 0;
+    }
+    if (value >= high) {
+      return 1;
+    }
+    return (value - low) / (high - low);
+  }
+}
@@ -0,0 +1,100 @@
+package top.werls.springboottemplate.common.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 有界无锁环形队列，多生产者、单消费者。
+ *
+ * <p>每个槽位带一个序号（Vyukov 有界队列）：序号等于写入位置时槽位可写，等于写入位置 + 1 时可读，
+ * 消费后置为下一轮的写入位置。生产者只需要一次 CAS 抢占写入位置，队列满时立即返回 false，不阻塞。
+ *
+ * @param <E> 元素类型
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class MpscRingBuffer<E> {
+
+  private final Object[] buffer;
+  private final AtomicLongArray sequences;
+  private final int mask;
+
+  private final AtomicLong tail = new AtomicLong();
+
+  /** 只由消费者线程写入，生产者读取以计算剩余容量 */
+  private volatile long head;
+
+  /**
+   * @param capacity 容量，向上取整为 2 的幂
+   */
+  public MpscRingBuffer(int capacity) {
+    int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.buffer = new Object[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+  }
+
+  public int capacity() {
+    return buffer.length;
+  }
+
+  /**
+   * 当前元素个数（近似值）
+   *
+   * @return 元素个数
+   */
+  public int size() {
+    long size = tail.get() - head;
+    return (int) Math.max(0, Math.min(size, buffer.length));
+  }
+
+  /**
+   * 放入一个元素
+   *
+   * @param element 元素
+   * @return 队列已满时返回 false
+   */
+  public boolean offer(E element) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) position & mask;
+      long diff = sequences.get(index) - position;
+      if (diff == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          buffer[index] = element;
+          // 发布：消费者读到新序号后一定能看到元素
+          sequences.lazySet(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (diff < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * 取出一个元素，只能由消费者线程调用
+   *
+   * @return 队列为空（或生产者尚未写完）时返回 null
+   */
+  @SuppressWarnings("unchecked")
+  public E poll() {
+    long position = head;
+    int index = (int) position & mask;
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    E element = (E) buffer[index];
+    buffer[index] = null;
+    sequences.lazySet(index, position + buffer.length);
+    head = position + 1;
+    return element;
+  }
+}
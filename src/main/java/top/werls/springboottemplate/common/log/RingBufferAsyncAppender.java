@@ -0,0 +1,251 @@
+package top.werls.springboottemplate.common.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于 {@link MpscRingBuffer} 的异步 appender，请求线程只把事件放入环形队列，由单独的线程批量写入下游 appender。
+ *
+ * <ul>
+ *   <li>队列剩余容量不足 {@code discardingThreshold} 时，丢弃 {@code discardLevel} 及以下级别（默认 INFO）的事件</li>
+ *   <li>队列已满时，WARN/ERROR 默认自旋等待；{@code neverBlock=true} 时直接丢弃</li>
+ *   <li>每批最多 {@code batchSize} 条，批次结束后 flush 一次下游的输出流；下游应配置 {@code immediateFlush=false}</li>
+ *   <li>丢弃的数量会以一条 WARN 事件写入下游</li>
+ * </ul>
+ *
+ * <p>下游 appender 只被写入线程调用，不会与请求线程竞争编码器的锁。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+    implements AppenderAttachable<ILoggingEvent> {
+
+  private static final String FQCN = RingBufferAsyncAppender.class.getName();
+
+  /** 空闲时写入线程的最长休眠时间 */
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+  private final LongAdder dropped = new LongAdder();
+
+  private int queueSize = 8192;
+  private int discardingThreshold = -1;
+  private Level discardLevel = Level.INFO;
+  private boolean neverBlock = false;
+  private int batchSize = 256;
+  private boolean includeCallerData = false;
+  private int maxFlushTime = 1000;
+
+  private MpscRingBuffer<ILoggingEvent> buffer;
+  private Thread worker;
+  private volatile boolean sleeping;
+  private volatile boolean stopping;
+
+  @Override
+  public void start() {
+    if (isStarted()) {
+      return;
+    }
+    if (queueSize < 2 || batchSize < 1) {
+      addError("queueSize must be >= 2 and batchSize >= 1");
+      return;
+    }
+    buffer = new MpscRingBuffer<>(queueSize);
+    if (discardingThreshold < 0) {
+      discardingThreshold = buffer.capacity() / 5;
+    }
+    stopping = false;
+    worker = new Thread(this::drain, "AsyncAppender-" + getName());
+    worker.setDaemon(true);
+    super.start();
+    worker.start();
+  }
+
+  @Override
+  public void stop() {
+    if (!isStarted()) {
+      return;
+    }
+    super.stop();
+    stopping = true;
+    LockSupport.unpark(worker);
+    try {
+      worker.join(maxFlushTime);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (worker.isAlive()) {
+      addWarn("max flush time elapsed, " + buffer.size() + " events may be lost");
+    }
+    appenders.detachAndStopAllAppenders();
+  }
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    boolean discardable = event.getLevel().toInt() <= discardLevel.toInt();
+    if (discardable && buffer.capacity() - buffer.size() <= discardingThreshold) {
+      dropped.increment();
+      return;
+    }
+    event.prepareForDeferredProcessing();
+    if (includeCallerData) {
+      event.getCallerData();
+    }
+    while (!buffer.offer(event)) {
+      if (discardable || neverBlock || !isStarted()) {
+        dropped.increment();
+        return;
+      }
+      // 队列已满，等待写入线程腾出空间；虚拟线程在 park 时会让出载体线程
+      wakeUp();
+      LockSupport.parkNanos(10_000);
+    }
+    wakeUp();
+  }
+
+  private void wakeUp() {
+    if (sleeping) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  private void drain() {
+    long reportedDropped = 0;
+    while (true) {
+      int count = 0;
+      ILoggingEvent event;
+      while (count < batchSize && (event = buffer.poll()) != null) {
+        appenders.appendLoopOnAppenders(event);
+        count++;
+      }
+      long droppedNow = dropped.sum();
+      if (droppedNow != reportedDropped) {
+        appenders.appendLoopOnAppenders(droppedEvent(droppedNow - reportedDropped));
+        reportedDropped = droppedNow;
+        count++;
+      }
+      if (count > 0) {
+        flush();
+        continue;
+      }
+      if (stopping) {
+        return;
+      }
+      sleeping = true;
+      // 设置标记后再检查一次，避免错过生产者的唤醒
+      if (buffer.size() == 0 && !stopping) {
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+      }
+      sleeping = false;
+    }
+  }
+
+  private ILoggingEvent droppedEvent(long count) {
+    Logger logger = ((LoggerContext) getContext()).getLogger(FQCN);
+    LoggingEvent event =
+        new LoggingEvent(
+            FQCN, logger, Level.WARN, "队列繁忙，丢弃了 {} 条日志", null, new Object[] {count});
+    event.prepareForDeferredProcessing();
+    return event;
+  }
+
+  private void flush() {
+    Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+    while (iterator.hasNext()) {
+      if (iterator.next() instanceof OutputStreamAppender<ILoggingEvent> appender) {
+        OutputStream out = appender.getOutputStream();
+        if (out != null) {
+          try {
+            out.flush();
+          } catch (IOException e) {
+            addError("flush failed: " + appender.getName(), e);
+          }
+        }
+      }
+    }
+  }
+
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  public void setQueueSize(int queueSize) {
+    this.queueSize = queueSize;
+  }
+
+  public void setDiscardingThreshold(int discardingThreshold) {
+    this.discardingThreshold = discardingThreshold;
+  }
+
+  public void setDiscardLevel(String discardLevel) {
+    this.discardLevel = Level.toLevel(discardLevel, Level.INFO);
+  }
+
+  public void setNeverBlock(boolean neverBlock) {
+    this.neverBlock = neverBlock;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public void setIncludeCallerData(boolean includeCallerData) {
+    this.includeCallerData = includeCallerData;
+  }
+
+  public void setMaxFlushTime(int maxFlushTime) {
+    this.maxFlushTime = maxFlushTime;
+  }
+
+  @Override
+  public void addAppender(Appender<ILoggingEvent> newAppender) {
+    appenders.addAppender(newAppender);
+  }
+
+  @Override
+  public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+    return appenders.iteratorForAppenders();
+  }
+
+  @Override
+  public Appender<ILoggingEvent> getAppender(String name) {
+    return appenders.getAppender(name);
+  }
+
+  @Override
+  public boolean isAttached(Appender<ILoggingEvent> appender) {
+    return appenders.isAttached(appender);
+  }
+
+  @Override
+  public void detachAndStopAllAppenders() {
+    appenders.detachAndStopAllAppenders();
+  }
+
+  @Override
+  public boolean detachAppender(Appender<ILoggingEvent> appender) {
+    return appenders.detachAppender(appender);
+  }
+
+  @Override
+  public boolean detachAppender(String name) {
+    return appenders.detachAppender(name);
+  }
+}
@@ -0,0 +1,134 @@
+package top.werls.springboottemplate.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * 单个接口的耗时统计。
+ *
+ * <p>分位数基于滑动窗口：保留“当前”和“上一个”两个 {@link LatencyHistogram}，每经过一个窗口长度就丢弃上一个、
+ * 把当前的变为上一个并换上新的直方图，统计结果覆盖最近 1~2 个窗口。 换出的直方图不清零而是直接丢弃，
+ * 正在写入旧直方图的线程不会丢失数据。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class EndpointLatency {
+
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+  @Getter
+  private final String name;
+
+  private final long windowNanos;
+
+  private final LongAdder total = new LongAdder();
+
+  private final LongAdder errors = new LongAdder();
+
+  private final AtomicLong rotatedAt;
+
+  private volatile LatencyHistogram current = new LatencyHistogram();
+
+  private volatile LatencyHistogram previous = new LatencyHistogram();
+
+  /** 上一个窗口开始的时间，用于计算吞吐量 */
+  private volatile long previousStartedAt;
+
+  /** 最近一次快照，见 {@link #snapshot(long)} */
+  private volatile TimedSnapshot lastSnapshot;
+
+  public EndpointLatency(String name, long windowMillis) {
+    this.name = name;
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    long now = System.nanoTime();
+    this.rotatedAt = new AtomicLong(now);
+    this.previousStartedAt = now;
+  }
+
+  /**
+   * 记录一次调用
+   *
+   * @param startNanos 开始时间
+   * @param endNanos 结束时间
+   * @param failed 是否抛出异常
+   */
+  public void record(long startNanos, long endNanos, boolean failed) {
+    rotateIfNeeded(endNanos);
+    current.record(endNanos - startNanos);
+    total.increment();
+    if (failed) {
+      errors.increment();
+    }
+  }
+
+  private void rotateIfNeeded(long now) {
+    long last = rotatedAt.get();
+    if (now - last >= windowNanos && rotatedAt.compareAndSet(last, now)) {
+      previousStartedAt = last;
+      previous = current;
+      current = new LatencyHistogram();
+    }
+  }
+
+  public long getTotal() {
+    return total.sum();
+  }
+
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  /**
+   * 最近窗口的统计快照
+   *
+   * @return 快照
+   */
+  public Snapshot snapshot() {
+    long now = System.nanoTime();
+    rotateIfNeeded(now);
+    LatencyHistogram older = previous;
+    LatencyHistogram newer = current;
+    long[] counts = new long[LatencyHistogram.BUCKETS];
+    long count = older.drainTo(counts) + newer.drainTo(counts);
+    long max = Math.max(older.getMax(), newer.getMax());
+    long[] values = LatencyHistogram.percentiles(counts, count, max, QUANTILES);
+    double seconds = Math.max(1e-3, (now - previousStartedAt) / 1e9);
+    return new Snapshot(count, count / seconds, values[0], values[1], values[2], max);
+  }
+
+  /**
+   * 复用不早于 {@code maxAgeNanos} 之前生成的快照，否则重新生成。一次指标抓取会连续读取同一接口的多个 gauge，共用一次快照即可，
+   * 不必每个 gauge 都合并一遍直方图。
+   *
+   * @param maxAgeNanos 可复用的最长时间
+   * @return 快照
+   */
+  public Snapshot snapshot(long maxAgeNanos) {
+    TimedSnapshot last = lastSnapshot;
+    long now = System.nanoTime();
+    if (last != null && now - last.takenAt() <= maxAgeNanos) {
+      return last.snapshot();
+    }
+    Snapshot snapshot = snapshot();
+    lastSnapshot = new TimedSnapshot(now, snapshot);
+    return snapshot;
+  }
+
+  private record TimedSnapshot(long takenAt, Snapshot snapshot) {}
+
+  /**
+   * 统计快照，耗时单位为纳秒
+   *
+   * @param count 窗口内调用次数
+   * @param throughput 每秒调用次数
+   * @param p50 中位数
+   * @param p90 90 分位
+   * @param p99 99 分位
+   * @param max 最大值
+   */
+  public record Snapshot(long count, double throughput, long p50, long p90, long p99, long max) {}
+}
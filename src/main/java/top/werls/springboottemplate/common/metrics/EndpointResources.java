@@ -0,0 +1,110 @@
+package top.werls.springboottemplate.common.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * 单个接口累计的内存分配量与 CPU 时间。
+ *
+ * <p>平台线程上的调用逐次精确计量（{@code measured}）；虚拟线程上的调用由 JFR 采样估算（{@code sampled}），
+ * 两者都计入总量。未能计量的调用（关闭了采样的虚拟线程、JVM 不支持）只计入 {@code calls}，不参与平均值。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class EndpointResources {
+
+  @Getter
+  private final String name;
+
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder measured = new LongAdder();
+  private final LongAdder sampled = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+  private final LongAdder cpuNanos = new LongAdder();
+  private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Long::max, 0);
+  private final LongAccumulator maxCpuNanos = new LongAccumulator(Long::max, 0);
+
+  public EndpointResources(String name) {
+    this.name = name;
+  }
+
+  /**
+   * 记录一次调用
+   *
+   * @param allocated 分配的字节数，-1 表示未能计量
+   * @param cpu CPU 纳秒，-1 表示未能计量
+   */
+  public void record(long allocated, long cpu) {
+    calls.increment();
+    if (allocated < 0 && cpu < 0) {
+      return;
+    }
+    measured.increment();
+    add(allocated, cpu);
+  }
+
+  /**
+   * 补记一次虚拟线程调用的采样估算值，调用次数已经由 {@link #record(long, long)} 计入
+   *
+   * @param allocated 采样估算的分配字节数
+   * @param cpu 采样估算的 CPU 纳秒
+   */
+  public void recordSampled(long allocated, long cpu) {
+    sampled.increment();
+    add(allocated, cpu);
+  }
+
+  private void add(long allocated, long cpu) {
+    if (allocated > 0) {
+      allocatedBytes.add(allocated);
+      maxAllocatedBytes.accumulate(allocated);
+    }
+    if (cpu > 0) {
+      cpuNanos.add(cpu);
+      maxCpuNanos.accumulate(cpu);
+    }
+  }
+
+  public long getCalls() {
+    return calls.sum();
+  }
+
+  public long getMeasured() {
+    return measured.sum();
+  }
+
+  public long getSampled() {
+    return sampled.sum();
+  }
+
+  public long getAllocatedBytes() {
+    return allocatedBytes.sum();
+  }
+
+  public long getCpuNanos() {
+    return cpuNanos.sum();
+  }
+
+  public long getMaxAllocatedBytes() {
+    return maxAllocatedBytes.get();
+  }
+
+  public long getMaxCpuNanos() {
+    return maxCpuNanos.get();
+  }
+
+  /** 每次调用平均分配的字节数 */
+  public double getAllocatedBytesPerCall() {
+    long count = getMeasured() + getSampled();
+    return count == 0 ? 0 : (double) getAllocatedBytes() / count;
+  }
+
+  /** 每次调用平均消耗的 CPU 纳秒 */
+  public double getCpuNanosPerCall() {
+    long count = getMeasured() + getSampled();
+    return count == 0 ? 0 : (double) getCpuNanos() / count;
+  }
+}
@@ -0,0 +1,32 @@
+package top.werls.springboottemplate.common.metrics;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.utils.JwtMetrics;
+import top.werls.springboottemplate.common.utils.JwtTokenUtils;
+
+/**
+ * JWT 认证开销 actuator 端点：{@code GET /actuator/jwt} 查看各结果的次数与耗时（微秒）以及已验签缓存命中率。
+ * 同样的数据也以 {@code jwt.*} 指标发布，见 {@link JwtMetrics}。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+@Endpoint(id = "jwt")
+public class JwtMetricsEndpoint {
+
+  private final JwtTokenUtils tokenUtils;
+
+  public JwtMetricsEndpoint(JwtTokenUtils tokenUtils) {
+    this.tokenUtils = tokenUtils;
+  }
+
+  @ReadOperation
+  public Map<String, Object> jwt() {
+    return tokenUtils.getMetrics().snapshot();
+  }
+}
@@ -0,0 +1,61 @@
+package top.werls.springboottemplate.common.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * 接口耗时 actuator 端点：{@code GET /actuator/latency} 查看全部接口，{@code /actuator/latency/{endpoint}}
+ * 查看单个接口。耗时单位为毫秒。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+  private final LatencyRegistry registry;
+
+  public LatencyEndpoint(LatencyRegistry registry) {
+    this.registry = registry;
+  }
+
+  @ReadOperation
+  public Map<String, Map<String, Object>> latencies() {
+    Map<String, Map<String, Object>> result = new TreeMap<>();
+    for (EndpointLatency latency : registry.getAll()) {
+      result.put(latency.getName(), describe(latency));
+    }
+    return result;
+  }
+
+  @ReadOperation
+  public Map<String, Object> latency(@Selector String endpoint) {
+    EndpointLatency latency = registry.get(endpoint);
+    return latency == null ? null : describe(latency);
+  }
+
+  private static Map<String, Object> describe(EndpointLatency latency) {
+    EndpointLatency.Snapshot snapshot = latency.snapshot();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("total", latency.getTotal());
+    result.put("errors", latency.getErrors());
+    result.put("count", snapshot.count());
+    result.put("throughput", snapshot.throughput());
+    result.put("p50", millis(snapshot.p50()));
+    result.put("p90", millis(snapshot.p90()));
+    result.put("p99", millis(snapshot.p99()));
+    result.put("max", millis(snapshot.max()));
+    return result;
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+}
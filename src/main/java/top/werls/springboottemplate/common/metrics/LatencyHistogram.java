@@ -0,0 +1,117 @@
+package top.werls.springboottemplate.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁的对数-线性直方图（HdrHistogram 的简化版），记录纳秒耗时。
+ *
+ * <p>小于 64ns 的值每纳秒一个桶；之后每个 2 的幂区间再均分为 32 个子桶，相对误差不超过 1/32（约 3%）。 覆盖到 2^42 ns（约 73
+ * 分钟），更大的值计入最后一个桶。总共 1216 个桶，约 10KB。
+ *
+ * <p>{@link #record(long)} 只有一次数组下标的原子自增和一次可能的 max CAS，不加锁、不分配对象。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BITS = 5;
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+  /** 线性区上界，[0, LINEAR) 每个值一个桶 */
+  private static final int LINEAR = SUB_COUNT * 2;
+  private static final int LINEAR_EXP = SUB_BITS + 1;
+  private static final int MAX_EXP = 41;
+
+  static final int BUCKETS = LINEAR + (MAX_EXP - LINEAR_EXP + 1) * SUB_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * 记录一个值
+   *
+   * @param nanos 耗时，负数按 0 计
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(index(value));
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+
+  static int index(long value) {
+    if (value < LINEAR) {
+      return (int) value;
+    }
+    int exp = 63 - Long.numberOfLeadingZeros(value);
+    if (exp > MAX_EXP) {
+      return BUCKETS - 1;
+    }
+    int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+    return LINEAR + (exp - LINEAR_EXP) * SUB_COUNT + sub;
+  }
+
+  /** 桶内的最大值，作为分位数的估计（偏保守） */
+  static long upperBound(int index) {
+    if (index < LINEAR) {
+      return index;
+    }
+    int exp = (index - LINEAR) / SUB_COUNT + LINEAR_EXP;
+    int sub = (index - LINEAR) % SUB_COUNT;
+    long width = 1L << (exp - SUB_BITS);
+    return (1L << exp) + sub * width + width - 1;
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * 把计数累加到 target 中，用于合并多个直方图
+   *
+   * @param target 长度为 {@link #BUCKETS} 的数组
+   * @return 本直方图的总数
+   */
+  long drainTo(long[] target) {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      long count = counts.get(i);
+      target[i] += count;
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * 从合并后的计数中计算分位数
+   *
+   * @param counts 各桶计数
+   * @param total 总数
+   * @param max 实际观测到的最大值，估计值不会超过它
+   * @param quantiles 分位点，升序
+   * @return 与 quantiles 一一对应的纳秒值
+   */
+  static long[] percentiles(long[] counts, long total, long max, double... quantiles) {
+    long[] result = new long[quantiles.length];
+    if (total == 0) {
+      return result;
+    }
+    int q = 0;
+    long cumulative = 0;
+    for (int i = 0; i < counts.length && q < quantiles.length; i++) {
+      cumulative += counts[i];
+      while (q < quantiles.length && cumulative >= Math.ceil(quantiles[q] * total)) {
+        result[q++] = Math.min(upperBound(i), max);
+      }
+    }
+    while (q < quantiles.length) {
+      result[q++] = max;
+    }
+    return result;
+  }
+}
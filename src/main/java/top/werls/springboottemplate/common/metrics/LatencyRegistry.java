@@ -0,0 +1,104 @@
+package top.werls.springboottemplate.common.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 各接口的耗时统计，首次调用时创建并发布 Micrometer 指标：
+ *
+ * <ul>
+ *   <li>{@code endpoint.latency}：tag {@code quantile} 为 0.5/0.9/0.99/max，单位秒</li>
+ *   <li>{@code endpoint.requests} / {@code endpoint.errors}：累计调用与异常次数</li>
+ *   <li>{@code endpoint.throughput}：最近窗口内每秒调用次数</li>
+ * </ul>
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+public class LatencyRegistry {
+
+  /** 同一次抓取内的 gauge 共用一次快照，见 {@link EndpointLatency#snapshot(long)} */
+  private static final long SCRAPE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final MeterRegistry meterRegistry;
+
+  private final long windowMillis;
+
+  private final Map<Method, EndpointLatency> byMethod = new ConcurrentHashMap<>();
+
+  private final Map<String, EndpointLatency> byName = new ConcurrentHashMap<>();
+
+  public LatencyRegistry(MeterRegistry meterRegistry, ConfigProperties configProperties) {
+    this.meterRegistry = meterRegistry;
+    this.windowMillis = configProperties.getLatency().getWindow().toMillis();
+  }
+
+  /**
+   * 获取或创建方法对应的统计
+   *
+   * @param method 接口方法
+   * @return 统计
+   */
+  public EndpointLatency get(Method method) {
+    EndpointLatency latency = byMethod.get(method);
+    if (latency != null) {
+      return latency;
+    }
+    return byMethod.computeIfAbsent(
+        method,
+        m ->
+            byName.computeIfAbsent(
+                m.getDeclaringClass().getSimpleName() + "." + m.getName(), this::create));
+  }
+
+  public EndpointLatency get(String name) {
+    return byName.get(name);
+  }
+
+  public Collection<EndpointLatency> getAll() {
+    return byName.values();
+  }
+
+  private EndpointLatency create(String name) {
+    EndpointLatency latency = new EndpointLatency(name, windowMillis);
+    gauge(latency, "0.5", s -> s.p50());
+    gauge(latency, "0.9", s -> s.p90());
+    gauge(latency, "0.99", s -> s.p99());
+    gauge(latency, "max", s -> s.max());
+    Gauge.builder("endpoint.throughput", latency, l -> l.snapshot(SCRAPE_NANOS).throughput())
+        .tag("endpoint", name)
+        .description("最近窗口内每秒调用次数")
+        .register(meterRegistry);
+    FunctionCounter.builder("endpoint.requests", latency, EndpointLatency::getTotal)
+        .tag("endpoint", name)
+        .register(meterRegistry);
+    FunctionCounter.builder("endpoint.errors", latency, EndpointLatency::getErrors)
+        .tag("endpoint", name)
+        .register(meterRegistry);
+    return latency;
+  }
+
+  private void gauge(
+      EndpointLatency latency, String quantile, ToDoubleFunction<EndpointLatency.Snapshot> value) {
+    Gauge.builder(
+            "endpoint.latency",
+            latency,
+            l -> value.applyAsDouble(l.snapshot(SCRAPE_NANOS)) / 1e9)
+        .tag("endpoint", latency.getName())
+        .tag("quantile", quantile)
+        .baseUnit("seconds")
+        .description("最近窗口内的接口耗时")
+        .register(meterRegistry);
+  }
+}
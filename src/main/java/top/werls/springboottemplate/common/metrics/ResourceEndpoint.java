@@ -0,0 +1,85 @@
+package top.werls.springboottemplate.common.metrics;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 接口资源消耗 actuator 端点：{@code GET /actuator/resources?sort=allocated&limit=10}。
+ *
+ * <p>{@code sort} 可选 allocated（默认）、cpu、allocatedPerCall、cpuPerCall，按从大到小排列。内存单位为字节，CPU 单位为毫秒。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+@Endpoint(id = "resources")
+public class ResourceEndpoint {
+
+  private static final int DEFAULT_LIMIT = 10;
+
+  private final ResourceRegistry registry;
+
+  private final VirtualThreadSampler sampler;
+
+  public ResourceEndpoint(ResourceRegistry registry, VirtualThreadSampler sampler) {
+    this.registry = registry;
+    this.sampler = sampler;
+  }
+
+  @ReadOperation
+  public Map<String, Object> top(@OptionalParameter String sort, @OptionalParameter Integer limit) {
+    Comparator<EndpointResources> order = order(sort);
+    if (order == null) {
+      return null;
+    }
+    List<Map<String, Object>> endpoints =
+        registry.top(order, limit == null || limit <= 0 ? DEFAULT_LIMIT : limit).stream()
+            .map(ResourceEndpoint::describe)
+            .toList();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("sort", sort == null ? "allocated" : sort);
+    result.put("virtualThreadSampling", sampler.isActive());
+    result.put("endpoints", endpoints);
+    return result;
+  }
+
+  private static Comparator<EndpointResources> order(String sort) {
+    if (sort == null) {
+      return Comparator.comparingLong(EndpointResources::getAllocatedBytes);
+    }
+    return switch (sort) {
+      case "allocated" -> Comparator.comparingLong(EndpointResources::getAllocatedBytes);
+      case "cpu" -> Comparator.comparingLong(EndpointResources::getCpuNanos);
+      case "allocatedPerCall" ->
+          Comparator.comparingDouble(EndpointResources::getAllocatedBytesPerCall);
+      case "cpuPerCall" -> Comparator.comparingDouble(EndpointResources::getCpuNanosPerCall);
+      default -> null;
+    };
+  }
+
+  private static Map<String, Object> describe(EndpointResources resources) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("endpoint", resources.getName());
+    result.put("calls", resources.getCalls());
+    result.put("measured", resources.getMeasured());
+    result.put("sampled", resources.getSampled());
+    result.put("allocated", resources.getAllocatedBytes());
+    result.put("allocatedPerCall", Math.round(resources.getAllocatedBytesPerCall()));
+    result.put("maxAllocated", resources.getMaxAllocatedBytes());
+    result.put("cpu", millis(resources.getCpuNanos()));
+    result.put("cpuPerCall", millis(resources.getCpuNanosPerCall()));
+    result.put("maxCpu", millis(resources.getMaxCpuNanos()));
+    return result;
+  }
+
+  private static double millis(double nanos) {
+    return nanos / 1e6;
+  }
+}
@@ -0,0 +1,89 @@
+package top.werls.springboottemplate.common.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * 各接口的内存分配与 CPU 统计，首次调用时创建并发布 Micrometer 指标：
+ *
+ * <ul>
+ *   <li>{@code endpoint.allocated}：累计分配字节数</li>
+ *   <li>{@code endpoint.cpu}：累计 CPU 时间，单位秒</li>
+ * </ul>
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+public class ResourceRegistry {
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<Method, EndpointResources> byMethod = new ConcurrentHashMap<>();
+
+  private final Map<String, EndpointResources> byName = new ConcurrentHashMap<>();
+
+  public ResourceRegistry(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * 获取或创建方法对应的统计
+   *
+   * @param method 接口方法
+   * @return 统计
+   */
+  public EndpointResources get(Method method) {
+    EndpointResources resources = byMethod.get(method);
+    if (resources != null) {
+      return resources;
+    }
+    return byMethod.computeIfAbsent(
+        method,
+        m ->
+            byName.computeIfAbsent(
+                m.getDeclaringClass().getSimpleName() + "." + m.getName(), this::create));
+  }
+
+  public EndpointResources get(String name) {
+    return byName.get(name);
+  }
+
+  public Collection<EndpointResources> getAll() {
+    return byName.values();
+  }
+
+  /**
+   * 按指定顺序取前 N 个接口
+   *
+   * @param order 排序，从大到小
+   * @param limit 数量
+   * @return 接口统计
+   */
+  public List<EndpointResources> top(Comparator<EndpointResources> order, int limit) {
+    return byName.values().stream().sorted(order.reversed()).limit(limit).toList();
+  }
+
+  private EndpointResources create(String name) {
+    EndpointResources resources = new EndpointResources(name);
+    FunctionCounter.builder("endpoint.allocated", resources, EndpointResources::getAllocatedBytes)
+        .tag("endpoint", name)
+        .baseUnit("bytes")
+        .description("接口累计分配的堆内存")
+        .register(meterRegistry);
+    FunctionCounter.builder("endpoint.cpu", resources, r -> r.getCpuNanos() / 1e9)
+        .tag("endpoint", name)
+        .baseUnit("seconds")
+        .description("接口累计消耗的 CPU 时间")
+        .register(meterRegistry);
+    return resources;
+  }
+}
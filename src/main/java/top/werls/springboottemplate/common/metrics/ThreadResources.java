@@ -0,0 +1,83 @@
+package top.werls.springboottemplate.common.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 当前线程的内存分配量与 CPU 时间。
+ *
+ * <p>基于 {@link com.sun.management.ThreadMXBean}，只对平台线程有效：虚拟线程会在不同的载体线程间迁移，JDK 对虚拟线程返回
+ * -1，虚拟线程的开销由 {@link VirtualThreadSampler} 通过 JFR 采样估算。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class ThreadResources {
+
+  private static final com.sun.management.ThreadMXBean ALLOCATION;
+
+  private static final ThreadMXBean CPU;
+
+  static {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    ALLOCATION = enableAllocation(bean);
+    CPU = enableCpu(bean);
+  }
+
+  private ThreadResources() {}
+
+  private static com.sun.management.ThreadMXBean enableAllocation(ThreadMXBean bean) {
+    if (!(bean instanceof com.sun.management.ThreadMXBean sun)
+        || !sun.isThreadAllocatedMemorySupported()) {
+      return null;
+    }
+    try {
+      sun.setThreadAllocatedMemoryEnabled(true);
+      return sun;
+    } catch (UnsupportedOperationException | SecurityException e) {
+      return null;
+    }
+  }
+
+  private static ThreadMXBean enableCpu(ThreadMXBean bean) {
+    if (!bean.isCurrentThreadCpuTimeSupported()) {
+      return null;
+    }
+    try {
+      bean.setThreadCpuTimeEnabled(true);
+      return bean;
+    } catch (UnsupportedOperationException | SecurityException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 当前线程累计分配的字节数
+   *
+   * @return 不支持或当前是虚拟线程时返回 -1
+   */
+  public static long allocatedBytes() {
+    return ALLOCATION == null ? -1 : ALLOCATION.getCurrentThreadAllocatedBytes();
+  }
+
+  /**
+   * 当前线程累计消耗的 CPU 时间（用户态 + 内核态）
+   *
+   * @return 纳秒，不支持或当前是虚拟线程时返回 -1
+   */
+  public static long cpuTime() {
+    return CPU == null ? -1 : CPU.getCurrentThreadCpuTime();
+  }
+
+  /**
+   * 两次读数之差，任一读数无效时返回 -1
+   *
+   * @param start 开始时的读数
+   * @param end 结束时的读数
+   * @return 差值
+   */
+  public static long since(long start, long end) {
+    return start < 0 || end < 0 ? -1 : Math.max(0, end - start);
+  }
+}
@@ -0,0 +1,108 @@
+package top.werls.springboottemplate.common.metrics;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 把按线程记录的 JFR 采样归属到同一线程上的接口调用。
+ *
+ * <p>每个线程的采样按时间缓存，收到一次调用（线程、开始与结束时间）时取出落在调用区间内的采样求和，并丢弃结束时间之前的全部采样。
+ * 依赖事件按结束时间有序到达（{@link jdk.jfr.consumer.RecordingStream} 的默认行为）：调用区间内的采样总是先于调用事件本身。
+ * 不在任何调用内的采样由 {@link #prune(long)} 定期清理。
+ *
+ * <p>非线程安全，只由 JFR 事件流的线程访问。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+final class ThreadSampleJoiner {
+
+  /** 单个线程最多缓存的采样数，超出时丢弃最早的采样 */
+  static final int MAX_SAMPLES_PER_THREAD = 4096;
+
+  private final Map<Long, ArrayDeque<long[]>> samples = new HashMap<>();
+
+  /**
+   * 一次内存分配采样
+   *
+   * @param threadId 线程 ID
+   * @param time 采样时间，纳秒
+   * @param bytes 采样代表的分配字节数（JFR 的 weight）
+   */
+  void allocation(long threadId, long time, long bytes) {
+    add(threadId, time, bytes, 0);
+  }
+
+  /**
+   * 一次执行采样
+   *
+   * @param threadId 线程 ID
+   * @param time 采样时间，纳秒
+   * @param periodNanos 采样周期，视为该线程在这段时间内一直占用 CPU
+   */
+  void execution(long threadId, long time, long periodNanos) {
+    add(threadId, time, 0, periodNanos);
+  }
+
+  private void add(long threadId, long time, long bytes, long cpu) {
+    ArrayDeque<long[]> queue = samples.computeIfAbsent(threadId, k -> new ArrayDeque<>());
+    if (queue.size() >= MAX_SAMPLES_PER_THREAD) {
+      queue.pollFirst();
+    }
+    queue.addLast(new long[] {time, bytes, cpu});
+  }
+
+  /**
+   * 一次接口调用，返回调用期间的采样之和
+   *
+   * @param threadId 线程 ID
+   * @param start 开始时间，纳秒
+   * @param end 结束时间，纳秒
+   * @return {分配字节数, CPU 纳秒}
+   */
+  long[] invocation(long threadId, long start, long end) {
+    long[] result = new long[2];
+    ArrayDeque<long[]> queue = samples.get(threadId);
+    if (queue == null) {
+      return result;
+    }
+    long[] sample;
+    while ((sample = queue.peekFirst()) != null && sample[0] <= end) {
+      queue.pollFirst();
+      if (sample[0] >= start) {
+        result[0] += sample[1];
+        result[1] += sample[2];
+      }
+    }
+    if (queue.isEmpty()) {
+      samples.remove(threadId);
+    }
+    return result;
+  }
+
+  /**
+   * 丢弃指定时间之前的采样
+   *
+   * @param before 时间，纳秒
+   */
+  void prune(long before) {
+    Iterator<ArrayDeque<long[]>> iterator = samples.values().iterator();
+    while (iterator.hasNext()) {
+      ArrayDeque<long[]> queue = iterator.next();
+      while (!queue.isEmpty() && queue.peekFirst()[0] < before) {
+        queue.pollFirst();
+      }
+      if (queue.isEmpty()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /** 当前缓存的线程数 */
+  int threads() {
+    return samples.size();
+  }
+}
@@ -0,0 +1,123 @@
+package top.werls.springboottemplate.common.metrics;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.jfr.ControllerInvocationEvent;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 估算虚拟线程上接口调用的内存分配与 CPU 时间。
+ *
+ * <p>虚拟线程不支持 {@link ThreadResources} 的逐线程计量，这里改用 JFR 事件流：{@code jdk.ObjectAllocationSample}
+ * 的 weight 是该采样代表的分配字节数，{@code jdk.ExecutionSample} 每个采样代表一个采样周期的 CPU 时间，JFR 记录的都是虚拟线程本身
+ * 而不是载体线程。事件流中的 {@link ControllerInvocationEvent} 给出每次调用的线程与起止时间，由 {@link ThreadSampleJoiner}
+ * 把区间内的采样归属到对应接口。结果是统计估计值，调用次数越多越准确。
+ *
+ * <p>JFR 不可用（例如 native image）时只记录调用次数。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class VirtualThreadSampler {
+
+  private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+  private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+  /** 分配采样的频率上限，weight 会按实际采样率放大 */
+  private static final String ALLOCATION_THROTTLE = "300/s";
+
+  /** 不属于任何调用的采样保留时间 */
+  private static final Duration RETENTION = Duration.ofMinutes(1);
+
+  private final ResourceRegistry registry;
+
+  private final ThreadSampleJoiner joiner = new ThreadSampleJoiner();
+
+  private final long periodNanos;
+
+  private final RecordingStream stream;
+
+  public VirtualThreadSampler(ResourceRegistry registry, ConfigProperties configProperties) {
+    ConfigProperties.LatencyProperties properties = configProperties.getLatency();
+    this.registry = registry;
+    this.periodNanos = properties.getCpuSamplePeriod().toNanos();
+    this.stream =
+        properties.isResourceAccounting() && properties.isVirtualThreadSampling()
+            ? start(properties.getCpuSamplePeriod())
+            : null;
+  }
+
+  private RecordingStream start(Duration period) {
+    try {
+      RecordingStream created = new RecordingStream();
+      created.setMaxAge(Duration.ofSeconds(30));
+      created.enable(ControllerInvocationEvent.class).withThreshold(Duration.ZERO);
+      created.enable(ALLOCATION_SAMPLE).with("throttle", ALLOCATION_THROTTLE);
+      created.enable(EXECUTION_SAMPLE).withPeriod(period);
+      created.onEvent(ALLOCATION_SAMPLE, this::onAllocation);
+      created.onEvent(EXECUTION_SAMPLE, this::onExecution);
+      created.onEvent(ControllerInvocationEvent.NAME, this::onInvocation);
+      created.onFlush(() -> joiner.prune(nanos(Instant.now().minus(RETENTION))));
+      created.startAsync();
+      return created;
+    } catch (RuntimeException e) {
+      log.warn("JFR 不可用，虚拟线程上的接口不统计内存分配与 CPU: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private void onAllocation(RecordedEvent event) {
+    RecordedThread thread = event.getThread();
+    if (thread != null && thread.isVirtual()) {
+      joiner.allocation(
+          thread.getJavaThreadId(), nanos(event.getStartTime()), event.getLong("weight"));
+    }
+  }
+
+  private void onExecution(RecordedEvent event) {
+    RecordedThread thread = event.getThread("sampledThread");
+    if (thread != null && thread.isVirtual()) {
+      joiner.execution(thread.getJavaThreadId(), nanos(event.getStartTime()), periodNanos);
+    }
+  }
+
+  private void onInvocation(RecordedEvent event) {
+    RecordedThread thread = event.getThread();
+    if (thread == null || !thread.isVirtual()) {
+      return;
+    }
+    long[] usage =
+        joiner.invocation(
+            thread.getJavaThreadId(), nanos(event.getStartTime()), nanos(event.getEndTime()));
+    EndpointResources resources = registry.get(event.getString("endpoint"));
+    if (resources != null) {
+      resources.recordSampled(usage[0], usage[1]);
+    }
+  }
+
+  private static long nanos(Instant instant) {
+    return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+  }
+
+  /** 是否正在采样 */
+  public boolean isActive() {
+    return stream != null;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (stream != null) {
+      stream.close();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package top.werls.springboottemplate.common.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 字符串 Bloom filter，只增不删，线程安全。
+ *
+ * <p>按预期元素数 {@code n} 与误判率 {@code p} 计算位数 {@code m = -n·ln p / (ln 2)²} 与探测次数 {@code k = m/n·ln 2}。
+ * 探测位置用双重哈希 {@code h1 + i·h2} 生成，每个元素只计算一次 64 位哈希；置位用 CAS，查询只读 {@code k} 个 long。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bits;
+  private final int probes;
+
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    long n = Math.max(1, expectedInsertions);
+    double ln2 = Math.log(2);
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+    int words = (int) Math.min(Integer.MAX_VALUE - 8, (Math.max(64, m) + 63) >>> 6);
+    this.words = new AtomicLongArray(words);
+    this.bits = (long) words << 6;
+    this.probes = Math.max(1, (int) Math.round((double) bits / n * ln2));
+  }
+
+  public void put(String value) {
+    long h1 = hash(value);
+    long h2 = mix(h1) | 1;
+    for (int i = 0; i < probes; i++) {
+      long index = Long.remainderUnsigned(h1 + i * h2, bits);
+      int word = (int) (index >>> 6);
+      long mask = 1L << index;
+      long current = words.get(word);
+      while ((current & mask) == 0 && !words.weakCompareAndSetVolatile(word, current, current | mask)) {
+        current = words.get(word);
+      }
+    }
+  }
+
+  /**
+   * @param value 元素
+   * @return false 表示一定不存在；true 表示可能存在
+   */
+  public boolean mightContain(String value) {
+    long h1 = hash(value);
+    long h2 = mix(h1) | 1;
+    for (int i = 0; i < probes; i++) {
+      long index = Long.remainderUnsigned(h1 + i * h2, bits);
+      if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long bitSize() {
+    return bits;
+  }
+
+  public int probes() {
+    return probes;
+  }
+
+  /** FNV-1a 后再做一次 murmur3 finalizer，使高低位都均匀 */
+  private static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      h = (h ^ value.charAt(i)) * 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,246 @@
+package top.werls.springboottemplate.common.revocation;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.utils.JwtTokenUtils;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * JWT 吊销列表，按 jti 吊销，用于登出。
+ *
+ * <p>查询先过 {@link BloomFilter}：绝大多数 token 未被吊销，只需 {@code k} 次位探测即可返回；Bloom filter 命中时再查精确集合，
+ * 排除误判。精确集合保存 jti 与 token 的 exp，exp 之后 token 本身已经无法通过验签，条目在下一次维护时删除。 Bloom filter
+ * 不能删除元素，维护时若有条目过期或插入数超过预期容量，就用剩余条目重建，重建期间查询继续使用旧的 filter。
+ *
+ * <p>吊销与重建互斥，查询不加锁。 配置了 {@code snapshot-file} 时，维护线程把有变化的精确集合整体写入快照（先写临时文件再原子替换），
+ * 启动时加载未过期的条目，重启后已吊销的 token 仍然无效。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class RevocationService implements JwtTokenUtils.JwtInfoVerifyJti {
+
+  /** 快照文件头 "JTIR" */
+  private static final int SNAPSHOT_MAGIC = 0x4a544952;
+  private static final int SNAPSHOT_VERSION = 1;
+
+  private final ConfigProperties.RevocationProperties properties;
+  private final Consumer<String> onRevoked;
+  private final LongSupplier clock;
+
+  /** jti -> exp（毫秒） */
+  private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+  private volatile BloomFilter filter;
+
+  /** 当前 filter 的预期容量与已插入数，受 this 保护 */
+  private long filterCapacity;
+  private long filterInsertions;
+
+  private volatile boolean dirty;
+
+  private final ScheduledExecutorService maintenance;
+
+  @Autowired
+  public RevocationService(ConfigProperties configProperties, JwtTokenUtils tokenUtils) {
+    this(configProperties.getJwt().getRevocation(), tokenUtils::revoked, System::currentTimeMillis,
+        true);
+  }
+
+  RevocationService(ConfigProperties.RevocationProperties properties, Consumer<String> onRevoked,
+      LongSupplier clock, boolean schedule) {
+    this.properties = properties;
+    this.onRevoked = onRevoked;
+    this.clock = clock;
+    load();
+    synchronized (this) {
+      rebuild();
+    }
+    this.maintenance = schedule ? startMaintenance() : null;
+  }
+
+  /**
+   * jti 是否已被吊销
+   *
+   * @param jti JWT 唯一标识，为空时视为未吊销
+   * @return 已吊销返回 true
+   */
+  public boolean isRevoked(String jti) {
+    if (jti == null || !filter.mightContain(jti)) {
+      return false;
+    }
+    return revoked.containsKey(jti);
+  }
+
+  @Override
+  public boolean verifyJti(String jti) {
+    return !isRevoked(jti);
+  }
+
+  /**
+   * 吊销 jti，并通知已验签缓存移除对应 token
+   *
+   * @param jti JWT 唯一标识
+   * @param expiresAt token 的 exp（毫秒），没有 exp 的 token 传 {@link Long#MAX_VALUE}
+   */
+  public void revoke(String jti, long expiresAt) {
+    if (jti == null || expiresAt <= clock.getAsLong()) {
+      return;
+    }
+    synchronized (this) {
+      // 先写精确集合再置位，查询在 filter 命中时一定能查到
+      if (revoked.put(jti, expiresAt) == null) {
+        filter.put(jti);
+        filterInsertions++;
+      }
+      dirty = true;
+    }
+    onRevoked.accept(jti);
+  }
+
+  /** 删除已过期的条目，必要时重建 Bloom filter */
+  synchronized void purge() {
+    long now = clock.getAsLong();
+    int before = revoked.size();
+    revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    boolean removed = revoked.size() != before;
+    if (removed) {
+      dirty = true;
+    }
+    if (removed || filterInsertions > filterCapacity) {
+      rebuild();
+    }
+  }
+
+  /** 按剩余条目重建 filter，容量至少为剩余条目数的两倍 */
+  private void rebuild() {
+    long capacity = Math.max(properties.getExpectedRevocations(), revoked.size() * 2L);
+    BloomFilter next = new BloomFilter(capacity, properties.getFalsePositiveRate());
+    revoked.keySet().forEach(next::put);
+    filterCapacity = capacity;
+    filterInsertions = revoked.size();
+    filter = next;
+  }
+
+  public int size() {
+    return revoked.size();
+  }
+
+  /**
+   * 有变化时把精确集合写入快照文件
+   *
+   * @throws IOException 写入失败
+   */
+  void snapshot() throws IOException {
+    if (!dirty || StringUtils.isBlank(properties.getSnapshotFile())) {
+      return;
+    }
+    dirty = false;
+    List<Map.Entry<String, Long>> entries = new ArrayList<>(revoked.entrySet());
+    Path target = Path.of(properties.getSnapshotFile()).toAbsolutePath();
+    Files.createDirectories(target.getParent());
+    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.writeInt(SNAPSHOT_VERSION);
+      out.writeInt(entries.size());
+      for (Map.Entry<String, Long> entry : entries) {
+        out.writeUTF(entry.getKey());
+        out.writeLong(entry.getValue());
+      }
+    } catch (IOException e) {
+      dirty = true;
+      throw e;
+    }
+    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /** 加载快照，跳过已过期的条目；快照损坏时记录日志并以空集合启动 */
+  private void load() {
+    if (StringUtils.isBlank(properties.getSnapshotFile())) {
+      return;
+    }
+    Path file = Path.of(properties.getSnapshotFile());
+    if (!Files.exists(file)) {
+      return;
+    }
+    long now = clock.getAsLong();
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+        log.warn("吊销快照格式不正确，忽略: {}", file);
+        return;
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        String jti = in.readUTF();
+        long expiresAt = in.readLong();
+        if (expiresAt > now) {
+          revoked.put(jti, expiresAt);
+        }
+      }
+      log.info("已加载吊销快照: {} 条，有效 {} 条", count, revoked.size());
+    } catch (IOException e) {
+      revoked.clear();
+      log.warn("读取吊销快照失败，忽略: {}", e.getMessage());
+    }
+  }
+
+  private ScheduledExecutorService startMaintenance() {
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "jti-revocation");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = properties.getMaintenanceInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  private void maintain() {
+    try {
+      purge();
+      snapshot();
+    } catch (Exception e) {
+      log.error("吊销列表维护失败: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (maintenance != null) {
+      maintenance.shutdownNow();
+    }
+    try {
+      snapshot();
+    } catch (IOException e) {
+      log.error("写入吊销快照失败: {}", e.getMessage());
+    }
+  }
+}
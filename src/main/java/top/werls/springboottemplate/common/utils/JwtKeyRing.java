@@ -0,0 +1,261 @@
+package top.werls.springboottemplate.common.utils;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import top.werls.springboottemplate.common.utils.crypto.asymmetric.PemKeys;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 按 kid 索引的 JWT 密钥环。
+ *
+ * <p>签发的 token 在头部写入当前签名密钥的 kid，验签时作为解析器的 key locator 按 kid 直接取公钥，只有一次 map 查找，不会逐个尝试密钥。
+ * 配置中的 {@code privateKey}/{@code publicKey} 始终以 {@code default-kid} 加入密钥环，不带 kid 的旧 token 也用它验签。
+ *
+ * <p>配置了 {@code env.jwt.keys.directory} 时，目录中的密钥按文件名加入：
+ *
+ * <ul>
+ *   <li>{@code <kid>.public.pem}：验签公钥</li>
+ *   <li>{@code <kid>.private.pem}：签名私钥，只有当前签名的 kid 需要</li>
+ *   <li>{@code active}：当前签名使用的 kid，不存在时使用配置中的密钥签名</li>
+ * </ul>
+ *
+ * <p>后台线程定期检查目录，文件有变化时整体重新加载并替换快照。轮换密钥时先放入新的密钥对再修改 {@code active}，旧 kid 的公钥保留到其签发的
+ * token 全部过期后再删除，已登录用户不受影响。加载失败时保留原来的快照。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+public class JwtKeyRing extends LocatorAdapter<Key> implements AutoCloseable {
+
+  static final String PUBLIC_SUFFIX = ".public.pem";
+  static final String PRIVATE_SUFFIX = ".private.pem";
+  static final String ACTIVE_FILE = "active";
+
+  private final ConfigProperties.JwtProperties properties;
+  private final String defaultKid;
+  private final SignatureAlgorithm defaultAlgorithm;
+
+  /** 密钥变化（有 kid 被删除或替换）时的回调，用于清空已验签缓存 */
+  private final Runnable onKeysRemoved;
+
+  private volatile Snapshot snapshot;
+
+  /** 上次加载时目录中文件的修改时间与大小 */
+  private Map<String, String> fingerprint = Map.of();
+
+  private final ScheduledExecutorService watcher;
+
+  public JwtKeyRing(ConfigProperties.JwtProperties properties, Runnable onKeysRemoved) {
+    this.properties = properties;
+    this.defaultKid = properties.getKeys().getDefaultKid();
+    this.defaultAlgorithm =
+        switch (properties.getAlgorithm()) {
+          case RS256 -> Jwts.SIG.RS256;
+          case ES256 -> Jwts.SIG.ES256;
+          case ED25519 -> Jwts.SIG.EdDSA;
+        };
+    this.onKeysRemoved = onKeysRemoved;
+    this.snapshot = defaultSnapshot();
+    if (StringUtils.isNotBlank(properties.getKeys().getDirectory())) {
+      checkDirectory();
+      this.watcher = startWatcher();
+    } else {
+      this.watcher = null;
+    }
+  }
+
+  /** 当前签名使用的 kid */
+  public String activeKid() {
+    return snapshot.activeKid;
+  }
+
+  /**
+   * 头部带当前 kid、并已设置对应签名私钥的 builder；只读取一次快照，轮换期间 kid 与私钥不会错配
+   *
+   * @return JWT builder
+   */
+  public JwtBuilder newBuilder() {
+    Snapshot current = this.snapshot;
+    return Jwts.builder()
+        .header()
+        .keyId(current.activeKid)
+        .and()
+        .signWith(current.signingKey, current.algorithm);
+  }
+
+  /**
+   * 密钥环中的全部 kid
+   *
+   * @return kid 集合
+   */
+  public Set<String> kids() {
+    return snapshot.verificationKeys.keySet();
+  }
+
+  @Override
+  protected Key locate(JwsHeader header) {
+    String kid = header.getKeyId();
+    Key key = snapshot.verificationKeys.get(kid == null ? defaultKid : kid);
+    if (key == null) {
+      // 按签名错误处理：token 不是用本服务当前认可的密钥签发的
+      throw new SecurityException("unknown kid: " + kid);
+    }
+    return key;
+  }
+
+  /** 立即重新加载密钥目录 */
+  public synchronized void reload() {
+    fingerprint = Map.of();
+    checkDirectory();
+  }
+
+  private synchronized void checkDirectory() {
+    Path directory = Path.of(properties.getKeys().getDirectory());
+    try {
+      Map<String, String> current = fingerprint(directory);
+      if (current.equals(fingerprint)) {
+        return;
+      }
+      Snapshot next = load(directory);
+      Snapshot previous = this.snapshot;
+      this.snapshot = next;
+      this.fingerprint = current;
+      log.info("JWT 密钥已加载: active={}, kids={}", next.activeKid, next.verificationKeys.keySet());
+      if (removedOrReplaced(previous, next)) {
+        onKeysRemoved.run();
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("加载 JWT 密钥目录失败，继续使用原有密钥: {}", e.getMessage());
+    }
+  }
+
+  private Snapshot defaultSnapshot() {
+    return new Snapshot(
+        defaultKid,
+        properties.getPrivateKey(),
+        defaultAlgorithm,
+        Map.of(defaultKid, properties.getPublicKey()));
+  }
+
+  private Snapshot load(Path directory) throws IOException {
+    Map<String, PublicKey> keys = new HashMap<>();
+    keys.put(defaultKid, properties.getPublicKey());
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(PUBLIC_SUFFIX)) {
+          String kid = name.substring(0, name.length() - PUBLIC_SUFFIX.length());
+          keys.put(kid, PemKeys.readPublicKey(Files.readString(file)));
+        }
+      }
+    }
+    Path active = directory.resolve(ACTIVE_FILE);
+    if (!Files.exists(active)) {
+      Snapshot fallback = defaultSnapshot();
+      return new Snapshot(fallback.activeKid, fallback.signingKey, fallback.algorithm,
+          Map.copyOf(keys));
+    }
+    String kid = Files.readString(active).strip();
+    if (!keys.containsKey(kid)) {
+      throw new IllegalStateException("active kid 没有对应的公钥: " + kid);
+    }
+    if (defaultKid.equals(kid)) {
+      return new Snapshot(kid, properties.getPrivateKey(), defaultAlgorithm, Map.copyOf(keys));
+    }
+    PrivateKey privateKey =
+        PemKeys.readPrivateKey(Files.readString(directory.resolve(kid + PRIVATE_SUFFIX)));
+    Snapshot next = new Snapshot(kid, privateKey, algorithm(privateKey), Map.copyOf(keys));
+    // 私钥与公钥不匹配时在这里失败，保留原来的快照
+    String probe = Jwts.builder().subject("probe").signWith(privateKey, next.algorithm).compact();
+    Jwts.parser().verifyWith(keys.get(kid)).build().parseSignedClaims(probe);
+    return next;
+  }
+
+  /** 目录中密钥的算法由密钥类型决定，EC 密钥按曲线选择 ES256/ES384/ES512 */
+  static SignatureAlgorithm algorithm(PrivateKey key) {
+    if (key instanceof ECPrivateKey ec) {
+      return switch (ec.getParams().getCurve().getField().getFieldSize()) {
+        case 256 -> Jwts.SIG.ES256;
+        case 384 -> Jwts.SIG.ES384;
+        case 521 -> Jwts.SIG.ES512;
+        default -> throw new IllegalArgumentException("unsupported EC curve: " + ec.getParams());
+      };
+    }
+    return switch (key.getAlgorithm()) {
+      case "RSA" -> Jwts.SIG.RS256;
+      case "EdDSA", "Ed25519" -> Jwts.SIG.EdDSA;
+      default -> throw new IllegalArgumentException("unsupported key: " + key.getAlgorithm());
+    };
+  }
+
+  private static boolean removedOrReplaced(Snapshot previous, Snapshot next) {
+    for (Map.Entry<String, PublicKey> entry : previous.verificationKeys.entrySet()) {
+      if (!entry.getValue().equals(next.verificationKeys.get(entry.getKey()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Map<String, String> fingerprint(Path directory) throws IOException {
+    Map<String, String> result = new TreeMap<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        result.put(
+            file.getFileName().toString(),
+            Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file));
+      }
+    }
+    return result;
+  }
+
+  private ScheduledExecutorService startWatcher() {
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "jwt-key-reload");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = properties.getKeys().getReloadInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::checkDirectory, interval, interval, TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  @Override
+  public void close() {
+    if (watcher != null) {
+      watcher.shutdownNow();
+    }
+  }
+
+  /** 某一时刻的签名密钥与验签公钥 */
+  private record Snapshot(
+      String activeKid,
+      PrivateKey signingKey,
+      SignatureAlgorithm algorithm,
+      Map<String, PublicKey> verificationKeys) {}
+}
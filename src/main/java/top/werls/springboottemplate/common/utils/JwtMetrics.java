@@ -0,0 +1,200 @@
+package top.werls.springboottemplate.common.utils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 认证开销的 Micrometer 指标：
+ *
+ * <ul>
+ *   <li>{@code jwt.parse}：{@link JwtTokenUtils#getClaimsFromToken(String)} 的整体耗时，tag {@code cache} 为 hit/miss</li>
+ *   <li>{@code jwt.verify}：未命中缓存时解析与验签的耗时，tag {@code outcome} 为验签结果</li>
+ *   <li>{@code jwt.authentication}：过滤器中一次 JWT 认证的耗时，tag {@code outcome} 为最终结果，包括吊销</li>
+ *   <li>{@code jwt.internal.authentication}：服务间调用 HMAC token 的认证耗时，tag {@code outcome}</li>
+ *   <li>{@code jwt.cache.gets}、{@code jwt.cache.size}、{@code jwt.cache.hit.ratio}：已验签缓存的命中情况</li>
+ * </ul>
+ *
+ * <p>所有 tag 都取自固定的枚举值，不包含用户名、jti 等请求相关的内容。各计时器启动时全部注册，未出现的结果也会以 0 发布。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class JwtMetrics {
+
+  /** 认证结果，作为指标 tag */
+  public enum Outcome {
+    OK,
+    EXPIRED,
+    BAD_SIGNATURE,
+    MALFORMED,
+    REVOKED,
+    /** 验签通过但账户不可用或缺少用户名 */
+    REJECTED;
+
+    public String tag() {
+      return name().toLowerCase();
+    }
+
+    /**
+     * 按异常类型归类验签失败的原因
+     *
+     * @param e 解析或验签抛出的异常
+     * @return 失败原因
+     */
+    public static Outcome of(RuntimeException e) {
+      if (e instanceof ExpiredJwtException) {
+        return EXPIRED;
+      }
+      // 签名不匹配、kid 未知（见 JwtKeyRing）与密钥不匹配都是 SecurityException
+      if (e instanceof SecurityException) {
+        return BAD_SIGNATURE;
+      }
+      return MALFORMED;
+    }
+  }
+
+  private final MeterRegistry meterRegistry;
+
+  private final Timer parseHit;
+  private final Timer parseMiss;
+  private final Map<Outcome, Timer> verify = new EnumMap<>(Outcome.class);
+  private final Map<Outcome, Timer> authentication = new EnumMap<>(Outcome.class);
+  private final Map<Outcome, Timer> internal = new EnumMap<>(Outcome.class);
+
+  private VerifiedTokenCache cache;
+
+  public JwtMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.parseHit = parseTimer("hit");
+    this.parseMiss = parseTimer("miss");
+    for (Outcome outcome : Outcome.values()) {
+      if (outcome != Outcome.REVOKED && outcome != Outcome.REJECTED) {
+        internal.put(
+            outcome,
+            Timer.builder("jwt.internal.authentication")
+                .tag("outcome", outcome.tag())
+                .description("过滤器中内部调用 token 认证耗时")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        verify.put(
+            outcome,
+            Timer.builder("jwt.verify")
+                .tag("outcome", outcome.tag())
+                .description("JWT 解析与验签耗时（未命中缓存）")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+      }
+      authentication.put(
+          outcome,
+          Timer.builder("jwt.authentication")
+              .tag("outcome", outcome.tag())
+              .description("过滤器中 JWT 认证耗时")
+              .publishPercentileHistogram()
+              .register(meterRegistry));
+    }
+  }
+
+  private Timer parseTimer(String cache) {
+    return Timer.builder("jwt.parse")
+        .tag("cache", cache)
+        .description("获取 JWT claims 的耗时，包括缓存查找")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  /**
+   * 注册已验签缓存的指标
+   *
+   * @param cache 已验签缓存
+   */
+  void bindCache(VerifiedTokenCache cache) {
+    this.cache = cache;
+    FunctionCounter.builder("jwt.cache.gets", cache, VerifiedTokenCache::hits)
+        .tag("result", "hit")
+        .description("已验签缓存查找次数")
+        .register(meterRegistry);
+    FunctionCounter.builder("jwt.cache.gets", cache, VerifiedTokenCache::misses)
+        .tag("result", "miss")
+        .description("已验签缓存查找次数")
+        .register(meterRegistry);
+    Gauge.builder("jwt.cache.size", cache, VerifiedTokenCache::size)
+        .description("已验签缓存条目数")
+        .register(meterRegistry);
+    Gauge.builder("jwt.cache.hit.ratio", cache, VerifiedTokenCache::hitRatio)
+        .description("已验签缓存命中率")
+        .register(meterRegistry);
+  }
+
+  void recordParse(boolean cached, long nanos) {
+    (cached ? parseHit : parseMiss).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  void recordVerify(Outcome outcome, long nanos) {
+    verify.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 记录一次过滤器中的 JWT 认证
+   *
+   * @param outcome 认证结果
+   * @param nanos 耗时，纳秒
+   */
+  public void recordAuthentication(Outcome outcome, long nanos) {
+    authentication.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 记录一次过滤器中的内部调用 token 认证
+   *
+   * @param outcome 认证结果，不会是 {@link Outcome#REVOKED} 或 {@link Outcome#REJECTED}
+   * @param nanos 耗时，纳秒
+   */
+  public void recordInternalAuthentication(Outcome outcome, long nanos) {
+    internal.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 汇总当前指标，供 actuator {@code jwt} 端点使用
+   *
+   * @return 指标快照
+   */
+  public Map<String, Object> snapshot() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("authentication", summary(authentication));
+    result.put("internal", summary(internal));
+    result.put("verify", summary(verify));
+    result.put("parse", Map.of("hit", summary(parseHit), "miss", summary(parseMiss)));
+    if (cache != null) {
+      Map<String, Object> cacheStats = new LinkedHashMap<>();
+      cacheStats.put("size", cache.size());
+      cacheStats.put("hits", cache.hits());
+      cacheStats.put("misses", cache.misses());
+      cacheStats.put("hitRatio", cache.hitRatio());
+      result.put("cache", cacheStats);
+    }
+    return result;
+  }
+
+  private static Map<String, Object> summary(Map<Outcome, Timer> timers) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    timers.forEach((outcome, timer) -> result.put(outcome.tag(), summary(timer)));
+    return result;
+  }
+
+  private static Map<String, Object> summary(Timer timer) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("count", timer.count());
+    result.put("meanMicros", timer.mean(TimeUnit.MICROSECONDS));
+    result.put("maxMicros", timer.max(TimeUnit.MICROSECONDS));
+    return result;
+  }
+}
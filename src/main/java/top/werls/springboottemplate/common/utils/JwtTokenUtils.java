@@ -2,20 +2,39 @@ package top.werls.springboottemplate.common.utils;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.gson.io.GsonDeserializer;
+import io.jsonwebtoken.io.Deserializer;
+import io.jsonwebtoken.security.MacAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.nio.ByteBuffer;
 import java.util.Base64;
+import java.util.Collection;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.jfr.JwtVerifyEvent;
 import top.werls.springboottemplate.config.ConfigProperties;
+import top.werls.springboottemplate.config.JwtClaimsProfile;
+import top.werls.springboottemplate.config.JwtHmacAlgorithm;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -28,15 +47,156 @@ public class JwtTokenUtils {
 
   private static final String CLAIM_KEY_USERNAME = "username";
   private static final String CLAIM_KEY_TIME = "time";
+  private static final String INTERNAL_AUTHORITIES = "auth";
+  /** 解析 JOSE 头部，与 jjwt 解析 token 使用同一个 JSON 实现 */
+  private static final Deserializer<Object> HEADER_DESERIALIZER = new GsonDeserializer<>();
   private final ConfigProperties configProperties;
 
   /**
-   * 通过构造函数注入配置，确保依赖在创建时即被满足。
+   * 为 true 时按 {@link JwtClaimsProfile#COMPACT} 签发，读取时两种格式都支持。
+   */
+  private final boolean compact;
+
+  /**
+   * 验签用的解析器，不可变且线程安全，只在创建时构建一次；公钥由密钥环按 token 头部的 kid 提供。
+   */
+  private final JwtParser parser;
+
+  /**
+   * 签名与验签密钥，见 {@link JwtKeyRing}。
+   */
+  private final JwtKeyRing keyRing;
+
+  /**
+   * 已验签 token 的缓存，未启用时为 null。
+   */
+  private final VerifiedTokenCache verifiedCache;
+
+  /**
+   * 解析、验签耗时与缓存命中率指标，见 {@link JwtMetrics}。
+   */
+  private final JwtMetrics metrics;
+
+  /**
+   * 内部调用 token 的密钥、算法与解析器，未启用 {@code env.jwt.internal} 时均为 null。
+   */
+  private final SecretKey internalKey;
+
+  private final MacAlgorithm internalAlgorithm;
+
+  private final JwtParser internalParser;
+
+  /**
+   * 不发布指标，供测试与基准使用。
    *
    * @param config JWT 相关配置项
    */
   public JwtTokenUtils(ConfigProperties config) {
+    this(config, new SimpleMeterRegistry());
+  }
+
+  /**
+   * 通过构造函数注入配置，确保依赖在创建时即被满足。
+   *
+   * @param config JWT 相关配置项
+   * @param meterRegistry 指标注册表
+   */
+  @Autowired
+  public JwtTokenUtils(ConfigProperties config, MeterRegistry meterRegistry) {
     this.configProperties = config;
+    this.compact = config.getJwt().getClaimsProfile() == JwtClaimsProfile.COMPACT;
+    this.metrics = new JwtMetrics(meterRegistry);
+    ConfigProperties.JwtCacheProperties cache = config.getJwt().getCache();
+    this.verifiedCache =
+        cache.isEnabled() ? new VerifiedTokenCache(cache.getMaximumSize(), cache.getTtl()) : null;
+    if (verifiedCache != null) {
+      metrics.bindCache(verifiedCache);
+    }
+    // 公钥被删除或替换后，用它验签过的缓存结果不能再使用
+    this.keyRing =
+        new JwtKeyRing(config.getJwt(), () -> {
+          if (verifiedCache != null) {
+            verifiedCache.clear();
+          }
+        });
+    this.parser =
+        Jwts.parser()
+            .keyLocator(keyRing)
+            .clockSkewSeconds(30) // 允许 30 秒的时间偏差
+            .build();
+    // 密钥与算法不匹配时在启动阶段失败，而不是在第一次登录时
+    parser.parseSignedClaims(newBuilder().subject("probe").compact());
+
+    ConfigProperties.JwtInternalProperties internal = config.getJwt().getInternal();
+    if (internal.isEnabled()) {
+      if (StringUtils.isBlank(internal.getSecret())) {
+        throw new IllegalStateException("env.jwt.internal.secret 未配置");
+      }
+      this.internalAlgorithm =
+          internal.getAlgorithm() == JwtHmacAlgorithm.HS512 ? Jwts.SIG.HS512 : Jwts.SIG.HS256;
+      this.internalKey =
+          new SecretKeySpec(
+              Base64.getDecoder().decode(internal.getSecret()),
+              internal.getAlgorithm() == JwtHmacAlgorithm.HS512 ? "HmacSHA512" : "HmacSHA256");
+      this.internalParser =
+          Jwts.parser()
+              .verifyWith(internalKey)
+              .requireAudience(internal.getAudience())
+              .clockSkewSeconds(30)
+              .build();
+      // 密钥长度不足时在启动阶段失败
+      internalParser.parseSignedClaims(generateInternalToken("probe", List.of()));
+    } else {
+      this.internalAlgorithm = null;
+      this.internalKey = null;
+      this.internalParser = null;
+    }
+  }
+
+  /**
+   * 新的 jti：标准格式为 UUID 字符串，紧凑格式为同样 128 位的 Base64URL 编码。
+   */
+  private String newJti() {
+    UUID uuid = UUID.randomUUID();
+    if (!compact) {
+      return uuid.toString();
+    }
+    byte[] bytes =
+        ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  /**
+   * 用户名 claims：紧凑格式写入 {@code sub} 且不带 {@code time}。
+   */
+  private Map<String, Object> userClaims(String username) {
+    return compact
+        ? Map.of(Claims.SUBJECT, username)
+        : Map.of(
+            CLAIM_KEY_USERNAME, username, CLAIM_KEY_TIME, new Date(System.currentTimeMillis()));
+  }
+
+  /**
+   * 带 kid 头部并已设置当前签名密钥的 builder。
+   */
+  private JwtBuilder newBuilder() {
+    return keyRing.newBuilder();
+  }
+
+  public JwtKeyRing getKeyRing() {
+    return keyRing;
+  }
+
+  public JwtMetrics getMetrics() {
+    return metrics;
+  }
+
+  @PreDestroy
+  public void close() {
+    keyRing.close();
   }
 
   /**
@@ -74,12 +234,11 @@ public class JwtTokenUtils {
    * @return 生成的JWT token字符串
    */
   public String generateToken(Map<String, Object> claims) {
-    return Jwts.builder()
+    return newBuilder()
         .claims(claims)
-        .id(UUID.randomUUID().toString())
+        .id(newJti())
         .issuedAt(new Date())
         .expiration(getExpirationDate())
-        .signWith(configProperties.getJwt().getPrivateKey())
         .compact();
   }
 
@@ -92,12 +251,11 @@ public class JwtTokenUtils {
    * @return 生成的JWT token字符串
    */
   public String generateToken(Map<String, Object> claims, Date time) {
-    return Jwts.builder()
+    return newBuilder()
         .claims(claims)
-        .id(UUID.randomUUID().toString())
+        .id(newJti())
         .issuedAt(new Date())
         .expiration(time)
-        .signWith(configProperties.getJwt().getPrivateKey())
         .compact();
   }
 
@@ -108,15 +266,14 @@ public class JwtTokenUtils {
    * @return 携带 token 与 JTI 的 {@link JwtInfo}
    */
   public JwtInfo generateJwtInfo(Map<String, Object> claims) {
-    String  jti = UUID.randomUUID().toString();
+    String  jti = newJti();
     return  new JwtInfo(){
       {
-        token = Jwts.builder()
+        token = newBuilder()
             .claims(claims)
             .id(jti)
             .issuedAt(new Date())
             .expiration(getExpirationDate())
-            .signWith(configProperties.getJwt().getPrivateKey())
             .compact();
         Jti = jti;
       }
@@ -132,15 +289,14 @@ public class JwtTokenUtils {
    * @return 携带 token 与 JTI 的 {@link JwtInfo}
    */
   public JwtInfo generateJwtInfo(Map<String, Object> claims, Date time) {
-    String  jti = UUID.randomUUID().toString();
+    String  jti = newJti();
     return  new JwtInfo(){
       {
-        token = Jwts.builder()
+        token = newBuilder()
             .claims(claims)
             .id(jti)
             .issuedAt(new Date())
             .expiration(time)
-            .signWith(configProperties.getJwt().getPrivateKey())
             .compact();
         Jti = jti;
       }
@@ -156,11 +312,10 @@ public class JwtTokenUtils {
    * @return 预配置好的 {@link JwtBuilder}
    */
   public JwtBuilder getJwtBuilder(Map<String, Object> claims) {
-    return Jwts.builder()
+    return newBuilder()
         .claims(claims)
         .issuedAt(new Date())
-        .expiration(getExpirationDate())
-        .signWith(configProperties.getJwt().getPrivateKey());
+        .expiration(getExpirationDate());
   }
 
   /**
@@ -170,11 +325,10 @@ public class JwtTokenUtils {
    * @return 生成的永不过期的JWT token字符串
    */
   public String generateTokenWithoutExpiry(Map<String, Object> claims) {
-    return Jwts.builder()
+    return newBuilder()
         .claims(claims)
         .issuedAt(new Date())
-        .id(UUID.randomUUID().toString())
-        .signWith(configProperties.getJwt().getPrivateKey())
+        .id(newJti())
         .compact();
   }
 
@@ -185,8 +339,20 @@ public class JwtTokenUtils {
    * @return 生成的JWT token字符串
    */
   public String generateToken(String username) {
-    Map<String, Object> claims =
-        Map.of(CLAIM_KEY_USERNAME, username, CLAIM_KEY_TIME, new Date(System.currentTimeMillis()));
+    Map<String, Object> claims = userClaims(username);
+    return generateToken(claims);
+  }
+
+  /**
+   * 为指定用户名生成JWT token，附带额外的 claims，使用默认过期时间。
+   *
+   * @param username 用户名
+   * @param extraClaims 额外写入的 claims
+   * @return 生成的JWT token字符串
+   */
+  public String generateToken(String username, Map<String, Object> extraClaims) {
+    Map<String, Object> claims = new HashMap<>(extraClaims);
+    claims.putAll(userClaims(username));
     return generateToken(claims);
   }
 
@@ -198,8 +364,7 @@ public class JwtTokenUtils {
    * @return The generated JWT token as a String.
    */
   public String generateToken(String username, Date time) {
-    Map<String, Object> claims =
-        Map.of(CLAIM_KEY_USERNAME, username, CLAIM_KEY_TIME, new Date(System.currentTimeMillis()));
+    Map<String, Object> claims = userClaims(username);
     return generateToken(claims, time);
   }
 
@@ -210,8 +375,7 @@ public class JwtTokenUtils {
    * @return 生成的永不过期的JWT token字符串
    */
   public String generateTokenWithoutExpiry(String username) {
-    Map<String, Object> claims =
-        Map.of(CLAIM_KEY_USERNAME, username, CLAIM_KEY_TIME, new Date(System.currentTimeMillis()));
+    Map<String, Object> claims = userClaims(username);
     return generateTokenWithoutExpiry(claims);
   }
 
@@ -246,17 +410,30 @@ public class JwtTokenUtils {
    * @return token中包含的用户名
    */
   public String getUsernameFromToken(String token) {
-    return getClaimsFromToken(token).get(CLAIM_KEY_USERNAME, String.class);
+    return getUsername(getClaimsFromToken(token));
+  }
+
+  /**
+   * 从已经验签的 claims 中提取用户名，避免再次解析 token。标准格式取 {@code username}，紧凑格式取 {@code sub}。
+   *
+   * @param claims {@link #getClaimsFromToken(String)} 的结果
+   * @return 用户名，不存在时返回 null
+   */
+  public String getUsername(Claims claims) {
+    String username = claims.get(CLAIM_KEY_USERNAME, String.class);
+    return username != null ? username : claims.getSubject();
   }
 
   /**
-   * 获取token 创建时间
+   * 获取token 创建时间，紧凑格式没有 {@code time}，取 {@code iat}
    *
    * @param token token
    * @return Date Milli
    */
   public Date getTimeFromToken(String token) {
-    return getClaimsFromToken(token).get(CLAIM_KEY_TIME, Date.class);
+    Claims claims = getClaimsFromToken(token);
+    Date time = claims.get(CLAIM_KEY_TIME, Date.class);
+    return time != null ? time : claims.getIssuedAt();
   }
 
   /**
@@ -288,18 +465,149 @@ public class JwtTokenUtils {
    * @return 包含token所有声明信息的Claims对象
    */
   /**
-   * 解析并获取 JWT 中的全部 claims，内置 30 秒钟的时钟偏差容忍度。
+   * 解析并获取 JWT 中的全部 claims，内置 30 秒钟的时钟偏差容忍度。每次解析提交一个 {@link JwtVerifyEvent}。
+   *
+   * <p>启用 {@code env.jwt.cache} 时先查已验签缓存，命中则直接返回，不再验签。
    *
    * @param token 待解析的 JWT 字符串
    * @return 解析结果中的 claims
    */
   public Claims getClaimsFromToken(String token) {
-    return Jwts.parser()
-        .verifyWith(configProperties.getJwt().getPublicKey())
-        .clockSkewSeconds(30) // 允许 30 秒的时间偏差
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
+    JwtVerifyEvent event = new JwtVerifyEvent();
+    event.begin();
+    long start = System.nanoTime();
+    try {
+      Claims claims = verifiedCache == null ? null : verifiedCache.get(token);
+      if (claims != null) {
+        event.cached = true;
+        event.success = true;
+        return claims;
+      }
+      return verify(token, event);
+    } finally {
+      metrics.recordParse(event.cached, System.nanoTime() - start);
+      if (event.shouldCommit()) {
+        event.tokenLength = token == null ? 0 : token.length();
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * 解析并验签，按结果记录 {@code jwt.verify} 耗时，成功时写入已验签缓存。
+   */
+  private Claims verify(String token, JwtVerifyEvent event) {
+    long start = System.nanoTime();
+    long generation = verifiedCache == null ? 0 : verifiedCache.generation();
+    try {
+      Claims claims = parser.parseSignedClaims(token).getPayload();
+      metrics.recordVerify(JwtMetrics.Outcome.OK, System.nanoTime() - start);
+      if (verifiedCache != null) {
+        verifiedCache.put(token, claims, generation);
+      }
+      event.success = true;
+      return claims;
+    } catch (JwtException | IllegalArgumentException e) {
+      metrics.recordVerify(JwtMetrics.Outcome.of(e), System.nanoTime() - start);
+      event.error = e.getClass().getSimpleName();
+      throw e;
+    }
+  }
+
+  /**
+   * 为服务间调用签发 HMAC token，带 {@code env.jwt.internal.audience}，不带 jti，不能吊销，有效期应保持很短。
+   *
+   * @param subject 调用方标识
+   * @param authorities 授予调用方的权限，写入 {@code auth}
+   * @return HMAC 签名的 token
+   * @throws IllegalStateException 未启用 {@code env.jwt.internal}
+   */
+  public String generateInternalToken(String subject, Collection<String> authorities) {
+    if (internalKey == null) {
+      throw new IllegalStateException("env.jwt.internal 未启用");
+    }
+    ConfigProperties.JwtInternalProperties internal = configProperties.getJwt().getInternal();
+    Date now = new Date();
+    return Jwts.builder()
+        .subject(subject)
+        .claim(INTERNAL_AUTHORITIES, authorities)
+        .audience().add(internal.getAudience()).and()
+        .issuedAt(now)
+        .expiration(new Date(now.getTime() + internal.getExpire().toMillis()))
+        .signWith(internalKey, internalAlgorithm)
+        .compact();
+  }
+
+  /**
+   * 是否应交给 HMAC 验签：只解码 JOSE 头部检查 {@code alg}，不做验签，因此不需要对两种验签器逐个尝试。
+   *
+   * <p>头部未经验证，伪造 {@code alg} 只会把 token 送到另一个验签器并验签失败：HMAC 密钥与用户 token 的公钥相互独立，两个解析器都只接受各自的密钥。
+   *
+   * @param token 去掉前缀的 token
+   * @return 启用了内部 token 且头部 alg 为 HS* 时返回 true
+   */
+  public boolean isInternalToken(String token) {
+    if (internalParser == null) {
+      return false;
+    }
+    String alg = headerAlgorithm(token);
+    return alg != null && alg.startsWith("HS");
+  }
+
+  /**
+   * 验签内部调用 token，要求 aud 与配置一致。
+   *
+   * @param token HMAC 签名的 token
+   * @return 验签后的 claims
+   * @throws IllegalStateException 未启用 {@code env.jwt.internal}
+   */
+  public Claims getClaimsFromInternalToken(String token) {
+    if (internalParser == null) {
+      throw new IllegalStateException("env.jwt.internal 未启用");
+    }
+    return internalParser.parseSignedClaims(token).getPayload();
+  }
+
+  /**
+   * 内部 token 的权限列表
+   *
+   * @param claims {@link #getClaimsFromInternalToken(String)} 的结果
+   * @return 权限，不存在时为空列表
+   */
+  public List<String> getInternalAuthorities(Claims claims) {
+    List<?> names = claims.get(INTERNAL_AUTHORITIES, List.class);
+    return names == null ? List.of() : names.stream().map(String::valueOf).toList();
+  }
+
+  /**
+   * 解码 JOSE 头部，用 jjwt 的 JSON 反序列化器取出 {@code alg}，格式不正确时返回 null
+   */
+  static String headerAlgorithm(String token) {
+    int dot = token == null ? -1 : token.indexOf('.');
+    if (dot <= 0) {
+      return null;
+    }
+    try {
+      String json =
+          new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+      return HEADER_DESERIALIZER.deserialize(new StringReader(json)) instanceof Map<?, ?> header
+              && header.get("alg") instanceof String alg
+          ? alg
+          : null;
+    } catch (JwtException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 通知 jti 已被吊销，移除已验签缓存中对应的 token。吊销服务在记录吊销之后调用。
+   *
+   * @param jti 被吊销的 JWT 唯一标识
+   */
+  public void revoked(String jti) {
+    if (verifiedCache != null && jti != null) {
+      verifiedCache.evict(jti);
+    }
   }
 
   /**
@@ -0,0 +1,202 @@
+package top.werls.springboottemplate.common.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 已验签 token 的缓存。
+ *
+ * <p>客户端在有效期内会用同一个 token 发起大量请求，命中缓存时只需一次哈希与一次字符串比较，不再做 RSA 验签。以 token 全文的 64 位
+ * FNV-1a 哈希为 key，value 中保留 token 原文，命中后逐字比较，哈希碰撞只会导致未命中，不会返回其它 token 的 claims。
+ *
+ * <p>每个条目的存活时间取 {@code ttl} 与 token 剩余有效期（{@code exp}）中较小者，缓存不会让过期 token 继续通过。 吊销 jti 时通过
+ * jti 索引立即移除对应条目；与吊销并发完成的验签结果不会留在缓存中，见 {@link #put(String, Claims, long)}。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public class VerifiedTokenCache {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final Cache<Long, Entry> cache;
+
+  /** jti -> 缓存 key，用于按 jti 失效 */
+  private final Map<String, Long> byJti = new ConcurrentHashMap<>();
+
+  /** 吊销次数，验签前后对比以发现并发的吊销 */
+  private final AtomicLong revocations = new AtomicLong();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private final long ttlNanos;
+  private final LongSupplier wallClock;
+
+  public VerifiedTokenCache(long maximumSize, Duration ttl) {
+    this(maximumSize, ttl, Ticker.systemTicker(), System::currentTimeMillis);
+  }
+
+  VerifiedTokenCache(long maximumSize, Duration ttl, Ticker ticker, LongSupplier wallClock) {
+    this.ttlNanos = ttl.toNanos();
+    this.wallClock = wallClock;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .ticker(ticker)
+            .expireAfter(new EntryExpiry())
+            .evictionListener(
+                (Long key, Entry entry, RemovalCause cause) -> {
+                  if (key != null && entry != null && entry.jti != null) {
+                    byJti.remove(entry.jti, key);
+                  }
+                })
+            .build();
+  }
+
+  /**
+   * 查找已验签的 claims
+   *
+   * @param token JWT 原文
+   * @return claims，未命中时返回 null
+   */
+  public Claims get(String token) {
+    Entry entry = cache.getIfPresent(hash(token));
+    if (entry != null && entry.token.equals(token)) {
+      hits.increment();
+      return entry.claims;
+    }
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * 验签前调用，取得当前的吊销代数，验签成功后传给 {@link #put(String, Claims, long)}
+   *
+   * @return 吊销代数
+   */
+  public long generation() {
+    return revocations.get();
+  }
+
+  /**
+   * 缓存验签成功的结果。已过期的 token 不缓存；验签期间发生过吊销时无法确定本 token 是否被吊销，不保留缓存。
+   *
+   * @param token JWT 原文
+   * @param claims 验签后的 claims
+   * @param generation 验签前 {@link #generation()} 的返回值
+   */
+  public void put(String token, Claims claims, long generation) {
+    long lifetime = ttlNanos;
+    Date expiration = claims.getExpiration();
+    if (expiration != null) {
+      long left = expiration.getTime() - wallClock.getAsLong();
+      if (left <= 0) {
+        return;
+      }
+      lifetime = Math.min(lifetime, TimeUnit.MILLISECONDS.toNanos(left));
+    }
+    Long key = hash(token);
+    Entry entry = new Entry(token, claims, claims.getId(), lifetime);
+    if (entry.jti != null) {
+      byJti.put(entry.jti, key);
+    }
+    cache.put(key, entry);
+    if (revocations.get() != generation) {
+      remove(key, entry.jti);
+    }
+  }
+
+  /**
+   * jti 被吊销时移除对应条目
+   *
+   * @param jti JWT 唯一标识
+   */
+  public void evict(String jti) {
+    revocations.incrementAndGet();
+    Long key = byJti.remove(jti);
+    if (key != null) {
+      cache.invalidate(key);
+    }
+  }
+
+  /** 清空缓存，签名密钥变化时调用 */
+  public void clear() {
+    revocations.incrementAndGet();
+    cache.invalidateAll();
+    byJti.clear();
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * 启动以来的命中率，哈希碰撞导致的未命中计入 misses
+   *
+   * @return 命中率，尚无查找时为 0
+   */
+  public double hitRatio() {
+    long h = hits.sum();
+    long total = h + misses.sum();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  private void remove(Long key, String jti) {
+    cache.invalidate(key);
+    if (jti != null) {
+      byJti.remove(jti, key);
+    }
+  }
+
+  static long hash(String token) {
+    long h = FNV_OFFSET;
+    for (int i = 0; i < token.length(); i++) {
+      h = (h ^ token.charAt(i)) * FNV_PRIME;
+    }
+    return h;
+  }
+
+  private record Entry(String token, Claims claims, String jti, long lifetimeNanos) {}
+
+  /** 条目在写入时确定存活时间，读取不延长 */
+  private static final class EntryExpiry implements Expiry<Long, Entry> {
+
+    @Override
+    public long expireAfterCreate(Long key, Entry entry, long currentTime) {
+      return entry.lifetimeNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Long key, Entry entry, long currentTime, long currentDuration) {
+      return entry.lifetimeNanos;
+    }
+
+    @Override
+    public long expireAfterRead(Long key, Entry entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
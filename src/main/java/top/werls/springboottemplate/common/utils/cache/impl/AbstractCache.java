@@ -1,6 +1,7 @@
 package top.werls.springboottemplate.common.utils.cache.impl;
 
 
+import top.werls.springboottemplate.common.jfr.CacheLoadEvent;
 import top.werls.springboottemplate.common.utils.cache.Cache;
 
 import java.io.Serial;
@@ -112,15 +113,26 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
    */
   @Override
   public V get(K key) {
+    CacheLoadEvent event = new CacheLoadEvent();
+    event.begin();
     final CacheObject<K, V> co = cacheMap.get(key);
-    if (co == null) {
-      return null;
+    V value = null;
+    boolean expired = false;
+    if (co != null) {
+      if (co.isExpired()) {
+        expired = true;
+        remove(key);
+      } else {
+        value = co.get(false);
+      }
     }
-    if (!co.isExpired()) {
-      return co.get(false);
+    if (event.shouldCommit()) {
+      event.cache = getClass().getSimpleName();
+      event.hit = co != null && !expired;
+      event.expired = expired;
+      event.commit();
     }
-    remove(key);
-    return null;
+    return value;
   }
 
   /**
@@ -0,0 +1,97 @@
+package top.werls.springboottemplate.common.utils.crypto.asymmetric;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * 读取 PEM 格式的 RSA、EC、Ed25519 密钥。
+ *
+ * <p>私钥须为 PKCS#8（{@code BEGIN PRIVATE KEY}），公钥须为 X.509 SubjectPublicKeyInfo（{@code BEGIN PUBLIC
+ * KEY}），即 {@code openssl genpkey}/{@code openssl pkey -pubout} 的默认输出。 密钥类型由 DER 内容决定，依次尝试
+ * RSA、EC、Ed25519。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class PemKeys {
+
+  private static final String[] ALGORITHMS = {"RSA", "EC", "Ed25519"};
+
+  private PemKeys() {}
+
+  /**
+   * 读取 PKCS#8 私钥
+   *
+   * @param pem PEM 文本
+   * @return 私钥
+   * @throws IllegalArgumentException 格式不支持
+   */
+  public static PrivateKey readPrivateKey(String pem) {
+    PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(decode(pem, "PRIVATE KEY"));
+    for (String algorithm : ALGORITHMS) {
+      try {
+        return KeyFactory.getInstance(algorithm).generatePrivate(spec);
+      } catch (GeneralSecurityException e) {
+        // 尝试下一种类型
+      }
+    }
+    throw unsupported(spec);
+  }
+
+  /**
+   * 读取 X.509 公钥
+   *
+   * @param pem PEM 文本
+   * @return 公钥
+   * @throws IllegalArgumentException 格式不支持
+   */
+  public static PublicKey readPublicKey(String pem) {
+    X509EncodedKeySpec spec = new X509EncodedKeySpec(decode(pem, "PUBLIC KEY"));
+    for (String algorithm : ALGORITHMS) {
+      try {
+        return KeyFactory.getInstance(algorithm).generatePublic(spec);
+      } catch (GeneralSecurityException e) {
+        // 尝试下一种类型
+      }
+    }
+    throw unsupported(spec);
+  }
+
+  /**
+   * 以 PEM 格式输出密钥，{@link #readPrivateKey(String)} 与 {@link #readPublicKey(String)} 的逆操作
+   *
+   * @param label {@code PRIVATE KEY} 或 {@code PUBLIC KEY}
+   * @param encoded {@link java.security.Key#getEncoded()}
+   * @return PEM 文本
+   */
+  public static String write(String label, byte[] encoded) {
+    String body = Base64.getMimeEncoder(64, new byte[] {'\n'}).encodeToString(encoded);
+    return "-----BEGIN " + label + "-----\n" + body + "\n-----END " + label + "-----\n";
+  }
+
+  private static byte[] decode(String pem, String label) {
+    String begin = "-----BEGIN " + label + "-----";
+    int start = pem.indexOf(begin);
+    if (start < 0) {
+      throw new IllegalArgumentException(
+          "expected '" + begin + "', convert with: openssl pkcs8 -topk8 -nocrypt / openssl pkey -pubout");
+    }
+    int end = pem.indexOf("-----END " + label + "-----", start);
+    if (end < 0) {
+      throw new IllegalArgumentException("missing '-----END " + label + "-----'");
+    }
+    return Base64.getMimeDecoder().decode(pem.substring(start + begin.length(), end));
+  }
+
+  private static IllegalArgumentException unsupported(KeySpec spec) {
+    return new IllegalArgumentException(
+        "unsupported key in " + spec.getClass().getSimpleName() + ", expected RSA, EC or Ed25519");
+  }
+}
@@ -15,6 +15,7 @@ import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import top.werls.springboottemplate.common.jfr.DynamicCompileEvent;
 
 /**
  * 动态编译工具类
@@ -75,8 +76,21 @@ public class DynamicCompileUtils {
    * @throws Exception 编译过程中可能抛出的异常
    */
   public Object compile(String code, String classname) throws Exception {
-    // 使用安全管理器进行全面的安全编译
-    return DynamicCompilationSecurityManager.secureCompile(code, classname, this);
+    DynamicCompileEvent event = new DynamicCompileEvent();
+    event.begin();
+    Object result = null;
+    try {
+      // 使用安全管理器进行全面的安全编译
+      result = DynamicCompilationSecurityManager.secureCompile(code, classname, this);
+      return result;
+    } finally {
+      if (event.shouldCommit()) {
+        event.className = classname;
+        event.sourceSize = code == null ? 0 : code.length();
+        event.success = result != null;
+        event.commit();
+      }
+    }
   }
 
   /**
@@ -0,0 +1,43 @@
+package top.werls.springboottemplate.common.watchdog;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 一次慢请求的诊断记录
+ *
+ * @param endpoint 接口，Class.method
+ * @param method HTTP 方法
+ * @param uri 请求路径
+ * @param principal 当前用户，未登录时为 null
+ * @param thread 执行请求的线程名
+ * @param startTime 开始时间
+ * @param durationMillis 耗时，仍在执行时为截至目前的耗时
+ * @param completed 是否已经结束
+ * @param failed 是否以异常结束
+ * @param samples 栈采样，按时间先后排列
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public record SlowRequest(
+    String endpoint,
+    String method,
+    String uri,
+    String principal,
+    String thread,
+    Instant startTime,
+    long durationMillis,
+    boolean completed,
+    boolean failed,
+    List<StackSample> samples) {
+
+  /**
+   * 一次栈采样
+   *
+   * @param offsetMillis 距请求开始的毫秒数
+   * @param state 采样时的线程状态
+   * @param frames 调用栈，栈顶在前
+   */
+  public record StackSample(long offsetMillis, String state, List<String> frames) {}
+}
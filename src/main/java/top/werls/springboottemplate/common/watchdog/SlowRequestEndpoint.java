@@ -0,0 +1,33 @@
+package top.werls.springboottemplate.common.watchdog;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 慢请求 actuator 端点：{@code GET /actuator/slowrequests} 查看仍在执行的慢请求与最近结束的慢请求，包括调用栈采样。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+
+  private final SlowRequestWatchdog watchdog;
+
+  public SlowRequestEndpoint(SlowRequestWatchdog watchdog) {
+    this.watchdog = watchdog;
+  }
+
+  @ReadOperation
+  public Map<String, Object> slowRequests() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("inFlight", watchdog.inFlight());
+    result.put("recent", watchdog.recent());
+    return result;
+  }
+}
@@ -0,0 +1,279 @@
+package top.werls.springboottemplate.common.watchdog;
+
+import jakarta.annotation.PreDestroy;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 慢请求诊断。
+ *
+ * <p>每个 controller 调用开始时登记为一个 {@link Ticket}，结束时注销；快请求的开销只有一次登记与注销，不采样、不记录。
+ * 后台线程每隔 {@code sample-interval} 扫描一次在途请求，超过阈值的请求开始定期采样执行线程的调用栈（虚拟线程同样适用），
+ * 请求结束后连同请求信息写入固定大小的环形记录，最早的记录被覆盖。
+ *
+ * <p>阈值默认取 {@code env.watchdog.threshold}，可以通过 {@code env.watchdog.endpoints} 按接口覆盖。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class SlowRequestWatchdog {
+
+  private final boolean enabled;
+
+  private final long defaultThresholdNanos;
+
+  private final Map<String, Long> endpointThresholdNanos;
+
+  private final long sampleIntervalNanos;
+
+  private final int maxSamples;
+
+  private final int maxDepth;
+
+  private final Set<Ticket> inFlight = ConcurrentHashMap.newKeySet();
+
+  private final SlowRequest[] ring;
+
+  /** 下一条记录的写入位置，由 this 保护 */
+  private long written;
+
+  private final ScheduledExecutorService scanner;
+
+  @Autowired
+  public SlowRequestWatchdog(ConfigProperties configProperties) {
+    this(configProperties.getWatchdog());
+  }
+
+  SlowRequestWatchdog(ConfigProperties.WatchdogProperties properties) {
+    this.enabled = properties.isEnabled();
+    this.defaultThresholdNanos = properties.getThreshold().toNanos();
+    Map<String, Long> thresholds = new HashMap<>();
+    properties
+        .getEndpoints()
+        .forEach((name, threshold) -> thresholds.put(name, threshold.toNanos()));
+    this.endpointThresholdNanos = Map.copyOf(thresholds);
+    this.sampleIntervalNanos = properties.getSampleInterval().toNanos();
+    this.maxSamples = properties.getMaxSamples();
+    this.maxDepth = properties.getMaxDepth();
+    this.ring = new SlowRequest[Math.max(1, properties.getCapacity())];
+    this.scanner = enabled ? startScanner(properties.getSampleInterval()) : null;
+  }
+
+  private ScheduledExecutorService startScanner(Duration interval) {
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "slow-request-watchdog");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long millis = Math.max(1, interval.toMillis());
+    executor.scheduleWithFixedDelay(this::scanSafely, millis, millis, TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 登记一个开始执行的请求，在执行请求的线程上调用
+   *
+   * @param endpoint 接口，Class.method
+   * @param method HTTP 方法，非 HTTP 调用时为 null
+   * @param uri 请求路径
+   * @param principal 当前用户，在请求变慢时才读取用户名
+   * @return 凭据，未开启时返回 null
+   */
+  public Ticket begin(String endpoint, String method, String uri, Principal principal) {
+    if (!enabled) {
+      return null;
+    }
+    long threshold = endpointThresholdNanos.getOrDefault(endpoint, defaultThresholdNanos);
+    Ticket ticket =
+        new Ticket(
+            Thread.currentThread(), endpoint, method, uri, principal, System.nanoTime(), threshold);
+    inFlight.add(ticket);
+    return ticket;
+  }
+
+  /**
+   * 注销请求，变慢过的请求写入记录
+   *
+   * @param ticket {@link #begin} 的返回值
+   * @param failed 是否以异常结束
+   */
+  public void end(Ticket ticket, boolean failed) {
+    if (ticket == null) {
+      return;
+    }
+    inFlight.remove(ticket);
+    if (!ticket.slow) {
+      return;
+    }
+    SlowRequest record;
+    synchronized (ticket) {
+      ticket.completed = true;
+      record = ticket.toRecord(System.nanoTime(), true, failed);
+    }
+    synchronized (this) {
+      ring[(int) (written++ % ring.length)] = record;
+    }
+    log.warn("慢请求: {} {} {}, {}ms, {} 个栈采样", record.endpoint(), record.method(), record.uri(),
+        record.durationMillis(), record.samples().size());
+  }
+
+  private void scanSafely() {
+    try {
+      scan(System.nanoTime());
+    } catch (RuntimeException e) {
+      log.error("慢请求扫描失败", e);
+    }
+  }
+
+  /**
+   * 检查在途请求，对超过阈值的请求采样调用栈
+   *
+   * @param now 当前时间，纳秒
+   */
+  void scan(long now) {
+    for (Ticket ticket : inFlight) {
+      if (now - ticket.startNanos < ticket.thresholdNanos || now < ticket.nextSampleNanos) {
+        continue;
+      }
+      StackTraceElement[] stack = ticket.thread.getStackTrace();
+      Thread.State state = ticket.thread.getState();
+      synchronized (ticket) {
+        if (ticket.completed || ticket.samples.size() >= maxSamples) {
+          continue;
+        }
+        if (!ticket.slow) {
+          ticket.samples = new ArrayList<>();
+        }
+        ticket.samples.add(
+            new SlowRequest.StackSample(
+                TimeUnit.NANOSECONDS.toMillis(now - ticket.startNanos),
+                state.name(),
+                frames(stack)));
+        ticket.nextSampleNanos = now + sampleIntervalNanos;
+        ticket.slow = true;
+      }
+    }
+  }
+
+  private List<String> frames(StackTraceElement[] stack) {
+    StackTraceElement[] top = stack.length > maxDepth ? Arrays.copyOf(stack, maxDepth) : stack;
+    List<String> frames = new ArrayList<>(top.length);
+    for (StackTraceElement element : top) {
+      frames.add(element.toString());
+    }
+    return frames;
+  }
+
+  /**
+   * 当前仍在执行的慢请求
+   *
+   * @return 记录，按开始时间先后排列
+   */
+  public List<SlowRequest> inFlight() {
+    long now = System.nanoTime();
+    List<Ticket> slow = new ArrayList<>();
+    for (Ticket ticket : inFlight) {
+      if (ticket.slow) {
+        slow.add(ticket);
+      }
+    }
+    slow.sort((a, b) -> Long.compare(a.startNanos, b.startNanos));
+    List<SlowRequest> result = new ArrayList<>(slow.size());
+    for (Ticket ticket : slow) {
+      synchronized (ticket) {
+        result.add(ticket.toRecord(now, false, false));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 最近结束的慢请求
+   *
+   * @return 记录，最近的在前
+   */
+  public synchronized List<SlowRequest> recent() {
+    int size = (int) Math.min(written, ring.length);
+    List<SlowRequest> result = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      result.add(ring[(int) ((written - i) % ring.length)]);
+    }
+    return result;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (scanner != null) {
+      scanner.shutdownNow();
+    }
+  }
+
+  /** 一个在途请求，栈采样只在请求变慢后才分配 */
+  public static final class Ticket {
+
+    private final Thread thread;
+    private final String endpoint;
+    private final String method;
+    private final String uri;
+    private final Principal principal;
+    private final long startNanos;
+    private final long thresholdNanos;
+
+    private volatile boolean slow;
+
+    /** 以下字段由 this 保护 */
+    private boolean completed;
+    private long nextSampleNanos;
+    private List<SlowRequest.StackSample> samples = List.of();
+
+    Ticket(Thread thread, String endpoint, String method, String uri, Principal principal,
+        long startNanos, long thresholdNanos) {
+      this.thread = thread;
+      this.endpoint = endpoint;
+      this.method = method;
+      this.uri = uri;
+      this.principal = principal;
+      this.startNanos = startNanos;
+      this.thresholdNanos = thresholdNanos;
+    }
+
+    private SlowRequest toRecord(long now, boolean completed, boolean failed) {
+      long elapsed = now - startNanos;
+      return new SlowRequest(
+          endpoint,
+          method,
+          uri,
+          principal == null ? null : principal.getName(),
+          thread.getName().isEmpty() ? "#" + thread.threadId() : thread.getName(),
+          Instant.now().minusNanos(elapsed),
+          TimeUnit.NANOSECONDS.toMillis(elapsed),
+          completed,
+          failed,
+          List.copyOf(samples));
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package top.werls.springboottemplate.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.werls.springboottemplate.common.apitoken.ApiTokenRepository;
+import top.werls.springboottemplate.common.apitoken.ApiTokenService;
+import top.werls.springboottemplate.common.apitoken.InMemoryApiTokenRepository;
+
+/**
+ * 配置 API token 认证，没有 {@link ApiTokenRepository} bean 时使用内存存储
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Configuration
+public class ApiTokenConfig {
+
+  @Bean
+  public ApiTokenService apiTokenService(ConfigProperties configProperties,
+      ObjectProvider<ApiTokenRepository> repository) {
+    return new ApiTokenService(configProperties,
+        repository.getIfAvailable(InMemoryApiTokenRepository::new));
+  }
+}
@@ -4,9 +4,13 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Jiawei Lee
@@ -25,6 +29,93 @@ public class ConfigProperties {
   private boolean isEnableSwagger = false;
   private FileProperties fileConfig = new FileProperties();
   private JwtProperties jwt = new JwtProperties();
+  private LimiterProperties limiter = new LimiterProperties();
+  private LatencyProperties latency = new LatencyProperties();
+  private JfrProperties jfr = new JfrProperties();
+  private WatchdogProperties watchdog = new WatchdogProperties();
+  private ApiTokenProperties apiToken = new ApiTokenProperties();
+  private WebSecurityProperties security = new WebSecurityProperties();
+
+  /**
+   * 安全过滤链
+   */
+  @Data
+  public static class WebSecurityProperties {
+    /** 不创建 HttpSession，SecurityContext 只保存在请求属性中；关闭时恢复为每个请求都创建会话 */
+    private boolean stateless = true;
+  }
+
+  /**
+   * API token 认证，token 形如 {@code prefix_xxx}，见 JwtTokenUtils.generateApiToken
+   */
+  @Data
+  public static class ApiTokenProperties {
+    private boolean enabled = true;
+    /** token 前缀，请求头中以 {@code prefix_} 开头的 token 走 API token 校验 */
+    private String prefix = "sk";
+    /** 最多缓存的查询结果数 */
+    private long maximumSize = 10_000;
+    /** 存在的 token 的缓存时间，删除 token 后最长经过这段时间才失效 */
+    private Duration positiveTtl = Duration.ofMinutes(5);
+    /** 不存在的 token 的缓存时间 */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+    /** 批量写回最近使用时间的间隔 */
+    private Duration flushInterval = Duration.ofSeconds(30);
+  }
+
+  /**
+   * 接口耗时统计
+   */
+  @Data
+  public static class LatencyProperties {
+    /** 分位数统计窗口，结果覆盖最近 1~2 个窗口 */
+    private Duration window = Duration.ofMinutes(1);
+    /** DEBUG 日志抽样比例，0 表示不输出 */
+    private double debugSampleRate = 0;
+    /** 统计每个接口的内存分配与 CPU 时间，排查问题时开启 */
+    private boolean resourceAccounting = false;
+    /** 虚拟线程上的调用通过 JFR 采样估算内存分配与 CPU，会常驻一个 JFR 录制，默认关闭 */
+    private boolean virtualThreadSampling = false;
+    /** 虚拟线程 CPU 采样周期，越小越准确、开销越大 */
+    private Duration cpuSamplePeriod = Duration.ofMillis(20);
+  }
+
+  /**
+   * JFR 录制，见 /actuator/jfr
+   */
+  @Data
+  public static class JfrProperties {
+    /** 启动时即开始录制 */
+    private boolean autoStart = false;
+    /** 叠加的 JDK 内置配置（default / profile），为空时只录制应用事件 */
+    private String settings = "default";
+    /** 录制保留的最长时间 */
+    private Duration maxAge = Duration.ofMinutes(30);
+    /** 录制保留的最大字节数 */
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+    /** dump 文件目录 */
+    private String directory = "./jfr";
+  }
+
+  /**
+   * 慢请求诊断，见 /actuator/slowrequests
+   */
+  @Data
+  public static class WatchdogProperties {
+    private boolean enabled = true;
+    /** 默认的慢请求阈值 */
+    private Duration threshold = Duration.ofSeconds(2);
+    /** 按接口覆盖阈值，key 为 Class.method */
+    private Map<String, Duration> endpoints = new HashMap<>();
+    /** 检查与栈采样间隔 */
+    private Duration sampleInterval = Duration.ofMillis(200);
+    /** 每个请求最多保留的栈采样数 */
+    private int maxSamples = 20;
+    /** 每个栈采样最多保留的帧数 */
+    private int maxDepth = 64;
+    /** 最多保留的慢请求记录数 */
+    private int capacity = 50;
+  }
 
   @Data
   public static class FileProperties {
@@ -32,13 +123,170 @@ public class ConfigProperties {
     private String path = "/upload";
   }
 
+  @Data
+  public static class LimiterProperties {
+    /** 限流注解的执行位置 */
+    private LimiterMode mode = LimiterMode.FILTER;
+    /** 单机限流最多保存的 key 数量 */
+    private long maximumKeys = 10_000;
+    /** 以 IP 为 key 的单机限流状态表的槽位数，每个槽位约 25 字节，启动时一次性分配 */
+    private int tableCapacity = 65_536;
+    /** 计数后端 */
+    private LimiterBackendType backend = LimiterBackendType.LOCAL;
+    private RedisProperties redis = new RedisProperties();
+    private QuotaProperties quota = new QuotaProperties();
+    private SheddingProperties shedding = new SheddingProperties();
+  }
+
+  /**
+   * 基于 JVM 压力的降载。每个信号在 [阈值, 临界值] 区间内线性映射为 0~1，取最大值作为压力分数
+   */
+  @Data
+  public static class SheddingProperties {
+    private boolean enabled = true;
+    /** 采样间隔 */
+    private Duration sampleInterval = Duration.ofMillis(500);
+    /** 堆占用率（GC 后） */
+    private double heapThreshold = 0.75;
+    private double heapCritical = 0.95;
+    /** 采样间隔内 GC 暂停时间占比 */
+    private double gcThreshold = 0.05;
+    private double gcCritical = 0.30;
+    /** 进程 CPU 使用率 */
+    private double cpuThreshold = 0.80;
+    private double cpuCritical = 0.98;
+  }
+
+  /**
+   * 分级配额：全局 -> 用户 -> 接口，依次校验，任一级不足则整体拒绝
+   */
+  @Data
+  public static class QuotaProperties {
+    private boolean enabled = false;
+    /** 全局配额，为空表示不限制 */
+    private QuotaDefinition global;
+    /** 每个用户（JWT 用户名，未登录时为 IP）的配额，为空表示不限制 */
+    private QuotaDefinition principal;
+    /** 接口配额，key 为接口名，形如 {@code DemoApi.getDemo} */
+    private Map<String, QuotaDefinition> endpoints = new HashMap<>();
+    /** 最多保存的用户配额数量 */
+    private long maximumPrincipals = 100_000;
+    /** 可选的外部配额文件（yml 或 properties，前缀同为 env.limiter.quota），修改后自动生效 */
+    private String file;
+    /** 检查外部配额文件的间隔 */
+    private Duration reloadInterval = Duration.ofSeconds(10);
+  }
+
+  @Data
+  public static class QuotaDefinition {
+    /** 周期内允许的请求数 */
+    private int limit;
+    /** 周期 */
+    private Duration period = Duration.ofMinutes(1);
+  }
+
+  @Data
+  public static class RedisProperties {
+    private String host = "localhost";
+    private int port = 6379;
+    private String password;
+    private int database = 0;
+    private int timeoutMillis = 200;
+    private int poolSize = 16;
+    private String keyPrefix = "rl:";
+    /** 每次向服务端预取的许可占规则上限的比例 */
+    private double prefetchRatio = 0.05;
+    /** 每次预取许可的上限 */
+    private int maxPrefetch = 100;
+    /** 访问失败后直接使用本地限流的时长，到期后探测一次 */
+    private long circuitCooldownMillis = 5000;
+  }
+
   @Data
   public static class JwtProperties {
     private Integer expire = 30;
     private String tokenHeader = "Authorization";
     private String tokenPrefix = "Bearer ";
+    /** 签名算法，需与密钥类型一致 */
+    private JwtAlgorithm algorithm = JwtAlgorithm.RS256;
+    /** claims 编码方式 */
+    private JwtClaimsProfile claimsProfile = JwtClaimsProfile.STANDARD;
+    /** PKCS#8 私钥，资源位置或 PEM 文本 */
     @NotBlank
-    private RSAPrivateKey privateKey;
-    @NotBlank private RSAPublicKey publicKey;
+    private PrivateKey privateKey;
+    /** X.509 公钥，资源位置或 PEM 文本 */
+    @NotBlank private PublicKey publicKey;
+    private JwtCacheProperties cache = new JwtCacheProperties();
+    private JwtStatelessProperties stateless = new JwtStatelessProperties();
+    private RevocationProperties revocation = new RevocationProperties();
+    private JwtKeysProperties keys = new JwtKeysProperties();
+    private JwtInternalProperties internal = new JwtInternalProperties();
+  }
+
+  /**
+   * 服务间调用的 HMAC token，与用户 token 使用不同的密钥与 audience
+   */
+  @Data
+  public static class JwtInternalProperties {
+    private boolean enabled = false;
+    private JwtHmacAlgorithm algorithm = JwtHmacAlgorithm.HS256;
+    /** Base64 编码的密钥，长度不小于算法要求 */
+    private String secret;
+    /** 签发时写入、验签时要求的 aud */
+    private String audience = "internal";
+    /** 有效期 */
+    private Duration expire = Duration.ofMinutes(5);
+  }
+
+  /**
+   * 按 kid 索引的密钥环，见 JwtKeyRing
+   */
+  @Data
+  public static class JwtKeysProperties {
+    /** 配置中 privateKey/publicKey 的 kid，不带 kid 的旧 token 也用它验签 */
+    private String defaultKid = "default";
+    /** 密钥目录（{@code <kid>.public.pem}、{@code <kid>.private.pem}、{@code active}），为空时只使用配置中的密钥 */
+    private String directory;
+    /** 检查密钥目录的间隔 */
+    private Duration reloadInterval = Duration.ofSeconds(30);
+  }
+
+  /**
+   * jti 吊销列表，Bloom filter + 精确集合
+   */
+  @Data
+  public static class RevocationProperties {
+    /** 预期同时有效的吊销数，决定 Bloom filter 大小 */
+    private long expectedRevocations = 100_000;
+    /** Bloom filter 误判率，误判只会多查一次精确集合 */
+    private double falsePositiveRate = 0.01;
+    /** 快照文件，为空时不持久化 */
+    private String snapshotFile = "./data/revoked-jti.bin";
+    /** 删除过期条目与写快照的间隔 */
+    private Duration maintenanceInterval = Duration.ofMinutes(1);
+  }
+
+  /**
+   * 登录时把权限与账户状态写入 token，认证时不再按请求加载用户
+   */
+  @Data
+  public static class JwtStatelessProperties {
+    private boolean enabled = false;
+    /** claims 中权限快照的最大陈旧度，超过后重新加载用户 */
+    private Duration maxStaleness = Duration.ofMinutes(5);
+    /** claims 过旧时重新加载的用户按用户名缓存 max-staleness，最多缓存的用户数 */
+    private long maximumSize = 10_000;
+  }
+
+  /**
+   * 已验签 token 缓存，命中时跳过 RSA 验签
+   */
+  @Data
+  public static class JwtCacheProperties {
+    private boolean enabled = true;
+    /** 最多缓存的 token 数量 */
+    private long maximumSize = 10_000;
+    /** 缓存时间上限，实际不会超过 token 的 exp */
+    private Duration ttl = Duration.ofMinutes(5);
   }
 }
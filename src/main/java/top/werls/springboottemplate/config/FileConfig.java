@@ -7,6 +7,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import top.werls.springboottemplate.common.file.FileManagers;
+import top.werls.springboottemplate.common.file.JfrFileManagers;
 import top.werls.springboottemplate.common.file.impl.FileLocal;
 
 
@@ -31,7 +32,7 @@ public class FileConfig {
     public FileManagers fileManagers (){
         switch (configProperties.getFileConfig().getType()){
             case LOCAL -> {
-                return  new FileLocal(configProperties.getFileConfig().getPath());
+                return new JfrFileManagers(new FileLocal(configProperties.getFileConfig().getPath()));
             }
             case  MINION -> {
 
@@ -0,0 +1,23 @@
+package top.werls.springboottemplate.config;
+
+/**
+ * JWT 签名算法，需与 {@code env.jwt.privateKey}/{@code publicKey} 的密钥类型一致
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public enum JwtAlgorithm {
+  /**
+   * RSA PKCS#1 v1.5 + SHA-256，签名 256 字节（2048 位密钥），签名慢、验签快
+   */
+  RS256,
+  /**
+   * ECDSA P-256 + SHA-256，签名 64 字节，签名快、验签比 RSA 慢
+   */
+  ES256,
+  /**
+   * EdDSA Ed25519，签名 64 字节，签名与验签都快
+   */
+  ED25519,
+}
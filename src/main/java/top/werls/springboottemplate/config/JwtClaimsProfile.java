@@ -0,0 +1,19 @@
+package top.werls.springboottemplate.config;
+
+/**
+ * JWT claims 的编码方式，两种方式签发的 token 都能被 {@code JwtTokenUtils} 的访问方法读取，切换不会使已签发的 token 失效
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public enum JwtClaimsProfile {
+  /**
+   * 用户名写入 {@code username}，另带与 {@code iat} 重复的 {@code time}，jti 为 36 字符的 UUID 字符串
+   */
+  STANDARD,
+  /**
+   * 用户名写入 {@code sub}，不带 {@code time}，jti 为 128 位随机数的 Base64URL 编码（22 字符），Base64URL 编码后每个 token 约短 50 字节
+   */
+  COMPACT,
+}
@@ -0,0 +1,19 @@
+package top.werls.springboottemplate.config;
+
+/**
+ * 内部调用 token 的 HMAC 算法，见 {@code env.jwt.internal}
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public enum JwtHmacAlgorithm {
+  /**
+   * HMAC + SHA-256，密钥至少 32 字节
+   */
+  HS256,
+  /**
+   * HMAC + SHA-512，密钥至少 64 字节
+   */
+  HS512,
+}
@@ -0,0 +1,65 @@
+package top.werls.springboottemplate.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBinding;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.io.DefaultResourceLoader;
+import top.werls.springboottemplate.common.utils.crypto.asymmetric.PemKeys;
+
+/**
+ * 绑定 {@code env.jwt.privateKey}/{@code publicKey}：值可以是资源位置（{@code classpath:}、{@code file:}）或 PEM
+ * 文本，支持 RSA、EC、Ed25519，见 {@link PemKeys}
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Configuration
+public class JwtKeyConfig {
+
+  @Bean
+  @ConfigurationPropertiesBinding
+  public static PrivateKeyConverter privateKeyConverter() {
+    return new PrivateKeyConverter();
+  }
+
+  @Bean
+  @ConfigurationPropertiesBinding
+  public static PublicKeyConverter publicKeyConverter() {
+    return new PublicKeyConverter();
+  }
+
+  static String read(String value) {
+    if (value.strip().startsWith("-----BEGIN")) {
+      return value;
+    }
+    try (InputStream in = new DefaultResourceLoader().getResource(value.strip()).getInputStream()) {
+      return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+    } catch (IOException e) {
+      throw new UncheckedIOException("读取密钥失败: " + value, e);
+    }
+  }
+
+  public static class PrivateKeyConverter implements Converter<String, PrivateKey> {
+
+    @Override
+    public PrivateKey convert(String source) {
+      return PemKeys.readPrivateKey(read(source));
+    }
+  }
+
+  public static class PublicKeyConverter implements Converter<String, PublicKey> {
+
+    @Override
+    public PublicKey convert(String source) {
+      return PemKeys.readPublicKey(read(source));
+    }
+  }
+}
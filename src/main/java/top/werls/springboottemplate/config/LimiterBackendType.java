@@ -0,0 +1,19 @@
+package top.werls.springboottemplate.config;
+
+/**
+ * 限流计数后端
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public enum LimiterBackendType {
+  /**
+   * 本机内存计数，多副本时每个节点各自计数
+   */
+  LOCAL,
+  /**
+   * Redis 协议服务端计数，所有节点共享额度
+   */
+  REDIS,
+}
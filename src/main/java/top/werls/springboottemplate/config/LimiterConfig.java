@@ -0,0 +1,56 @@
+package top.werls.springboottemplate.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.werls.springboottemplate.common.limiter.LimiterBackend;
+import top.werls.springboottemplate.common.limiter.LocalLimiter;
+import top.werls.springboottemplate.common.limiter.resp.RespClient;
+import top.werls.springboottemplate.common.limiter.resp.RespLimiterBackend;
+
+/**
+ * 配置限流计数后端
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Configuration
+public class LimiterConfig {
+
+  private final ConfigProperties configProperties;
+
+  public LimiterConfig(ConfigProperties configProperties) {
+    this.configProperties = configProperties;
+  }
+
+  @Bean
+  public LimiterBackend limiterBackend() {
+    ConfigProperties.LimiterProperties limiter = configProperties.getLimiter();
+    LocalLimiter local = new LocalLimiter(limiter.getMaximumKeys(), limiter.getTableCapacity());
+    switch (limiter.getBackend()) {
+      case REDIS -> {
+        ConfigProperties.RedisProperties redis = limiter.getRedis();
+        RespClient client =
+            new RespClient(
+                redis.getHost(),
+                redis.getPort(),
+                redis.getPassword(),
+                redis.getDatabase(),
+                redis.getTimeoutMillis(),
+                redis.getPoolSize());
+        return new RespLimiterBackend(
+            client,
+            local,
+            redis.getKeyPrefix(),
+            redis.getPrefetchRatio(),
+            redis.getMaxPrefetch(),
+            limiter.getMaximumKeys(),
+            redis.getCircuitCooldownMillis());
+      }
+      case LOCAL -> {
+        return local;
+      }
+    }
+    return local;
+  }
+}
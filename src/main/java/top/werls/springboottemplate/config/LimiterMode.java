@@ -0,0 +1,19 @@
+package top.werls.springboottemplate.config;
+
+/**
+ * 限流注解的执行位置
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public enum LimiterMode {
+  /**
+   * 在 Security 过滤链最前端执行，被拒绝的请求不经过 JWT 校验
+   */
+  FILTER,
+  /**
+   * 由切面在 controller 外层执行
+   */
+  ASPECT,
+}
@@ -3,9 +3,11 @@ package top.werls.springboottemplate.config;
 import static org.springframework.security.config.Customizer.withDefaults;
 
 import jakarta.annotation.Resource;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -19,9 +21,16 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
+import top.werls.springboottemplate.common.limiter.RequestLimitFilter;
+import top.werls.springboottemplate.common.limiter.adaptive.AdaptiveConcurrencyFilter;
+import top.werls.springboottemplate.common.limiter.quota.QuotaFilter;
+import top.werls.springboottemplate.common.limiter.shedding.LoadSheddingFilter;
 import top.werls.springboottemplate.system.Security.CustomizeAccessDeniedHandler;
 import top.werls.springboottemplate.system.Security.CustomizeAuthEntryPoint;
 import top.werls.springboottemplate.system.Security.JwtAuthenticationTokenFilter;
+import top.werls.springboottemplate.system.Security.JwtLogoutHandler;
 import top.werls.springboottemplate.system.service.impl.UserDetailsServiceImpl;
 
 @Configuration
@@ -36,6 +45,17 @@ public class SecurityConfig {
 
   private final CustomizeAccessDeniedHandler accessDeniedHandler;
 
+  private final ObjectProvider<RequestLimitFilter> requestLimitFilter;
+
+  private final AdaptiveConcurrencyFilter adaptiveConcurrencyFilter;
+
+  private final QuotaFilter quotaFilter;
+
+  private final LoadSheddingFilter loadSheddingFilter;
+
+  private final JwtLogoutHandler logoutHandler;
+
+  private final ConfigProperties configProperties;
 
   public UserDetailsServiceImpl userDetailsService;
 
@@ -44,11 +64,21 @@ public class SecurityConfig {
 
   public SecurityConfig(JwtAuthenticationTokenFilter jwtAuthenticationTokenFilter,
       CustomizeAuthEntryPoint authEntryPoint, CustomizeAccessDeniedHandler accessDeniedHandler,
-      UserDetailsServiceImpl userDetailsService) {
+      UserDetailsServiceImpl userDetailsService,
+      ObjectProvider<RequestLimitFilter> requestLimitFilter,
+      AdaptiveConcurrencyFilter adaptiveConcurrencyFilter, QuotaFilter quotaFilter,
+      LoadSheddingFilter loadSheddingFilter, JwtLogoutHandler logoutHandler,
+      ConfigProperties configProperties) {
     this.jwtAuthenticationTokenFilter = jwtAuthenticationTokenFilter;
     this.authEntryPoint = authEntryPoint;
     this.accessDeniedHandler = accessDeniedHandler;
     this.userDetailsService = userDetailsService;
+    this.requestLimitFilter = requestLimitFilter;
+    this.adaptiveConcurrencyFilter = adaptiveConcurrencyFilter;
+    this.quotaFilter = quotaFilter;
+    this.loadSheddingFilter = loadSheddingFilter;
+    this.logoutHandler = logoutHandler;
+    this.configProperties = configProperties;
   }
 
   @Bean
@@ -75,16 +105,43 @@ public class SecurityConfig {
     }
     http.cors(withDefaults())
         .csrf(AbstractHttpConfigurer::disable)
-        .authorizeHttpRequests(
-            (requests) -> requests.requestMatchers("/login").permitAll().anyRequest()
-                .authenticated())
+        .authorizeHttpRequests((requests) -> requests
+            .requestMatchers("/login").permitAll()
+            // 重新加载配额会改变全局限流行为，只允许管理员
+            .requestMatchers(HttpMethod.POST, "/actuator/quotas").hasRole("ADMIN")
+            // 查看状态、启停、导出与下载 JFR 录制，录制中包含线程栈与请求数据
+            .requestMatchers("/actuator/jfr", "/actuator/jfr/*").hasRole("ADMIN")
+            // 慢请求的调用栈采样、用户名与请求 URI
+            .requestMatchers("/actuator/slowrequests/**").hasRole("ADMIN")
+            .anyRequest().authenticated())
         .exceptionHandling((authorizeRequests) -> authorizeRequests
             .accessDeniedHandler(accessDeniedHandler)
             .authenticationEntryPoint(authEntryPoint)
         )
-        .addFilterBefore(jwtAuthenticationTokenFilter, UsernamePasswordAuthenticationFilter.class)
-        .sessionManagement((sessionManagement) -> sessionManagement
-            .sessionCreationPolicy(SessionCreationPolicy.ALWAYS));
+        // 登出吊销当前 token 的 jti
+        .logout((logout) -> logout
+            .logoutUrl("/logout")
+            .addLogoutHandler(logoutHandler)
+            .logoutSuccessHandler(logoutHandler)
+        )
+        .addFilterBefore(jwtAuthenticationTokenFilter, UsernamePasswordAuthenticationFilter.class);
+    if (configProperties.getSecurity().isStateless()) {
+      // 每个请求都由 JWT 重新认证，SecurityContext 只需在请求内可见，不创建也不访问 HttpSession
+      http.sessionManagement((sessionManagement) -> sessionManagement
+              .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+          .securityContext((securityContext) -> securityContext
+              .securityContextRepository(new RequestAttributeSecurityContextRepository()));
+    } else {
+      http.sessionManagement((sessionManagement) -> sessionManagement
+          .sessionCreationPolicy(SessionCreationPolicy.ALWAYS));
+    }
+    // 降载与限流放在过滤链最前端，被拒绝的请求不再经过 JWT 校验；同一位置的过滤器按添加顺序执行
+    http.addFilterBefore(loadSheddingFilter, DisableEncodeUrlFilter.class);
+    requestLimitFilter.ifAvailable(
+        filter -> http.addFilterBefore(filter, DisableEncodeUrlFilter.class));
+    http.addFilterBefore(adaptiveConcurrencyFilter, DisableEncodeUrlFilter.class);
+    // 用户配额依赖已验证的用户名，放在 JWT 校验之后
+    http.addFilterAfter(quotaFilter, JwtAuthenticationTokenFilter.class);
 
     return http.build();
   }
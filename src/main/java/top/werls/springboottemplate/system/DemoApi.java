@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import top.werls.springboottemplate.common.annotation.RequestLimit;
+import top.werls.springboottemplate.common.annotation.RequestPriority;
 import top.werls.springboottemplate.common.annotation.RequestRateLimit;
 import top.werls.springboottemplate.common.utils.MessageUtils;
 import top.werls.springboottemplate.config.SwaggerConfig;
@@ -18,6 +19,7 @@ import top.werls.springboottemplate.config.SwaggerConfig;
 @Tag(name = "DemoApi", description = "the DemoApi API")
 @RestController
 @RequestMapping("/demo")
+@RequestPriority(RequestPriority.Level.LOW)
 public class DemoApi {
 
 
@@ -1,7 +1,10 @@
 package top.werls.springboottemplate.system.Security;
 
 
-import jakarta.annotation.Resource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,13 +13,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import top.werls.springboottemplate.common.apitoken.ApiTokenRecord;
+import top.werls.springboottemplate.common.apitoken.ApiTokenService;
+import top.werls.springboottemplate.common.revocation.RevocationService;
+import top.werls.springboottemplate.common.utils.JwtMetrics;
 import top.werls.springboottemplate.common.utils.JwtTokenUtils;
+import top.werls.springboottemplate.config.ConfigProperties;
 
 
 import java.io.IOException;
@@ -37,9 +48,30 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
 
   private final UserDetailsService userDetailsService;
 
-  public JwtAuthenticationTokenFilter(JwtTokenUtils tokenUtils, UserDetailsService userDetailsService) {
+  private final ConfigProperties.JwtStatelessProperties stateless;
+
+  private final RevocationService revocationService;
+
+  private final ApiTokenService apiTokenService;
+
+  /** 无状态模式下 claims 过旧时重新加载的用户，缓存 max-staleness，未启用时为 null */
+  private final Cache<String, UserDetails> reloadedUsers;
+
+  public JwtAuthenticationTokenFilter(JwtTokenUtils tokenUtils, UserDetailsService userDetailsService,
+      ConfigProperties configProperties, RevocationService revocationService,
+      ApiTokenService apiTokenService) {
     this.tokenUtils = tokenUtils;
     this.userDetailsService = userDetailsService;
+    this.stateless = configProperties.getJwt().getStateless();
+    this.revocationService = revocationService;
+    this.apiTokenService = apiTokenService;
+    this.reloadedUsers =
+        stateless.isEnabled()
+            ? Caffeine.newBuilder()
+                .maximumSize(stateless.getMaximumSize())
+                .expireAfterWrite(stateless.getMaxStaleness())
+                .build()
+            : null;
   }
 
   /**
@@ -56,23 +88,145 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
       FilterChain filterChain) throws ServletException, IOException {
     String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-    if (authHeader != null && authHeader.startsWith(tokenPrefix)) {
+    if (authHeader != null && authHeader.startsWith(tokenPrefix)
+        && SecurityContextHolder.getContext().getAuthentication() == null) {
       String authToken = authHeader.substring(tokenPrefix.length()).trim();
-      String username = tokenUtils.getUsernameFromToken(authToken);
-      if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        if (tokenUtils.validateToken(authToken, userDetails.getUsername())) {
-          UsernamePasswordAuthenticationToken authentication =
-              new UsernamePasswordAuthenticationToken(userDetails, null,
-                  userDetails.getAuthorities());
-          authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-          SecurityContextHolder.getContext().setAuthentication(authentication);
-          log.info("Authenticated user: {}", username);
-        }
+      // 按前缀与 JOSE 头部分流，每个 token 只交给一种校验方式
+      Authentication authentication;
+      if (apiTokenService.supports(authToken)) {
+        authentication = authenticateApiToken(authToken, request);
+      } else if (tokenUtils.isInternalToken(authToken)) {
+        authentication = authenticateInternal(authToken, request);
+      } else {
+        authentication = authenticate(authToken, request);
+      }
+      if (authentication != null) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
       }
-      // todo API 存储在数据库的token ，可以在这里进行校验
-
     }
     filterChain.doFilter(request, response);
   }
+
+  /**
+   * 解析并验签一次 token，直接用验签后的 claims 构建认证信息。
+   *
+   * <p>启用 {@code env.jwt.stateless} 时权限与账户状态也取自 claims，见 {@link UserClaims}。
+   *
+   * <p>验签失败（过期、签名错误、格式错误）或 jti 已吊销时返回 null，请求以匿名身份继续，由入口点返回 401，而不是把异常抛出过滤器链。
+   *
+   * <p>每次认证按结果记录 {@code jwt.authentication} 耗时，见 {@link JwtMetrics}。
+   *
+   * @param token 去掉前缀的 token
+   * @param request 当前请求
+   * @return 认证信息，token 无效时返回 null
+   */
+  private Authentication authenticate(String token, HttpServletRequest request) {
+    long start = System.nanoTime();
+    JwtMetrics.Outcome outcome = JwtMetrics.Outcome.REJECTED;
+    try {
+      Claims claims;
+      try {
+        claims = tokenUtils.getClaimsFromToken(token);
+      } catch (JwtException | IllegalArgumentException e) {
+        outcome = JwtMetrics.Outcome.of(e);
+        log.debug("Invalid token: {}", e.getMessage());
+        return null;
+      }
+      if (revocationService.isRevoked(claims.getId())) {
+        outcome = JwtMetrics.Outcome.REVOKED;
+        log.debug("Revoked token: {}", claims.getId());
+        return null;
+      }
+      String username = tokenUtils.getUsername(claims);
+      if (username == null) {
+        return null;
+      }
+      UserDetails userDetails = loadUser(username, claims);
+      if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()
+          || !userDetails.isAccountNonExpired()) {
+        log.debug("Account unavailable: {}", username);
+        return null;
+      }
+      UsernamePasswordAuthenticationToken authentication =
+          UsernamePasswordAuthenticationToken.authenticated(userDetails, null,
+              userDetails.getAuthorities());
+      authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+      outcome = JwtMetrics.Outcome.OK;
+      log.debug("Authenticated user: {}", username);
+      return authentication;
+    } finally {
+      tokenUtils.getMetrics().recordAuthentication(outcome, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * 服务间调用的 HMAC token：验签并校验 aud 后直接用 claims 中的调用方与权限构建认证信息，不加载用户。
+   *
+   * @param token 去掉前缀的 token
+   * @param request 当前请求
+   * @return 认证信息，token 无效时返回 null
+   */
+  private Authentication authenticateInternal(String token, HttpServletRequest request) {
+    long start = System.nanoTime();
+    JwtMetrics.Outcome outcome = JwtMetrics.Outcome.MALFORMED;
+    try {
+      Claims claims = tokenUtils.getClaimsFromInternalToken(token);
+      if (claims.getSubject() == null) {
+        return null;
+      }
+      UserDetails userDetails =
+          new User(claims.getSubject(), "",
+              AuthorityUtils.createAuthorityList(tokenUtils.getInternalAuthorities(claims)));
+      UsernamePasswordAuthenticationToken authentication =
+          UsernamePasswordAuthenticationToken.authenticated(userDetails, null,
+              userDetails.getAuthorities());
+      authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+      outcome = JwtMetrics.Outcome.OK;
+      return authentication;
+    } catch (JwtException | IllegalArgumentException e) {
+      outcome = JwtMetrics.Outcome.of(e);
+      log.debug("Invalid internal token: {}", e.getMessage());
+      return null;
+    } finally {
+      tokenUtils.getMetrics().recordInternalAuthentication(outcome, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * 校验存储中的 API token，查询结果由 {@link ApiTokenService} 缓存。
+   *
+   * @param token API token 原文
+   * @param request 当前请求
+   * @return 认证信息，token 不存在或已过期时返回 null
+   */
+  private Authentication authenticateApiToken(String token, HttpServletRequest request) {
+    ApiTokenRecord record = apiTokenService.authenticate(token);
+    if (record == null) {
+      log.debug("Invalid api token");
+      return null;
+    }
+    UserDetails userDetails =
+        new User(record.username(), "", AuthorityUtils.createAuthorityList(record.authorities()));
+    UsernamePasswordAuthenticationToken authentication =
+        UsernamePasswordAuthenticationToken.authenticated(userDetails, null,
+            userDetails.getAuthorities());
+    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+    return authentication;
+  }
+
+  /**
+   * 启用无状态模式且 claims 中的权限快照足够新时直接从 claims 还原用户，否则加载用户。
+   *
+   * <p>无状态模式下 claims 过旧时加载的用户按用户名缓存 max-staleness，与 claims 快照的陈旧度上限一致，
+   * 避免 token 签发超过 max-staleness 后每个请求都加载一次用户。
+   */
+  private UserDetails loadUser(String username, Claims claims) {
+    if (reloadedUsers == null) {
+      return userDetailsService.loadUserByUsername(username);
+    }
+    if (UserClaims.isFresh(claims, stateless.getMaxStaleness(), System.currentTimeMillis())) {
+      return UserClaims.decode(username, claims);
+    }
+    return reloadedUsers.get(username, userDetailsService::loadUserByUsername);
+  }
 }
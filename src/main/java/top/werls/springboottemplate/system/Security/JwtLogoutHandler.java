@@ -0,0 +1,74 @@
+package top.werls.springboottemplate.system.Security;
+
+import com.google.gson.Gson;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.security.web.authentication.logout.LogoutSuccessHandler;
+import org.springframework.stereotype.Component;
+import top.werls.springboottemplate.common.ResultData;
+import top.werls.springboottemplate.common.revocation.RevocationService;
+import top.werls.springboottemplate.common.utils.JwtTokenUtils;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 登出：吊销请求携带的 token 的 jti，token 在 exp 之前不能再使用。
+ *
+ * <p>LogoutFilter 位于 JWT 过滤器之前，这里自行从请求头解析 token；token 无效时不做处理，同样返回成功。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+@Slf4j
+@Component
+public class JwtLogoutHandler implements LogoutHandler, LogoutSuccessHandler {
+
+  private final Gson gson = new Gson();
+
+  private final JwtTokenUtils tokenUtils;
+  private final RevocationService revocationService;
+  private final String tokenPrefix;
+
+  public JwtLogoutHandler(JwtTokenUtils tokenUtils, RevocationService revocationService,
+      ConfigProperties configProperties) {
+    this.tokenUtils = tokenUtils;
+    this.revocationService = revocationService;
+    this.tokenPrefix = configProperties.getJwt().getTokenPrefix();
+  }
+
+  @Override
+  public void logout(HttpServletRequest request, HttpServletResponse response,
+      Authentication authentication) {
+    String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (authHeader == null || !authHeader.startsWith(tokenPrefix)) {
+      return;
+    }
+    try {
+      Claims claims =
+          tokenUtils.getClaimsFromToken(authHeader.substring(tokenPrefix.length()).trim());
+      Date expiration = claims.getExpiration();
+      revocationService.revoke(claims.getId(),
+          expiration == null ? Long.MAX_VALUE : expiration.getTime());
+      log.info("Logout: {}", tokenUtils.getUsername(claims));
+    } catch (JwtException | IllegalArgumentException e) {
+      log.debug("Logout with invalid token: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void onLogoutSuccess(HttpServletRequest request, HttpServletResponse response,
+      Authentication authentication) throws IOException {
+    response.setCharacterEncoding("UTF-8");
+    response.setContentType("application/json");
+    response.getWriter().println(gson.toJson(ResultData.success()));
+    response.getWriter().flush();
+  }
+}
@@ -0,0 +1,100 @@
+package top.werls.springboottemplate.system.Security;
+
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * 把权限与账户状态压缩为 JWT claims，认证时直接从验签后的 claims 还原 {@link UserDetails}，不再按请求查询用户。
+ *
+ * <ul>
+ *   <li>{@code auth}：权限名数组</li>
+ *   <li>{@code flg}：账户状态位，见 {@link #ENABLED} 等常量，全部正常时为 15</li>
+ * </ul>
+ *
+ * <p>claims 中的权限是签发时的快照，超过 {@code env.jwt.stateless.max-staleness} 后由过滤器重新加载用户。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class UserClaims {
+
+  static final String AUTHORITIES = "auth";
+  static final String FLAGS = "flg";
+
+  static final int ENABLED = 1;
+  static final int ACCOUNT_NON_EXPIRED = 1 << 1;
+  static final int CREDENTIALS_NON_EXPIRED = 1 << 2;
+  static final int ACCOUNT_NON_LOCKED = 1 << 3;
+
+  private UserClaims() {}
+
+  /**
+   * 签发 token 时写入的 claims
+   *
+   * @param user 登录用户
+   * @return 权限与状态位
+   */
+  public static Map<String, Object> encode(UserDetails user) {
+    Map<String, Object> claims = new HashMap<>(4);
+    claims.put(AUTHORITIES, AuthorityUtils.authorityListToSet(user.getAuthorities()).stream().toList());
+    claims.put(FLAGS, flags(user));
+    return claims;
+  }
+
+  /**
+   * claims 中的快照是否可以直接使用：包含权限信息且签发时间在允许的陈旧度之内
+   *
+   * @param claims 验签后的 claims
+   * @param maxStaleness 允许的最大陈旧度
+   * @param now 当前时间
+   * @return 可以直接使用时返回 true，否则应重新加载用户
+   */
+  public static boolean isFresh(Claims claims, Duration maxStaleness, long now) {
+    Date issuedAt = claims.getIssuedAt();
+    return claims.containsKey(AUTHORITIES)
+        && issuedAt != null
+        && now - issuedAt.getTime() <= maxStaleness.toMillis();
+  }
+
+  /**
+   * 从 claims 还原用户，密码为空字符串
+   *
+   * @param username 用户名
+   * @param claims 验签后的 claims
+   * @return 用户
+   */
+  public static UserDetails decode(String username, Claims claims) {
+    List<?> names = claims.get(AUTHORITIES, List.class);
+    Collection<GrantedAuthority> authorities =
+        names == null
+            ? List.of()
+            : AuthorityUtils.createAuthorityList(names.stream().map(String::valueOf).toList());
+    Integer value = claims.get(FLAGS, Integer.class);
+    int flags = value == null ? 0 : value;
+    return new User(
+        username,
+        "",
+        (flags & ENABLED) != 0,
+        (flags & ACCOUNT_NON_EXPIRED) != 0,
+        (flags & CREDENTIALS_NON_EXPIRED) != 0,
+        (flags & ACCOUNT_NON_LOCKED) != 0,
+        authorities);
+  }
+
+  static int flags(UserDetails user) {
+    return (user.isEnabled() ? ENABLED : 0)
+        | (user.isAccountNonExpired() ? ACCOUNT_NON_EXPIRED : 0)
+        | (user.isCredentialsNonExpired() ? CREDENTIALS_NON_EXPIRED : 0)
+        | (user.isAccountNonLocked() ? ACCOUNT_NON_LOCKED : 0);
+  }
+}
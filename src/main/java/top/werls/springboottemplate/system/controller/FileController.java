@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import top.werls.springboottemplate.common.ResultData;
+import top.werls.springboottemplate.common.annotation.Bulkhead;
 import top.werls.springboottemplate.common.file.FileManagers;
 import top.werls.springboottemplate.common.utils.MessageUtils;
 
@@ -35,6 +36,7 @@ public class FileController {
   }
 
   @RequestMapping("/download/{filename}")
+  @Bulkhead(name = "file-io", maxConcurrent = 32, maxWaitMs = 500, maxQueue = 64)
   public ResultData<String> download(HttpServletResponse response, @PathVariable String filename)
       throws IOException {
     File file = fileManagers.get(filename);
@@ -60,6 +62,7 @@ public class FileController {
   }
 
   @RequestMapping("/upload")
+  @Bulkhead(name = "file-io", maxConcurrent = 32, maxWaitMs = 500, maxQueue = 64)
   public ResultData<String> fileUpload(@RequestParam("file") MultipartFile file)
       throws IOException {
     if (!file.isEmpty()) {
@@ -8,7 +8,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import top.werls.springboottemplate.common.ResultData;
+import top.werls.springboottemplate.common.annotation.AdaptiveLimit;
+import top.werls.springboottemplate.common.annotation.Bulkhead;
 import top.werls.springboottemplate.common.annotation.RequestLimit;
+import top.werls.springboottemplate.common.annotation.RequestPriority;
 import top.werls.springboottemplate.system.param.LoginParam;
 import top.werls.springboottemplate.system.service.SysUserService;
 import top.werls.springboottemplate.system.vo.LoginVo;
@@ -30,6 +33,9 @@ public class LoginController {
 
   @PostMapping("/login")
   @RequestLimit(frequency = 2)
+  @AdaptiveLimit(initialLimit = 8, maxLimit = 64)
+  @RequestPriority(RequestPriority.Level.CRITICAL)
+  @Bulkhead(name = "bcrypt", maxConcurrent = 8, maxWaitMs = 1000, maxQueue = 32)
   public ResultData<LoginVo> login(@RequestBody LoginParam param,
       HttpServletRequest servletRequest) {
 
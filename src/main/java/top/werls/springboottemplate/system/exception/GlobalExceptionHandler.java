@@ -3,9 +3,13 @@ package top.werls.springboottemplate.system.exception;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import top.werls.springboottemplate.common.ResultData;
+import top.werls.springboottemplate.common.limiter.LimitResponses;
+import top.werls.springboottemplate.common.limiter.RateLimitException;
+import top.werls.springboottemplate.common.limiter.bulkhead.BulkheadFullException;
 
 
 
@@ -32,4 +36,24 @@ public class GlobalExceptionHandler {
         return ResultData.systemError("JWT token expired");
     }
 
+    /**
+     * 限流拒绝，计数与采样日志已在抛出处记录，这里不再输出日志
+     */
+    @ExceptionHandler(RateLimitException.class)
+    public ResultData<String > rateLimitExceptionHandler(RateLimitException e, HttpServletResponse response) {
+        LimitResponses.writeHeaders(response, e.getDecision());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return ResultData.tooManyRequests();
+    }
+
+    /**
+     * 舱壁已满，同样不输出日志
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResultData<String > bulkheadFullExceptionHandler(BulkheadFullException e, HttpServletResponse response) {
+        LimitResponses.writeRetryAfter(response, e.getRetryAfterMillis());
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        return ResultData.fail(e.getMessage());
+    }
+
 }
@@ -9,6 +9,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import top.werls.springboottemplate.common.utils.JwtTokenUtils;
+import top.werls.springboottemplate.config.ConfigProperties;
+import top.werls.springboottemplate.system.Security.UserClaims;
 import top.werls.springboottemplate.system.param.LoginParam;
 import top.werls.springboottemplate.system.service.SysUserService;
 import top.werls.springboottemplate.system.vo.LoginVo;
@@ -22,13 +24,16 @@ public class SysUserServiceImpl implements SysUserService {
 
   private final PasswordEncoder passwordEncoder;
   private final JwtTokenUtils tokenUtils;
+  private final ConfigProperties configProperties;
 
 
   public SysUserServiceImpl(UserDetailsServiceImpl userDetailsService,
-      PasswordEncoder passwordEncoder, JwtTokenUtils tokenUtils) {
+      PasswordEncoder passwordEncoder, JwtTokenUtils tokenUtils,
+      ConfigProperties configProperties) {
     this.userDetailsService = userDetailsService;
     this.passwordEncoder = passwordEncoder;
     this.tokenUtils = tokenUtils;
+    this.configProperties = configProperties;
   }
 
   /**
@@ -49,7 +54,13 @@ public class SysUserServiceImpl implements SysUserService {
         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
     LoginVo loginVo = new LoginVo();
-    loginVo.setToken(tokenUtils.generateToken(userDetails.getUsername()));
+    if (configProperties.getJwt().getStateless().isEnabled()) {
+      // 权限与账户状态写入 token，认证时不再加载用户
+      loginVo.setToken(
+          tokenUtils.generateToken(userDetails.getUsername(), UserClaims.encode(userDetails)));
+    } else {
+      loginVo.setToken(tokenUtils.generateToken(userDetails.getUsername()));
+    }
     return loginVo;
   }
 
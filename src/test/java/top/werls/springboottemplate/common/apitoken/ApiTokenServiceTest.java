@@ -0,0 +1,107 @@
+package top.werls.springboottemplate.common.apitoken;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.common.utils.JwtTokenUtils;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class ApiTokenServiceTest {
+
+  private final AtomicInteger lookups = new AtomicInteger();
+  private final List<Map<String, Instant>> batches = new ArrayList<>();
+
+  private final InMemoryApiTokenRepository store = new InMemoryApiTokenRepository();
+
+  private final ApiTokenRepository repository =
+      new ApiTokenRepository() {
+        @Override
+        public Optional<ApiTokenRecord> findByHash(String tokenHash) {
+          lookups.incrementAndGet();
+          return store.findByHash(tokenHash);
+        }
+
+        @Override
+        public void updateLastUsed(Map<String, Instant> lastUsed) {
+          batches.add(lastUsed);
+          store.updateLastUsed(lastUsed);
+        }
+      };
+
+  private final ApiTokenService service =
+      new ApiTokenService(new ConfigProperties.ApiTokenProperties(), repository, false);
+
+  private String issue(Instant expiresAt) {
+    String token = JwtTokenUtils.generateApiToken("sk", 32);
+    store.save(new ApiTokenRecord(JwtTokenUtils.hashString(token), "bot", List.of("ROLE_API"),
+        expiresAt));
+    return token;
+  }
+
+  @Test
+  void supportsPrefixedTokensOnly() {
+    assertTrue(service.supports("sk_abc"));
+    assertFalse(service.supports("eyJhbGciOiJSUzI1NiJ9.e30.sig"));
+  }
+
+  @Test
+  void positiveResultCached() {
+    String token = issue(null);
+    for (int i = 0; i < 1_000; i++) {
+      assertEquals("bot", service.authenticate(token).username());
+    }
+    assertEquals(1, lookups.get());
+  }
+
+  @Test
+  void negativeResultCached() {
+    for (int i = 0; i < 1_000; i++) {
+      assertNull(service.authenticate("sk_unknown"));
+    }
+    assertEquals(1, lookups.get());
+  }
+
+  @Test
+  void expiredTokenRejected() {
+    String token = issue(Instant.now().minusSeconds(1));
+    assertNull(service.authenticate(token));
+  }
+
+  @Test
+  void invalidateReloads() {
+    String token = issue(null);
+    assertNotNull(service.authenticate(token));
+    String hash = JwtTokenUtils.hashString(token);
+    store.delete(hash);
+    service.invalidate(hash);
+    assertNull(service.authenticate(token));
+    assertEquals(2, lookups.get());
+  }
+
+  @Test
+  void lastUsedWrittenInBatches() {
+    String first = issue(null);
+    String second = issue(null);
+    for (int i = 0; i < 100; i++) {
+      service.authenticate(first);
+      service.authenticate(second);
+    }
+    assertTrue(batches.isEmpty());
+    service.flush();
+    assertEquals(1, batches.size());
+    assertEquals(2, batches.get(0).size());
+    assertTrue(store.lastUsed(JwtTokenUtils.hashString(first)).isPresent());
+    service.flush();
+    assertEquals(1, batches.size());
+  }
+}
@@ -0,0 +1,326 @@
+package top.werls.springboottemplate.common.aspect;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.method.HandlerMethod;
+import top.werls.springboottemplate.common.limiter.EndpointPolicy;
+import top.werls.springboottemplate.common.limiter.LimitRule;
+import top.werls.springboottemplate.common.limiter.LocalLimiter;
+import top.werls.springboottemplate.common.limiter.RateLimitException;
+import top.werls.springboottemplate.common.limiter.adaptive.AdaptiveConcurrencyLimiter;
+import top.werls.springboottemplate.common.limiter.adaptive.VegasLimit;
+import top.werls.springboottemplate.common.limiter.bulkhead.SemaphoreBulkhead;
+import top.werls.springboottemplate.common.limiter.quota.QuotaManager;
+import top.werls.springboottemplate.common.limiter.resp.RespClient;
+import top.werls.springboottemplate.common.limiter.resp.RespLimiterBackend;
+import top.werls.springboottemplate.common.limiter.resp.RespStandInServer;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 限流切面与限流引擎的多线程压力测试：大量线程、数千个客户端同时访问，检查放行数量是否超过规则上限。
+ *
+ * <p>覆盖本地限流、RESP 分布式后端（两个节点共享一个 {@link RespStandInServer}）、分级配额、自适应并发与舱壁。吞吐量与内存分配见
+ * {@code src/jmh} 下的基准测试。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class LimiterStressTest {
+
+  private static final int THREADS = 16;
+  private static final int CLIENTS = 2_000;
+  private static final int CALLS_PER_THREAD = 20_000;
+
+  /** 被测引擎：放行返回 true */
+  private interface Engine {
+    boolean tryAcquire(int client) throws Exception;
+  }
+
+  /** 并发执行，返回每个客户端的放行次数 */
+  private static AtomicIntegerArray run(Engine engine) throws Exception {
+    AtomicIntegerArray admitted = new AtomicIntegerArray(CLIENTS);
+    CountDownLatch start = new CountDownLatch(1);
+    try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+      Future<?>[] futures = new Future<?>[THREADS];
+      for (int t = 0; t < THREADS; t++) {
+        futures[t] =
+            executor.submit(
+                () -> {
+                  start.await();
+                  ThreadLocalRandom random = ThreadLocalRandom.current();
+                  for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                    int client = random.nextInt(CLIENTS);
+                    if (engine.tryAcquire(client)) {
+                      admitted.incrementAndGet(client);
+                    }
+                  }
+                  return null;
+                });
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    }
+    return admitted;
+  }
+
+  private static Engine aspect(Object aspect, ProceedingJoinPoint joinPoint) {
+    return client -> {
+      LimiterStubs.CLIENT.set(LimiterStubs.client(client));
+      try {
+        if (aspect instanceof RequestLimitCaffAspect caff) {
+          caff.doAround(joinPoint);
+        } else {
+          ((RequestRateLimiterAspect) aspect).doAround(joinPoint);
+        }
+        return true;
+      } catch (RateLimitException e) {
+        return false;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  private static EndpointPolicy policy(int id, String method) {
+    return new EndpointPolicy(
+        id, new HandlerMethod(new LimiterStubs.Target(), LimiterStubs.method(method)));
+  }
+
+  /** 固定窗口：每个客户端恰好放行 frequency 次（测试在一个窗口内完成，且每个客户端的请求数远大于上限） */
+  private static void assertExactWindow(AtomicIntegerArray admitted) {
+    for (int i = 0; i < CLIENTS; i++) {
+      assertEquals(LimiterStubs.FIXED_FREQUENCY, admitted.get(i), "client " + i);
+    }
+  }
+
+  /** 令牌桶：放行数不超过 突发容量 + 速率 * 耗时 */
+  private static void assertRateBound(AtomicIntegerArray admitted, long startNanos, int burst) {
+    double seconds = (System.nanoTime() - startNanos) / 1e9;
+    double permitsPerSecond = LimiterStubs.RATE_FREQUENCY / 60.0;
+    long bound = burst + (long) Math.ceil(permitsPerSecond * seconds) + 1;
+    for (int i = 0; i < CLIENTS; i++) {
+      assertTrue(admitted.get(i) <= bound, "client " + i + ": " + admitted.get(i) + " > " + bound);
+      assertTrue(admitted.get(i) >= 1, "client " + i);
+    }
+  }
+
+  @Test
+  void caffeineAspectAdmitsExactlyFrequencyPerClient() throws Exception {
+    assertExactWindow(
+        run(aspect(LimiterStubs.caffAspect(), LimiterStubs.joinPoint(LimiterStubs.method("fixed")))));
+  }
+
+  @Test
+  void rateLimiterAspectStaysUnderRate() throws Exception {
+    long start = System.nanoTime();
+    AtomicIntegerArray admitted =
+        run(aspect(LimiterStubs.rateAspect(), LimiterStubs.joinPoint(LimiterStubs.method("rated"))));
+    // Guava SmoothBursty 最多积累 1 秒的令牌
+    assertRateBound(admitted, start, (int) Math.ceil(LimiterStubs.RATE_FREQUENCY / 60.0));
+  }
+
+  @Test
+  void localLimiterStringKeysAdmitExactlyFrequency() throws Exception {
+    LocalLimiter limiter = new LocalLimiter();
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, LimiterStubs.FIXED_FREQUENCY, 60_000);
+    assertExactWindow(
+        run(client -> limiter.tryAcquire(LimiterStubs.client(client) + ":fixed", rule).allowed()));
+  }
+
+  @Test
+  void compactTableAdmitsExactlyFrequency() throws Exception {
+    LocalLimiter limiter = new LocalLimiter();
+    EndpointPolicy policy = policy(0, "fixed");
+    assertExactWindow(
+        run(client -> limiter.tryAcquire(LimiterStubs.client(client), policy, 0).allowed()));
+  }
+
+  @Test
+  void compactTableTokenBucketStaysUnderRate() throws Exception {
+    LocalLimiter limiter = new LocalLimiter();
+    EndpointPolicy policy = policy(1, "rated");
+    long start = System.nanoTime();
+    AtomicIntegerArray admitted =
+        run(client -> limiter.tryAcquire(LimiterStubs.client(client), policy, 0).allowed());
+    assertRateBound(admitted, start, (int) Math.ceil(LimiterStubs.RATE_FREQUENCY / 60.0));
+  }
+
+  @Test
+  void bulkheadNeverExceedsMaxConcurrent() throws Exception {
+    SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("stress", 4, 1, 8);
+    AtomicInteger inflight = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    run(
+        client -> {
+          if (!bulkhead.tryAcquire()) {
+            return false;
+          }
+          try {
+            peak.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+            Thread.onSpinWait();
+            return true;
+          } finally {
+            inflight.decrementAndGet();
+            bulkhead.release();
+          }
+        });
+    assertTrue(peak.get() <= 4, "peak: " + peak.get());
+    assertEquals(0, bulkhead.getInflight());
+    assertEquals(0, bulkhead.getQueued());
+  }
+
+  private static RespLimiterBackend respNode(RespStandInServer server) {
+    RespClient client = new RespClient("127.0.0.1", server.port(), null, 0, 5_000, 8);
+    return new RespLimiterBackend(client, new LocalLimiter(), "rl:", 0.1, 100, 10_000, 60_000);
+  }
+
+  @Test
+  void respBackendSharesWindowAcrossNodes() throws Exception {
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, LimiterStubs.FIXED_FREQUENCY, 60_000);
+    try (RespStandInServer server = new RespStandInServer();
+        RespLimiterBackend nodeA = respNode(server);
+        RespLimiterBackend nodeB = respNode(server)) {
+      AtomicIntegerArray admitted =
+          run(client -> {
+            RespLimiterBackend node = ThreadLocalRandom.current().nextBoolean() ? nodeA : nodeB;
+            return node.tryAcquire(LimiterStubs.client(client) + ":fixed", rule).allowed();
+          });
+      // 两个节点合计不超过上限；预取的许可只有节点最后一个批次可能用不完（批次为 frequency * 0.1）
+      for (int i = 0; i < CLIENTS; i++) {
+        assertTrue(admitted.get(i) <= LimiterStubs.FIXED_FREQUENCY, "client " + i);
+        assertTrue(admitted.get(i) >= LimiterStubs.FIXED_FREQUENCY - 10, "client " + i);
+      }
+    }
+  }
+
+  @Test
+  void respBackendKeepsRuleTypesApart() throws Exception {
+    LimitRule window = new LimitRule(LimitRule.Type.FIXED_WINDOW, LimiterStubs.FIXED_FREQUENCY, 60_000);
+    LimitRule bucket = new LimitRule(LimitRule.Type.TOKEN_BUCKET, LimiterStubs.RATE_FREQUENCY, 60_000);
+    AtomicIntegerArray bucketAdmitted = new AtomicIntegerArray(CLIENTS);
+    // 替身服务端的时钟不会自行前进，令牌桶不补充，每个客户端最多放行桶容量个
+    int capacity = (int) Math.ceil(bucket.permitsPerSecond());
+    try (RespStandInServer server = new RespStandInServer();
+        RespLimiterBackend node = respNode(server)) {
+      AtomicIntegerArray windowAdmitted =
+          run(client -> {
+            String key = LimiterStubs.client(client) + ":mixed";
+            if (node.tryAcquire(key, bucket).allowed()) {
+              bucketAdmitted.incrementAndGet(client);
+            }
+            return node.tryAcquire(key, window).allowed();
+          });
+      for (int i = 0; i < CLIENTS; i++) {
+        assertEquals(LimiterStubs.FIXED_FREQUENCY, windowAdmitted.get(i), "client " + i);
+        assertTrue(bucketAdmitted.get(i) <= capacity, "client " + i + ": " + bucketAdmitted.get(i));
+      }
+    }
+  }
+
+  private static QuotaManager quotaManager(
+      ConfigProperties.QuotaDefinition global, ConfigProperties.QuotaDefinition principal) {
+    ConfigProperties properties = new ConfigProperties();
+    ConfigProperties.QuotaProperties quota = properties.getLimiter().getQuota();
+    quota.setEnabled(true);
+    quota.setGlobal(global);
+    quota.setPrincipal(principal);
+    return new QuotaManager(properties);
+  }
+
+  private static ConfigProperties.QuotaDefinition quota(int limit, Duration period) {
+    ConfigProperties.QuotaDefinition definition = new ConfigProperties.QuotaDefinition();
+    definition.setLimit(limit);
+    definition.setPeriod(period);
+    return definition;
+  }
+
+  /** GCRA 在 elapsed 内最多放行 limit + 补充量 */
+  private static long gcraBound(int limit, Duration period, long startNanos) {
+    double periods = (System.nanoTime() - startNanos) / (double) period.toNanos();
+    return limit + (long) Math.ceil(limit * periods) + 1;
+  }
+
+  @Test
+  void quotaGlobalLimitHoldsUnderContention() throws Exception {
+    Duration period = Duration.ofHours(1);
+    QuotaManager manager = quotaManager(quota(1_000, period), quota(5, period));
+    try {
+      long start = System.nanoTime();
+      AtomicIntegerArray admitted =
+          run(client -> manager.tryAcquire(LimiterStubs.client(client), "stress").allowed());
+      long total = 0;
+      for (int i = 0; i < CLIENTS; i++) {
+        total += admitted.get(i);
+      }
+      // 用户配额合计 10000，大于全局配额，全局配额应被恰好用完
+      assertTrue(total >= 1_000, "total " + total);
+      assertTrue(total <= gcraBound(1_000, period, start), "total " + total);
+    } finally {
+      manager.shutdown();
+    }
+  }
+
+  @Test
+  void quotaRejectionReleasesGlobalPermit() throws Exception {
+    Duration period = Duration.ofHours(1);
+    QuotaManager manager = quotaManager(quota(100_000, period), quota(5, period));
+    try {
+      long start = System.nanoTime();
+      AtomicIntegerArray admitted =
+          run(client -> manager.tryAcquire(LimiterStubs.client(client), "stress").allowed());
+      long total = 0;
+      for (int i = 0; i < CLIENTS; i++) {
+        assertTrue(admitted.get(i) >= 5, "client " + i);
+        assertTrue(admitted.get(i) <= gcraBound(5, period, start), "client " + i);
+        total += admitted.get(i);
+      }
+      // 被用户配额拒绝的请求已归还全局许可：全局只扣减了放行的数量
+      long remaining = manager.remaining().get("global");
+      assertTrue(remaining >= 100_000 - total, "remaining " + remaining + ", total " + total);
+      assertTrue(
+          remaining <= gcraBound(100_000, period, start) - total,
+          "remaining " + remaining + ", total " + total);
+    } finally {
+      manager.shutdown();
+    }
+  }
+
+  @Test
+  void adaptiveLimiterNeverExceedsMaxLimit() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new VegasLimit(8, 2, 12));
+    AtomicInteger inflight = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    run(
+        client -> {
+          AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+          if (permit == null) {
+            return false;
+          }
+          peak.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+          Thread.onSpinWait();
+          inflight.decrementAndGet();
+          if ((client & 63) == 0) {
+            permit.onDropped();
+          } else {
+            permit.onSuccess();
+          }
+          return true;
+        });
+    assertTrue(peak.get() <= 12, "peak: " + peak.get());
+    assertEquals(0, limiter.getInflight());
+    assertTrue(limiter.getLimit() >= 2 && limiter.getLimit() <= 12, "limit: " + limiter.getLimit());
+  }
+}
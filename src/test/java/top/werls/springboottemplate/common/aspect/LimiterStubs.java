@@ -0,0 +1,120 @@
+package top.werls.springboottemplate.common.aspect;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import top.werls.springboottemplate.common.annotation.RequestLimit;
+import top.werls.springboottemplate.common.annotation.RequestRateLimit;
+import top.werls.springboottemplate.common.limiter.LimitRejectionRecorder;
+
+/**
+ * 不启动 Spring 容器直接驱动限流切面的桩对象，压力测试与 JMH 基准共用。
+ *
+ * <p>{@link HttpServletRequest}、{@link ProceedingJoinPoint} 都用 JDK 动态代理实现，只响应切面用到的方法； 当前请求的客户端地址通过
+ * {@link #CLIENT} 按线程设置。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+public final class LimiterStubs {
+
+  /** 固定窗口规则：每分钟 50 次 */
+  public static final int FIXED_FREQUENCY = 50;
+
+  /** 令牌桶规则：每分钟 600 次，即每秒 10 个 */
+  public static final int RATE_FREQUENCY = 600;
+
+  /** 当前线程模拟的客户端地址 */
+  public static final ThreadLocal<String> CLIENT = ThreadLocal.withInitial(() -> "127.0.0.1");
+
+  public static final Object RESULT = new Object();
+
+  private LimiterStubs() {}
+
+  /** 被切面拦截的目标方法 */
+  public static class Target {
+
+    @RequestLimit(frequency = FIXED_FREQUENCY)
+    public Object fixed() {
+      return RESULT;
+    }
+
+    @RequestRateLimit(frequency = RATE_FREQUENCY)
+    public Object rated() {
+      return RESULT;
+    }
+  }
+
+  public static Method method(String name) {
+    try {
+      return Target.class.getMethod(name);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  public static HttpServletRequest request() {
+    return (HttpServletRequest)
+        Proxy.newProxyInstance(
+            LimiterStubs.class.getClassLoader(),
+            new Class<?>[] {HttpServletRequest.class},
+            (proxy, m, args) ->
+                switch (m.getName()) {
+                  case "getRemoteAddr" -> CLIENT.get();
+                  case "getRequestedSessionId" -> null;
+                  case "hashCode" -> System.identityHashCode(proxy);
+                  case "equals" -> proxy == args[0];
+                  case "toString" -> "stub request";
+                  default -> throw new UnsupportedOperationException(m.getName());
+                });
+  }
+
+  public static ProceedingJoinPoint joinPoint(Method method) {
+    MethodSignature signature =
+        (MethodSignature)
+            Proxy.newProxyInstance(
+                LimiterStubs.class.getClassLoader(),
+                new Class<?>[] {MethodSignature.class},
+                (proxy, m, args) ->
+                    switch (m.getName()) {
+                      case "getMethod" -> method;
+                      case "getName" -> method.getName();
+                      case "hashCode" -> System.identityHashCode(proxy);
+                      case "equals" -> proxy == args[0];
+                      default -> throw new UnsupportedOperationException(m.getName());
+                    });
+    return (ProceedingJoinPoint)
+        Proxy.newProxyInstance(
+            LimiterStubs.class.getClassLoader(),
+            new Class<?>[] {ProceedingJoinPoint.class},
+            (proxy, m, args) ->
+                switch (m.getName()) {
+                  case "getSignature" -> signature;
+                  case "proceed" -> RESULT;
+                  case "hashCode" -> System.identityHashCode(proxy);
+                  case "equals" -> proxy == args[0];
+                  default -> throw new UnsupportedOperationException(m.getName());
+                });
+  }
+
+  public static LimitRejectionRecorder recorder() {
+    return new LimitRejectionRecorder(new SimpleMeterRegistry());
+  }
+
+  public static RequestLimitCaffAspect caffAspect() {
+    return new RequestLimitCaffAspect(request(), recorder());
+  }
+
+  public static RequestRateLimiterAspect rateAspect() {
+    return new RequestRateLimiterAspect(request(), recorder());
+  }
+
+  /** 第 i 个模拟客户端的地址，覆盖 10.0.0.0/8 */
+  public static String client(int i) {
+    return "10." + ((i >>> 16) & 0xFF) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF);
+  }
+}
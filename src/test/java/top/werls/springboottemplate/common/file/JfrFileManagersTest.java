@@ -0,0 +1,98 @@
+package top.werls.springboottemplate.common.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.common.file.impl.FileLocal;
+import top.werls.springboottemplate.common.jfr.FileIoEvent;
+
+/**
+ * 文件操作 JFR 事件测试
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class JfrFileManagersTest {
+
+  private Path directory;
+  private FileManagers fileManagers;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("jfr-files");
+    fileManagers = new JfrFileManagers(new FileLocal(directory.toString()));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  @Test
+  void recordsBytesWrittenAndRead() throws Exception {
+    byte[] content = "hello jfr".repeat(100).getBytes(StandardCharsets.UTF_8);
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(FileIoEvent.class);
+      recording.start();
+      fileManagers.save(new ByteArrayInputStream(content), "a.txt");
+      try (InputStream in = fileManagers.getInputStream("a.txt")) {
+        assertArrayEquals(content, in.readAllBytes());
+      }
+      assertNull(fileManagers.getInputStream("missing.txt"));
+      fileManagers.delete("a.txt");
+      recording.stop();
+      Path dump = directory.resolve("test.jfr");
+      recording.dump(dump);
+      events = RecordingFile.readAllEvents(dump);
+    }
+    List<RecordedEvent> fileEvents =
+        events.stream()
+            .filter(e -> e.getEventType().getName().equals("top.werls.FileIo"))
+            .toList();
+    assertEquals(4, fileEvents.size());
+    RecordedEvent write = find(fileEvents, "write", "a.txt");
+    assertEquals(content.length, write.getLong("bytes"));
+    assertTrue(write.getBoolean("success"));
+    RecordedEvent read = find(fileEvents, "read", "a.txt");
+    assertEquals(content.length, read.getLong("bytes"));
+    assertTrue(read.getBoolean("success"));
+    assertFalse(find(fileEvents, "read", "missing.txt").getBoolean("success"));
+    assertTrue(find(fileEvents, "delete", "a.txt").getBoolean("success"));
+  }
+
+  @Test
+  void noEventsWithoutRecording() throws Exception {
+    // 没有录制时包装层只是透传
+    fileManagers.save(new ByteArrayInputStream(new byte[] {1, 2, 3}), "b.bin");
+    try (InputStream in = fileManagers.getInputStream("b.bin")) {
+      assertEquals(3, in.readAllBytes().length);
+    }
+    assertNotNull(fileManagers.get("b.bin"));
+  }
+
+  private static RecordedEvent find(List<RecordedEvent> events, String operation, String filename) {
+    return events.stream()
+        .filter(e -> operation.equals(e.getString("operation")))
+        .filter(e -> filename.equals(e.getString("filename")))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError(operation + " " + filename));
+  }
+}
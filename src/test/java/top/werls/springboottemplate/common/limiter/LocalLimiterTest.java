@@ -0,0 +1,47 @@
+package top.werls.springboottemplate.common.limiter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * LocalLimiter 单元测试
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class LocalLimiterTest {
+
+  private final LocalLimiter limiter = new LocalLimiter();
+
+  @Test
+  void fixedWindowRejectsAfterFrequency() {
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, 3, 60_000);
+    for (int i = 0; i < 3; i++) {
+      LimitDecision decision = limiter.tryAcquire("127.0.0.1:0", rule);
+      assertTrue(decision.allowed());
+      assertEquals(2 - i, decision.remaining());
+    }
+    LimitDecision rejected = limiter.tryAcquire("127.0.0.1:0", rule);
+    assertFalse(rejected.allowed());
+    assertTrue(rejected.retryAfterMillis() > 0);
+    // 不同的 key 互不影响
+    assertTrue(limiter.tryAcquire("127.0.0.2:0", rule).allowed());
+  }
+
+  @Test
+  void fixedWindowResetsAfterWindow() throws InterruptedException {
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, 1, 50);
+    assertTrue(limiter.tryAcquire("k", rule).allowed());
+    assertFalse(limiter.tryAcquire("k", rule).allowed());
+    Thread.sleep(60);
+    assertTrue(limiter.tryAcquire("k", rule).allowed());
+  }
+
+  @Test
+  void tokenBucketRejectsBurst() {
+    LimitRule rule = new LimitRule(LimitRule.Type.TOKEN_BUCKET, 60, 60_000);
+    assertTrue(limiter.tryAcquire("k", rule).allowed());
+    assertFalse(limiter.tryAcquire("k", rule).allowed());
+  }
+}
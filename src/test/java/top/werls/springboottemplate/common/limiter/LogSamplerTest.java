@@ -0,0 +1,41 @@
+package top.werls.springboottemplate.common.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+class LogSamplerTest {
+
+  @Test
+  void onlyFirstPermitsAreLoggedThenSummaryIsReported() throws InterruptedException {
+    LogSampler sampler = new LogSampler(50, 2);
+    assertEquals(0, sampler.sample());
+    assertEquals(0, sampler.sample());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(-1, sampler.sample());
+    }
+    Thread.sleep(60);
+    // 新间隔的第一条日志带上被省略的条数
+    assertEquals(10, sampler.sample());
+    assertEquals(0, sampler.sample());
+    assertEquals(-1, sampler.sample());
+  }
+
+  @Test
+  void rateLimitExceptionIsStackless() {
+    LimitDecision decision = LimitDecision.reject(10, 1500);
+    RateLimitException e = new RateLimitException(decision);
+    assertEquals(0, e.getStackTrace().length);
+    assertNull(e.getCause());
+    assertSame(decision, e.getDecision());
+    assertTrue(e.getMessage().contains("频繁"));
+  }
+}
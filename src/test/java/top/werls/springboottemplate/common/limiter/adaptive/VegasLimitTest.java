@@ -0,0 +1,66 @@
+package top.werls.springboottemplate.common.limiter.adaptive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * VegasLimit 单元测试
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class VegasLimitTest {
+
+  private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+  @Test
+  void increasesWhenLatencyIsStable() {
+    VegasLimit limit = new VegasLimit(10, 1, 100);
+    limit.onSample(BASE_RTT, 10, false);
+    for (int i = 0; i < 20; i++) {
+      limit.onSample(BASE_RTT, limit.getLimit(), false);
+    }
+    assertTrue(limit.getLimit() > 10, "limit: " + limit.getLimit());
+  }
+
+  @Test
+  void decreasesWhenLatencyGrows() {
+    VegasLimit limit = new VegasLimit(50, 1, 100);
+    limit.onSample(BASE_RTT, 50, false);
+    for (int i = 0; i < 20; i++) {
+      limit.onSample(BASE_RTT * 4, limit.getLimit(), false);
+    }
+    assertTrue(limit.getLimit() < 50, "limit: " + limit.getLimit());
+  }
+
+  @Test
+  void decreasesOnDrop() {
+    VegasLimit limit = new VegasLimit(20, 1, 100);
+    limit.onSample(BASE_RTT, 20, false);
+    limit.onSample(BASE_RTT * 2, 20, true);
+    assertTrue(limit.getLimit() < 20);
+  }
+
+  @Test
+  void ignoresAppLimitedSamples() {
+    VegasLimit limit = new VegasLimit(20, 1, 100);
+    limit.onSample(BASE_RTT, 20, false);
+    limit.onSample(BASE_RTT * 4, 2, false);
+    assertEquals(20, limit.getLimit());
+  }
+
+  @Test
+  void limiterRejectsAboveLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new VegasLimit(2, 1, 2));
+    AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+    AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNull(limiter.tryAcquire());
+    assertEquals(1, limiter.getRejected());
+    first.onSuccess();
+    assertNotNull(limiter.tryAcquire());
+  }
+}
@@ -0,0 +1,70 @@
+package top.werls.springboottemplate.common.limiter.bulkhead;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+class SemaphoreBulkheadTest {
+
+  @Test
+  void rejectsImmediatelyWithoutWait() {
+    SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("test", 2, 0, 10);
+    assertTrue(bulkhead.tryAcquire());
+    assertTrue(bulkhead.tryAcquire());
+    assertEquals(2, bulkhead.getInflight());
+    assertFalse(bulkhead.tryAcquire());
+    assertEquals(1, bulkhead.getRejected());
+    bulkhead.release();
+    assertTrue(bulkhead.tryAcquire());
+  }
+
+  @Test
+  void waiterGetsReleasedPermit() throws InterruptedException {
+    SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("test", 1, 5_000, 10);
+    assertTrue(bulkhead.tryAcquire());
+    AtomicBoolean acquired = new AtomicBoolean();
+    Thread waiter = Thread.ofVirtual().start(() -> acquired.set(bulkhead.tryAcquire()));
+    while (bulkhead.getQueued() == 0) {
+      Thread.onSpinWait();
+    }
+    bulkhead.release();
+    waiter.join();
+    assertTrue(acquired.get());
+    assertEquals(0, bulkhead.getQueued());
+    assertEquals(1, bulkhead.getInflight());
+  }
+
+  @Test
+  void rejectsWhenQueueIsFull() throws InterruptedException {
+    SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("test", 1, 5_000, 1);
+    assertTrue(bulkhead.tryAcquire());
+    CountDownLatch done = new CountDownLatch(1);
+    Thread waiter =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  bulkhead.tryAcquire();
+                  done.countDown();
+                });
+    while (bulkhead.getQueued() == 0) {
+      Thread.onSpinWait();
+    }
+    // 队列已满，不等待直接拒绝
+    long start = System.nanoTime();
+    assertFalse(bulkhead.tryAcquire());
+    assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    assertEquals(1, bulkhead.getRejected());
+    bulkhead.release();
+    done.await();
+    waiter.join();
+  }
+}
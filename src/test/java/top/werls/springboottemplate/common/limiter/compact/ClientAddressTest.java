@@ -0,0 +1,58 @@
+package top.werls.springboottemplate.common.limiter.compact;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+class ClientAddressTest {
+
+  @Test
+  void encodesIpv4() {
+    assertEquals(0x7F000001L, ClientAddress.encode("127.0.0.1"));
+    assertEquals(0xFFFFFFFFL, ClientAddress.encode("255.255.255.255"));
+    assertTrue(ClientAddress.isIpv4("10.0.0.1"));
+  }
+
+  @Test
+  void mappedIpv6IsTreatedAsIpv4() {
+    assertTrue(ClientAddress.isIpv4("::ffff:192.168.1.1"));
+    assertEquals(ClientAddress.encode("192.168.1.1"), ClientAddress.encode("::ffff:192.168.1.1"));
+    assertEquals(
+        ClientAddress.encode("192.168.1.1"), ClientAddress.encode("0:0:0:0:0:FFFF:192.168.1.1"));
+  }
+
+  @Test
+  void encodesIpv6Slash64Prefix() {
+    long prefix = 0x20010DB800010002L;
+    assertFalse(ClientAddress.isIpv4("2001:db8:1:2::1"));
+    assertEquals(prefix, ClientAddress.encode("2001:db8:1:2::1"));
+    assertEquals(prefix, ClientAddress.encode("2001:0db8:0001:0002:ffff:0:0:9"));
+    assertEquals(prefix, ClientAddress.encode("2001:DB8:1:2:3:4:5:6%eth0"));
+    assertEquals(0x20010DB800000000L, ClientAddress.encode("2001:db8::"));
+    assertEquals(0L, ClientAddress.encode("::1"));
+    assertEquals(0L, ClientAddress.encode("0:0:0:0:0:0:0:1"));
+    assertEquals(0x0001000200030000L, ClientAddress.encode("1:2:3::5:6:7:8"));
+    // :: 之后的分组右对齐
+    assertEquals(0x0000000000000001L, ClientAddress.encode("::1:0:0:0:0"));
+    assertEquals(0x0064FF9B00000000L, ClientAddress.encode("64:ff9b::192.0.2.33"));
+  }
+
+  @Test
+  void rejectsInvalidAddresses() {
+    for (String invalid :
+        new String[] {
+          "", "localhost", "1.2.3", "1.2.3.256", "1.2.3.4.5", "1..2.3", "1:2:3", ":::",
+          "1::2::3", "12345::", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8", "g::1", "1.2.3.4::"
+        }) {
+      assertThrows(IllegalArgumentException.class, () -> ClientAddress.encode(invalid), invalid);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package top.werls.springboottemplate.common.limiter.compact;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.common.limiter.LimitRule;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ * @version 1
+ */
+class CompactKeyTableTest {
+
+  private static final LimitRule WINDOW = new LimitRule(LimitRule.Type.FIXED_WINDOW, 3, 60_000);
+
+  @Test
+  void fixedWindowCountsPerKeyAndTag() {
+    CompactKeyTable table = new CompactKeyTable(1024, 16);
+    int tag = CompactKeyTable.tag(0, 0, true);
+    for (int i = 0; i < 3; i++) {
+      LimitDecision decision = table.fixedWindow(1L, tag, WINDOW, 1000);
+      assertTrue(decision.allowed());
+      assertEquals(2 - i, decision.remaining());
+    }
+    LimitDecision rejected = table.fixedWindow(1L, tag, WINDOW, 2000);
+    assertFalse(rejected.allowed());
+    assertEquals(59_000, rejected.retryAfterMillis());
+    // 不同地址、不同接口、不同地址族互不影响
+    assertTrue(table.fixedWindow(2L, tag, WINDOW, 2000).allowed());
+    assertTrue(table.fixedWindow(1L, CompactKeyTable.tag(1, 0, true), WINDOW, 2000).allowed());
+    assertTrue(table.fixedWindow(1L, CompactKeyTable.tag(0, 0, false), WINDOW, 2000).allowed());
+    // 窗口结束后清零
+    assertTrue(table.fixedWindow(1L, tag, WINDOW, 61_000).allowed());
+  }
+
+  @Test
+  void tokenBucketAllowsBurstUpToCapacity() {
+    CompactKeyTable table = new CompactKeyTable(1024, 16);
+    int tag = CompactKeyTable.tag(0, 1, true);
+    // 2 个/秒，容量 2
+    LimitRule rule = new LimitRule(LimitRule.Type.TOKEN_BUCKET, 120, 60_000);
+    long now = 1_000_000_000L;
+    assertTrue(table.tokenBucket(7L, tag, rule, now).allowed());
+    assertTrue(table.tokenBucket(7L, tag, rule, now).allowed());
+    LimitDecision rejected = table.tokenBucket(7L, tag, rule, now);
+    assertFalse(rejected.allowed());
+    assertEquals(500, rejected.retryAfterMillis());
+    assertTrue(table.tokenBucket(7L, tag, rule, now + 500_000_000L).allowed());
+    assertFalse(table.tokenBucket(7L, tag, rule, now + 500_000_000L).allowed());
+  }
+
+  @Test
+  void fullTableEvictsInsteadOfGrowing() {
+    CompactKeyTable table = new CompactKeyTable(64, 4);
+    int tag = CompactKeyTable.tag(0, 0, true);
+    LimitRule one = new LimitRule(LimitRule.Type.FIXED_WINDOW, 1, 60_000);
+    for (long key = 0; key < 10_000; key++) {
+      assertTrue(table.fixedWindow(key, tag, one, 0).allowed());
+    }
+    assertEquals(64, table.capacity());
+    // 刚写入的 key 仍在表中
+    assertFalse(table.fixedWindow(9_999L, tag, one, 0).allowed());
+  }
+}
@@ -0,0 +1,102 @@
+package top.werls.springboottemplate.common.limiter.quota;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 分级配额测试
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class QuotaManagerTest {
+
+  private QuotaManager manager;
+
+  private static ConfigProperties.QuotaDefinition definition(int limit) {
+    ConfigProperties.QuotaDefinition definition = new ConfigProperties.QuotaDefinition();
+    definition.setLimit(limit);
+    definition.setPeriod(Duration.ofMinutes(1));
+    return definition;
+  }
+
+  private QuotaManager newManager(ConfigProperties.QuotaProperties quota) {
+    ConfigProperties properties = new ConfigProperties();
+    quota.setEnabled(true);
+    properties.getLimiter().setQuota(quota);
+    manager = new QuotaManager(properties);
+    return manager;
+  }
+
+  @AfterEach
+  void tearDown() {
+    manager.shutdown();
+  }
+
+  @Test
+  void gcraAllowsExactlyLimitPerPeriod() {
+    GcraBucket bucket = new GcraBucket(definition(5));
+    long now = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      assertTrue(bucket.tryAcquire(now));
+    }
+    assertFalse(bucket.tryAcquire(now));
+    assertTrue(bucket.retryAfterMillis(now) > 0);
+    // 一个发放间隔之后恢复一个许可
+    assertTrue(bucket.tryAcquire(now + Duration.ofSeconds(12).toNanos()));
+  }
+
+  @Test
+  void principalQuotaIsIsolated() {
+    ConfigProperties.QuotaProperties quota = new ConfigProperties.QuotaProperties();
+    quota.setPrincipal(definition(2));
+    newManager(quota);
+    assertTrue(manager.tryAcquire("user:a", "DemoApi.getDemo").allowed());
+    assertTrue(manager.tryAcquire("user:a", "DemoApi.getDemo").allowed());
+    assertFalse(manager.tryAcquire("user:a", "DemoApi.getDemo").allowed());
+    assertTrue(manager.tryAcquire("user:b", "DemoApi.getDemo").allowed());
+  }
+
+  @Test
+  void rejectionReleasesUpperLevels() {
+    ConfigProperties.QuotaProperties quota = new ConfigProperties.QuotaProperties();
+    quota.setGlobal(definition(3));
+    quota.setPrincipal(definition(1));
+    newManager(quota);
+    assertTrue(manager.tryAcquire("user:a", "x").allowed());
+    // 用户配额不足，已获取的全局许可应归还
+    for (int i = 0; i < 10; i++) {
+      LimitDecision decision = manager.tryAcquire("user:a", "x");
+      assertFalse(decision.allowed());
+      assertEquals(1, decision.limit());
+    }
+    assertTrue(manager.tryAcquire("user:b", "x").allowed());
+    assertTrue(manager.tryAcquire("user:c", "x").allowed());
+    assertFalse(manager.tryAcquire("user:d", "x").allowed());
+  }
+
+  @Test
+  void reloadKeepsUnchangedBuckets() {
+    ConfigProperties.QuotaProperties quota = new ConfigProperties.QuotaProperties();
+    quota.getEndpoints().put("LoginController.login", definition(1));
+    newManager(quota);
+    assertTrue(manager.tryAcquire("ip:1", "LoginController.login").allowed());
+
+    ConfigProperties.QuotaProperties same = new ConfigProperties.QuotaProperties();
+    same.setEnabled(true);
+    same.getEndpoints().put("LoginController.login", definition(1));
+    manager.reload(same);
+    assertFalse(manager.tryAcquire("ip:1", "LoginController.login").allowed());
+
+    ConfigProperties.QuotaProperties raised = new ConfigProperties.QuotaProperties();
+    raised.setEnabled(true);
+    raised.getEndpoints().put("LoginController.login", definition(5));
+    manager.reload(raised);
+    assertTrue(manager.tryAcquire("ip:1", "LoginController.login").allowed());
+  }
+}
@@ -0,0 +1,160 @@
+package top.werls.springboottemplate.common.limiter.resp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.common.limiter.LimitDecision;
+import top.werls.springboottemplate.common.limiter.LimitRule;
+import top.werls.springboottemplate.common.limiter.LocalLimiter;
+
+/**
+ * RespLimiterBackend 测试，使用进程内的 {@link RespStandInServer} 代替 Redis
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class RespLimiterBackendTest {
+
+  private RespStandInServer server;
+  private RespLimiterBackend nodeA;
+  private RespLimiterBackend nodeB;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new RespStandInServer();
+    nodeA = newNode(0.1);
+    nodeB = newNode(0.1);
+  }
+
+  private RespLimiterBackend newNode(double prefetchRatio) {
+    RespClient client = new RespClient("127.0.0.1", server.port(), null, 0, 1000, 4);
+    return new RespLimiterBackend(
+        client, new LocalLimiter(), "rl:", prefetchRatio, 100, 1000, 60_000);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    nodeA.close();
+    nodeB.close();
+    server.close();
+  }
+
+  @Test
+  void fixedWindowIsSharedAcrossNodes() throws InterruptedException {
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, 100, 60_000);
+    AtomicInteger admitted = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    CountDownLatch done = new CountDownLatch(8);
+    for (int t = 0; t < 8; t++) {
+      RespLimiterBackend node = t % 2 == 0 ? nodeA : nodeB;
+      pool.execute(
+          () -> {
+            for (int i = 0; i < 100; i++) {
+              if (node.tryAcquire("10.0.0.1:login", rule).allowed()) {
+                admitted.incrementAndGet();
+              }
+            }
+            done.countDown();
+          });
+    }
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    pool.shutdown();
+    // 两个节点合计不能超过规则上限
+    assertEquals(100, admitted.get());
+  }
+
+  @Test
+  void prefetchAvoidsRoundTripPerRequest() {
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, 1000, 60_000);
+    for (int i = 0; i < 500; i++) {
+      assertTrue(nodeA.tryAcquire("10.0.0.2:demo", rule).allowed());
+    }
+    // 每次预取 100 个许可，500 个请求只需要少量往返
+    assertTrue(server.commandCount() <= 10, "commands: " + server.commandCount());
+  }
+
+  @Test
+  void rejectionIsCachedLocally() {
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, 1, 60_000);
+    assertTrue(nodeA.tryAcquire("10.0.0.3:login", rule).allowed());
+    LimitDecision rejected = nodeA.tryAcquire("10.0.0.3:login", rule);
+    assertFalse(rejected.allowed());
+    assertTrue(rejected.retryAfterMillis() > 0);
+    long commands = server.commandCount();
+    for (int i = 0; i < 100; i++) {
+      assertFalse(nodeA.tryAcquire("10.0.0.3:login", rule).allowed());
+    }
+    assertEquals(commands, server.commandCount());
+  }
+
+  @Test
+  void tokenBucketRefillsWithServerClock() {
+    LimitRule rule = new LimitRule(LimitRule.Type.TOKEN_BUCKET, 60, 60_000);
+    assertTrue(nodeA.tryAcquire("10.0.0.4:demo", rule).allowed());
+    LimitDecision rejected = nodeB.tryAcquire("10.0.0.4:demo", rule);
+    assertFalse(rejected.allowed());
+    assertEquals(1000, rejected.retryAfterMillis());
+    // 桶按服务端时间补充令牌
+    server.advance(1000);
+    assertTrue(nodeA.tryAcquire("10.0.0.4:demo", rule).allowed());
+  }
+
+  @Test
+  void fallsBackToLocalWhenServerIsDown() throws IOException {
+    server.close();
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, 2, 60_000);
+    RespLimiterBackend node = newNode(0.1);
+    assertTrue(node.tryAcquire("10.0.0.5:login", rule).allowed());
+    assertTrue(node.tryAcquire("10.0.0.5:login", rule).allowed());
+    assertFalse(node.tryAcquire("10.0.0.5:login", rule).allowed());
+    node.close();
+  }
+
+  @Test
+  void ruleTypesDoNotShareLease() {
+    LimitRule window = new LimitRule(LimitRule.Type.FIXED_WINDOW, 1000, 60_000);
+    LimitRule bucket = new LimitRule(LimitRule.Type.TOKEN_BUCKET, 1, 60_000);
+    // 固定窗口预取的许可不能用于令牌桶
+    assertTrue(nodeA.tryAcquire("10.0.0.6:demo", window).allowed());
+    assertTrue(nodeA.tryAcquire("10.0.0.6:demo", bucket).allowed());
+    assertFalse(nodeA.tryAcquire("10.0.0.6:demo", bucket).allowed());
+    // 令牌桶的拒绝不影响固定窗口
+    assertTrue(nodeA.tryAcquire("10.0.0.6:demo", window).allowed());
+  }
+
+  @Test
+  void openCircuitSkipsServer() throws InterruptedException {
+    AtomicInteger calls = new AtomicInteger();
+    RespClient failing =
+        new RespClient("127.0.0.1", server.port(), null, 0, 1000, 1) {
+          @Override
+          public Object eval(String sha, String script, List<String> keys, List<String> args)
+              throws IOException {
+            calls.incrementAndGet();
+            throw new IOException("connection refused");
+          }
+        };
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, 1000, 60_000);
+    RespLimiterBackend node =
+        new RespLimiterBackend(failing, new LocalLimiter(), "rl:", 0.1, 100, 1000, 50);
+    for (int i = 0; i < 100; i++) {
+      assertTrue(node.tryAcquire("10.0.1." + i + ":demo", rule).allowed());
+    }
+    assertEquals(1, calls.get());
+    // 冷却结束后探测一次
+    Thread.sleep(60);
+    node.tryAcquire("10.0.2.1:demo", rule);
+    node.tryAcquire("10.0.2.2:demo", rule);
+    assertEquals(2, calls.get());
+    node.close();
+  }
+}
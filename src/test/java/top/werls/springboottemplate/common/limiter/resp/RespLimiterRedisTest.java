@@ -0,0 +1,127 @@
+package top.werls.springboottemplate.common.limiter.resp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import top.werls.springboottemplate.common.limiter.LimitRule;
+import top.werls.springboottemplate.common.limiter.LocalLimiter;
+
+/**
+ * 在真实 Redis 上执行 {@link RespLimiterBackend} 的 Lua 脚本，覆盖 {@link RespStandInServer} 中的 Java 等价实现无法发现的脚本错误。
+ *
+ * <p>使用支持的最低版本 Redis 5.0，没有 Docker 时跳过。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RespLimiterRedisTest {
+
+  @Container
+  static final GenericContainer<?> REDIS =
+      new GenericContainer<>(DockerImageName.parse("redis:5.0-alpine")).withExposedPorts(6379);
+
+  private RespClient client;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    client = newClient();
+    client.command("FLUSHDB");
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+  }
+
+  private static RespClient newClient() {
+    return new RespClient(REDIS.getHost(), REDIS.getMappedPort(6379), null, 0, 1000, 4);
+  }
+
+  private List<Long> eval(String script, String key, String... args) throws IOException {
+    List<?> reply =
+        (List<?>)
+            client.eval(RespClient.sha1Hex(script), script, List.of(key), List.of(args));
+    return reply.stream().map(value -> ((Number) value).longValue()).toList();
+  }
+
+  @Test
+  void fixedWindowScriptGrantsUpToLimit() throws IOException {
+    String script = RespLimiterBackend.FIXED_WINDOW_SCRIPT;
+    List<Long> first = eval(script, "rl:fw:a", "10", "60000", "4");
+    assertEquals(4, first.get(0));
+    assertEquals(6, first.get(1));
+    assertTrue(first.get(2) > 0 && first.get(2) <= 60_000);
+    // 只授予剩余的部分
+    assertEquals(List.of(6L, 0L), eval(script, "rl:fw:a", "10", "60000", "10").subList(0, 2));
+    List<Long> rejected = eval(script, "rl:fw:a", "10", "60000", "1");
+    assertEquals(List.of(0L, 0L), rejected.subList(0, 2));
+    assertTrue(rejected.get(2) > 0);
+  }
+
+  @Test
+  void tokenBucketScriptUsesServerTime() throws IOException {
+    String script = RespLimiterBackend.TOKEN_BUCKET_SCRIPT;
+    // 容量 5，每秒 1 个
+    assertEquals(List.of(3L, 2L, 0L), eval(script, "rl:tb:a", "5", "0.001", "3"));
+    assertEquals(List.of(2L, 0L, 0L), eval(script, "rl:tb:a", "5", "0.001", "5"));
+    List<Long> rejected = eval(script, "rl:tb:a", "5", "0.001", "1");
+    assertEquals(0, rejected.get(0));
+    assertTrue(rejected.get(2) > 0 && rejected.get(2) <= 1000);
+    assertTrue(((Number) client.command("PTTL", "rl:tb:a")).longValue() > 0);
+  }
+
+  @Test
+  void nodesShareWindowOnRedis() throws InterruptedException {
+    LimitRule rule = new LimitRule(LimitRule.Type.FIXED_WINDOW, 100, 60_000);
+    AtomicInteger admitted = new AtomicInteger();
+    try (RespLimiterBackend nodeA = newNode();
+        RespLimiterBackend nodeB = newNode()) {
+      ExecutorService pool = Executors.newFixedThreadPool(8);
+      CountDownLatch done = new CountDownLatch(8);
+      for (int t = 0; t < 8; t++) {
+        RespLimiterBackend node = t % 2 == 0 ? nodeA : nodeB;
+        pool.execute(
+            () -> {
+              for (int i = 0; i < 100; i++) {
+                if (node.tryAcquire("10.0.0.1:login", rule).allowed()) {
+                  admitted.incrementAndGet();
+                }
+              }
+              done.countDown();
+            });
+      }
+      assertTrue(done.await(30, TimeUnit.SECONDS));
+      pool.shutdown();
+    }
+    assertEquals(100, admitted.get());
+  }
+
+  @Test
+  void tokenBucketRejectsWhenEmpty() {
+    LimitRule rule = new LimitRule(LimitRule.Type.TOKEN_BUCKET, 60, 60_000);
+    try (RespLimiterBackend nodeA = newNode();
+        RespLimiterBackend nodeB = newNode()) {
+      assertTrue(nodeA.tryAcquire("10.0.0.4:demo", rule).allowed());
+      assertFalse(nodeB.tryAcquire("10.0.0.4:demo", rule).allowed());
+    }
+  }
+
+  private static RespLimiterBackend newNode() {
+    return new RespLimiterBackend(
+        newClient(), new LocalLimiter(), "rl:", 0.1, 100, 1000, 60_000);
+  }
+}
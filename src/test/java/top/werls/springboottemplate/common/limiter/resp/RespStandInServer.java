@@ -0,0 +1,194 @@
+package top.werls.springboottemplate.common.limiter.resp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内的 RESP 替身服务端，用于在没有 Redis 的环境下测试 {@link RespLimiterBackend}。
+ *
+ * <p>不执行 Lua：已知脚本按 SHA1 映射到等价的 Java 实现，所有命令在一把全局锁内串行执行，与 Redis 单线程执行脚本的原子性一致。
+ * 时间可以通过 {@link #advance(long)} 手动推进。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+public class RespStandInServer implements Closeable {
+
+  private final ServerSocket serverSocket;
+  private final Map<String, Script> scripts = new HashMap<>();
+  private final Map<String, Entry> data = new HashMap<>();
+  private final Map<String, Boolean> loaded = new ConcurrentHashMap<>();
+  private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+  private final AtomicLong commands = new AtomicLong();
+  private final List<Socket> clients = new ArrayList<>();
+
+  public RespStandInServer() throws IOException {
+    this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    scripts.put(RespClient.sha1Hex(RespLimiterBackend.FIXED_WINDOW_SCRIPT), this::fixedWindow);
+    scripts.put(RespClient.sha1Hex(RespLimiterBackend.TOKEN_BUCKET_SCRIPT), this::tokenBucket);
+    Thread.ofPlatform().daemon().name("resp-stand-in-accept").start(this::acceptLoop);
+  }
+
+  public int port() {
+    return serverSocket.getLocalPort();
+  }
+
+  /** 服务端收到的命令总数 */
+  public long commandCount() {
+    return commands.get();
+  }
+
+  public void advance(long millis) {
+    clock.addAndGet(millis);
+  }
+
+  private void acceptLoop() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        synchronized (clients) {
+          clients.add(socket);
+        }
+        Thread.ofPlatform().daemon().name("resp-stand-in-conn").start(() -> serve(socket));
+      } catch (IOException e) {
+        return;
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket) {
+      InputStream in = new BufferedInputStream(socket.getInputStream());
+      OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+      List<String> command;
+      while ((command = RespCodec.readCommand(in)) != null) {
+        commands.incrementAndGet();
+        Object reply;
+        synchronized (data) {
+          reply = execute(command);
+        }
+        RespCodec.writeReply(out, reply);
+        out.flush();
+      }
+    } catch (IOException ignored) {
+      // 连接关闭
+    }
+  }
+
+  private Object execute(List<String> command) {
+    String name = command.getFirst().toUpperCase();
+    return switch (name) {
+      case "PING" -> "PONG";
+      case "AUTH", "SELECT" -> "OK";
+      case "FLUSHALL" -> {
+        data.clear();
+        yield "OK";
+      }
+      case "EVAL" -> {
+        String sha = RespClient.sha1Hex(command.get(1));
+        loaded.put(sha, Boolean.TRUE);
+        yield evalSha(sha, command);
+      }
+      case "EVALSHA" -> {
+        if (!loaded.containsKey(command.get(1))) {
+          yield new RespClient.RespException("NOSCRIPT No matching script. Please use EVAL.");
+        }
+        yield evalSha(command.get(1), command);
+      }
+      default -> new RespClient.RespException("ERR unknown command '" + name + "'");
+    };
+  }
+
+  private Object evalSha(String sha, List<String> command) {
+    Script script = scripts.get(sha);
+    if (script == null) {
+      return new RespClient.RespException("ERR stand-in server cannot run this script");
+    }
+    int numKeys = Integer.parseInt(command.get(2));
+    List<String> keys = command.subList(3, 3 + numKeys);
+    List<String> args = command.subList(3 + numKeys, command.size());
+    return script.run(keys, args);
+  }
+
+  private Entry live(String key) {
+    Entry entry = data.get(key);
+    if (entry != null && entry.expiresAt <= clock.get()) {
+      data.remove(key);
+      return null;
+    }
+    return entry;
+  }
+
+  /** 与 FIXED_WINDOW_SCRIPT 等价 */
+  private Object fixedWindow(List<String> keys, List<String> args) {
+    long limit = Long.parseLong(args.get(0));
+    long window = Long.parseLong(args.get(1));
+    long want = Long.parseLong(args.get(2));
+    Entry entry = live(keys.getFirst());
+    if (entry == null) {
+      entry = new Entry();
+      entry.expiresAt = clock.get() + window;
+      data.put(keys.getFirst(), entry);
+    }
+    long grant = Math.max(0, Math.min(want, limit - (long) entry.value));
+    entry.value += grant;
+    long ttl = entry.expiresAt - clock.get();
+    return List.of(grant, Math.max(0, limit - (long) entry.value), ttl);
+  }
+
+  /** 与 TOKEN_BUCKET_SCRIPT 等价 */
+  private Object tokenBucket(List<String> keys, List<String> args) {
+    double capacity = Double.parseDouble(args.get(0));
+    double rate = Double.parseDouble(args.get(1));
+    long want = Long.parseLong(args.get(2));
+    long now = clock.get();
+    Entry entry = live(keys.getFirst());
+    if (entry == null) {
+      entry = new Entry();
+      entry.value = capacity;
+      entry.timestamp = now;
+      data.put(keys.getFirst(), entry);
+    }
+    double tokens = Math.min(capacity, entry.value + Math.max(0, now - entry.timestamp) * rate);
+    long grant = Math.max(0, Math.min(want, (long) Math.floor(tokens)));
+    tokens -= grant;
+    entry.value = tokens;
+    entry.timestamp = now;
+    entry.expiresAt = now + (long) Math.ceil(capacity / rate) + 1000;
+    long wait = grant == 0 ? (long) Math.ceil((1 - tokens) / rate) : 0;
+    return List.of(grant, (long) Math.floor(tokens), wait);
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    synchronized (clients) {
+      for (Socket socket : clients) {
+        socket.close();
+      }
+    }
+  }
+
+  private interface Script {
+    Object run(List<String> keys, List<String> args);
+  }
+
+  private static final class Entry {
+    private double value;
+    private long timestamp;
+    private long expiresAt = Long.MAX_VALUE;
+  }
+}
@@ -0,0 +1,65 @@
+package top.werls.springboottemplate.common.limiter.shedding;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.common.annotation.RequestPriority;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 压力分数与丢弃策略测试
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class JvmPressureMonitorTest {
+
+  private static JvmPressureMonitor newMonitor() {
+    ConfigProperties properties = new ConfigProperties();
+    // 不启动采样线程，由测试直接喂入采样值
+    properties.getLimiter().getShedding().setEnabled(false);
+    return new JvmPressureMonitor(properties, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void pressureIsMaxOfSignals() {
+    JvmPressureMonitor monitor = newMonitor();
+    monitor.update(0.5, 0, 0.1);
+    assertEquals(0, monitor.getPressure());
+    // 堆占用 0.85 位于 [0.75, 0.95] 的中点
+    monitor.update(0.85, 0, 0.1);
+    assertEquals(0.5, monitor.getPressure(), 1e-9);
+    // GC 暂停占比超过临界值
+    monitor.update(0.85, 0.5, 0.1);
+    assertEquals(1, monitor.getPressure(), 1e-9);
+    assertEquals(1, monitor.getGcPressure(), 1e-9);
+  }
+
+  @Test
+  void pressureRisesImmediatelyAndDecaysGradually() {
+    JvmPressureMonitor monitor = newMonitor();
+    monitor.update(0.95, 0, 0);
+    assertEquals(1, monitor.getPressure(), 1e-9);
+    monitor.update(0, 0, 0);
+    assertEquals(0.8, monitor.getPressure(), 1e-9);
+    monitor.update(0, 0, 0);
+    assertEquals(0.64, monitor.getPressure(), 1e-9);
+  }
+
+  @Test
+  void lowerPriorityIsShedFirst() {
+    for (double pressure = 0; pressure <= 1; pressure += 0.05) {
+      double low = SheddingPolicy.shedProbability(RequestPriority.Level.LOW, pressure);
+      double normal = SheddingPolicy.shedProbability(RequestPriority.Level.NORMAL, pressure);
+      double high = SheddingPolicy.shedProbability(RequestPriority.Level.HIGH, pressure);
+      assertTrue(low >= normal && normal >= high);
+      assertEquals(0, SheddingPolicy.shedProbability(RequestPriority.Level.CRITICAL, pressure));
+    }
+    assertEquals(0, SheddingPolicy.shedProbability(RequestPriority.Level.LOW, 0.2));
+    assertEquals(0.5, SheddingPolicy.shedProbability(RequestPriority.Level.LOW, 0.3), 1e-9);
+    assertEquals(1, SheddingPolicy.shedProbability(RequestPriority.Level.LOW, 0.5));
+    assertEquals(0, SheddingPolicy.shedProbability(RequestPriority.Level.NORMAL, 0.4));
+    assertEquals(1, SheddingPolicy.shedProbability(RequestPriority.Level.HIGH, 1));
+  }
+}
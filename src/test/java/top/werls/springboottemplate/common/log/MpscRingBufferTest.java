@@ -0,0 +1,88 @@
+package top.werls.springboottemplate.common.log;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 环形队列测试
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class MpscRingBufferTest {
+
+  @Test
+  void capacityIsRoundedUpToPowerOfTwo() {
+    assertEquals(1, new MpscRingBuffer<>(1).capacity());
+    assertEquals(8, new MpscRingBuffer<>(5).capacity());
+    assertEquals(8192, new MpscRingBuffer<>(8192).capacity());
+  }
+
+  @Test
+  void rejectsWhenFullAndReusesSlots() {
+    MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 4; i++) {
+        assertTrue(buffer.offer(i));
+      }
+      assertFalse(buffer.offer(4));
+      assertEquals(4, buffer.size());
+      for (int i = 0; i < 4; i++) {
+        assertEquals(Integer.valueOf(i), buffer.poll());
+      }
+      assertNull(buffer.poll());
+      assertEquals(0, buffer.size());
+    }
+  }
+
+  @Test
+  void deliversEveryElementOnceInProducerOrder() throws Exception {
+    int producers = 4;
+    int perProducer = 200_000;
+    MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int p = 0; p < producers; p++) {
+      int producer = p;
+      executor.execute(
+          () -> {
+            try {
+              start.await();
+            } catch (InterruptedException e) {
+              return;
+            }
+            for (long i = 0; i < perProducer; i++) {
+              long[] element = {producer, i};
+              while (!buffer.offer(element)) {
+                Thread.onSpinWait();
+              }
+            }
+          });
+    }
+    start.countDown();
+    long[] next = new long[producers];
+    long received = 0;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (received < (long) producers * perProducer) {
+      long[] element = buffer.poll();
+      if (element == null) {
+        assertTrue(System.nanoTime() < deadline, "timed out after " + received);
+        Thread.onSpinWait();
+        continue;
+      }
+      int producer = (int) element[0];
+      // 同一生产者的元素按写入顺序到达，且不重复、不丢失
+      assertEquals(next[producer], element[1]);
+      next[producer]++;
+      received++;
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertNull(buffer.poll());
+  }
+}
@@ -0,0 +1,102 @@
+package top.werls.springboottemplate.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 直方图与接口耗时统计测试
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class LatencyHistogramTest {
+
+  @Test
+  void bucketsAreContiguousAndBounded() {
+    long previousUpper = -1;
+    for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+      long upper = LatencyHistogram.upperBound(i);
+      assertTrue(upper > previousUpper);
+      // 每个桶的下界紧接上一个桶的上界
+      assertEquals(i, LatencyHistogram.index(previousUpper + 1));
+      assertEquals(i, LatencyHistogram.index(upper));
+      previousUpper = upper;
+    }
+    assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+  }
+
+  @Test
+  void relativeErrorIsBelowThreePercent() {
+    for (long value = 1; value < TimeUnit.MINUTES.toNanos(30); value = value * 3 / 2 + 1) {
+      long upper = LatencyHistogram.upperBound(LatencyHistogram.index(value));
+      assertTrue(upper >= value);
+      assertTrue((upper - value) <= value / 32.0 + 1, "value " + value + " upper " + upper);
+    }
+  }
+
+  @Test
+  void percentilesOfUniformDistribution() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 10_000; i++) {
+      histogram.record(i * 1000L);
+    }
+    long[] counts = new long[LatencyHistogram.BUCKETS];
+    long total = histogram.drainTo(counts);
+    assertEquals(10_000, total);
+    long[] p = LatencyHistogram.percentiles(counts, total, histogram.getMax(), 0.5, 0.9, 0.99, 1.0);
+    assertEquals(5_000_000, p[0], 5_000_000 * 0.04);
+    assertEquals(9_000_000, p[1], 9_000_000 * 0.04);
+    assertEquals(9_900_000, p[2], 9_900_000 * 0.04);
+    assertEquals(10_000_000, p[3]);
+  }
+
+  @Test
+  void concurrentRecordingLosesNothing() throws InterruptedException {
+    EndpointLatency latency = new EndpointLatency("test", 60_000);
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int t = 0; t < 8; t++) {
+        executor.execute(
+            () -> {
+              for (int i = 0; i < 100_000; i++) {
+                latency.record(0, i % 1000, i % 100 == 0);
+              }
+            });
+      }
+    }
+    assertEquals(800_000, latency.getTotal());
+    assertEquals(8_000, latency.getErrors());
+    EndpointLatency.Snapshot snapshot = latency.snapshot();
+    assertEquals(800_000, snapshot.count());
+    assertEquals(999, snapshot.max());
+  }
+
+  @Test
+  void windowRotationKeepsPreviousWindow() throws InterruptedException {
+    EndpointLatency latency = new EndpointLatency("test", 50);
+    latency.record(0, 100, false);
+    Thread.sleep(60);
+    latency.record(0, 200, false);
+    // 上一个窗口仍在统计范围内
+    assertEquals(2, latency.snapshot().count());
+    Thread.sleep(60);
+    latency.snapshot();
+    Thread.sleep(60);
+    assertEquals(0, latency.snapshot().count());
+  }
+
+  @Test
+  void scrapeReusesRecentSnapshot() throws InterruptedException {
+    EndpointLatency latency = new EndpointLatency("test", 60_000);
+    latency.record(0, 100, false);
+    EndpointLatency.Snapshot first = latency.snapshot(TimeUnit.SECONDS.toNanos(1));
+    latency.record(0, 200, false);
+    // 同一次抓取内的 gauge 读到同一个快照
+    assertSame(first, latency.snapshot(TimeUnit.SECONDS.toNanos(1)));
+    Thread.sleep(5);
+    assertEquals(2, latency.snapshot(TimeUnit.MILLISECONDS.toNanos(1)).count());
+  }
+}
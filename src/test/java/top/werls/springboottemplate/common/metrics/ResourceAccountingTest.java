@@ -0,0 +1,75 @@
+package top.werls.springboottemplate.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 内存分配与 CPU 统计测试
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class ResourceAccountingTest {
+
+  private static volatile Object sink;
+
+  @Test
+  void measuresPlatformThreadAllocation() {
+    long allocated = ThreadResources.allocatedBytes();
+    long cpu = ThreadResources.cpuTime();
+    assertTrue(allocated >= 0);
+    assertTrue(cpu >= 0);
+    for (int i = 0; i < 64; i++) {
+      sink = new byte[16 * 1024];
+    }
+    assertTrue(ThreadResources.since(allocated, ThreadResources.allocatedBytes()) >= 64 * 16 * 1024);
+    assertEquals(-1, ThreadResources.since(-1, 100));
+    assertEquals(-1, ThreadResources.since(100, -1));
+  }
+
+  @Test
+  void unmeasuredCallsDoNotDiluteAverages() {
+    EndpointResources resources = new EndpointResources("Demo.test");
+    resources.record(1000, 2_000_000);
+    resources.record(3000, 4_000_000);
+    resources.record(-1, -1);
+    resources.recordSampled(2000, 0);
+    assertEquals(3, resources.getCalls());
+    assertEquals(2, resources.getMeasured());
+    assertEquals(1, resources.getSampled());
+    assertEquals(6000, resources.getAllocatedBytes());
+    assertEquals(2000.0, resources.getAllocatedBytesPerCall(), 1e-9);
+    assertEquals(3000, resources.getMaxAllocatedBytes());
+    assertEquals(4_000_000, resources.getMaxCpuNanos());
+  }
+
+  @Test
+  void joinerAttributesSamplesWithinInvocation() {
+    ThreadSampleJoiner joiner = new ThreadSampleJoiner();
+    joiner.allocation(1, 50, 999);
+    joiner.allocation(1, 110, 100);
+    joiner.execution(1, 120, 20);
+    joiner.allocation(2, 130, 7);
+    joiner.allocation(1, 150, 200);
+    // 线程 1 的调用区间 [100, 200]：50 在调用之前，不计入
+    assertArrayEquals(new long[] {300, 20}, joiner.invocation(1, 100, 200));
+    assertArrayEquals(new long[] {0, 0}, joiner.invocation(1, 300, 400));
+    assertArrayEquals(new long[] {7, 0}, joiner.invocation(2, 100, 200));
+    assertEquals(0, joiner.threads());
+  }
+
+  @Test
+  void joinerPrunesOrphanSamples() {
+    ThreadSampleJoiner joiner = new ThreadSampleJoiner();
+    for (int i = 0; i < ThreadSampleJoiner.MAX_SAMPLES_PER_THREAD + 10; i++) {
+      joiner.allocation(1, i, 1);
+    }
+    joiner.allocation(2, 5, 1);
+    assertArrayEquals(
+        new long[] {ThreadSampleJoiner.MAX_SAMPLES_PER_THREAD, 0},
+        joiner.invocation(1, 0, Long.MAX_VALUE));
+    joiner.prune(10);
+    assertEquals(0, joiner.threads());
+  }
+}
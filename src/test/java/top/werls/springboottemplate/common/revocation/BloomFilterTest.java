@@ -0,0 +1,50 @@
+package top.werls.springboottemplate.common.revocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class BloomFilterTest {
+
+  @Test
+  void noFalseNegatives() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    String[] values = new String[10_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = UUID.randomUUID().toString();
+      filter.put(values[i]);
+    }
+    for (String value : values) {
+      assertTrue(filter.mightContain(value), value);
+    }
+  }
+
+  @Test
+  void falsePositiveRateNearTarget() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put(UUID.randomUUID().toString());
+    }
+    int positives = 0;
+    int trials = 100_000;
+    for (int i = 0; i < trials; i++) {
+      if (filter.mightContain(UUID.randomUUID().toString())) {
+        positives++;
+      }
+    }
+    assertTrue(positives < trials * 0.02, "false positives: " + positives);
+  }
+
+  @Test
+  void sizing() {
+    BloomFilter filter = new BloomFilter(100_000, 0.01);
+    // m ≈ 9.59 bit/元素，k ≈ 7
+    assertTrue(filter.bitSize() >= 958_506, "bits: " + filter.bitSize());
+    assertEquals(7, filter.probes());
+  }
+}
@@ -0,0 +1,104 @@
+package top.werls.springboottemplate.common.revocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class RevocationServiceTest {
+
+  @TempDir
+  Path directory;
+
+  private final AtomicLong now = new AtomicLong(1_000_000);
+  private final List<String> evicted = new ArrayList<>();
+
+  private RevocationService service(ConfigProperties.RevocationProperties properties) {
+    return new RevocationService(properties, evicted::add, now::get, false);
+  }
+
+  private ConfigProperties.RevocationProperties properties() {
+    ConfigProperties.RevocationProperties properties = new ConfigProperties.RevocationProperties();
+    properties.setExpectedRevocations(1_000);
+    properties.setSnapshotFile(directory.resolve("revoked.bin").toString());
+    return properties;
+  }
+
+  @Test
+  void revokeAndNotify() {
+    RevocationService service = service(properties());
+    service.revoke("j1", now.get() + 60_000);
+    assertTrue(service.isRevoked("j1"));
+    assertFalse(service.isRevoked("j2"));
+    assertFalse(service.verifyJti("j1"));
+    assertTrue(service.verifyJti("j2"));
+    assertEquals(List.of("j1"), evicted);
+  }
+
+  @Test
+  void expiredTokenNotRecorded() {
+    RevocationService service = service(properties());
+    service.revoke("j1", now.get() - 1);
+    assertEquals(0, service.size());
+  }
+
+  @Test
+  void purgeDropsEntriesAtExpiration() {
+    RevocationService service = service(properties());
+    service.revoke("j1", now.get() + 1_000);
+    service.revoke("j2", now.get() + 60_000);
+    now.addAndGet(1_000);
+    service.purge();
+    assertFalse(service.isRevoked("j1"));
+    assertTrue(service.isRevoked("j2"));
+    assertEquals(1, service.size());
+  }
+
+  @Test
+  void growsPastExpectedCapacity() {
+    ConfigProperties.RevocationProperties properties = properties();
+    properties.setExpectedRevocations(10);
+    RevocationService service = service(properties);
+    for (int i = 0; i < 1_000; i++) {
+      service.revoke("j" + i, now.get() + 60_000);
+    }
+    service.purge();
+    for (int i = 0; i < 1_000; i++) {
+      assertTrue(service.isRevoked("j" + i));
+    }
+  }
+
+  @Test
+  void snapshotSurvivesRestart() throws IOException {
+    ConfigProperties.RevocationProperties properties = properties();
+    RevocationService service = service(properties);
+    service.revoke("j1", now.get() + 1_000);
+    service.revoke("j2", now.get() + 60_000);
+    service.snapshot();
+    assertTrue(Files.exists(Path.of(properties.getSnapshotFile())));
+
+    now.addAndGet(1_000);
+    RevocationService restarted = service(properties);
+    assertFalse(restarted.isRevoked("j1"));
+    assertTrue(restarted.isRevoked("j2"));
+  }
+
+  @Test
+  void corruptSnapshotIgnored() throws IOException {
+    ConfigProperties.RevocationProperties properties = properties();
+    Files.writeString(Path.of(properties.getSnapshotFile()), "garbage");
+    RevocationService service = service(properties);
+    assertEquals(0, service.size());
+  }
+}
@@ -0,0 +1,74 @@
+package top.werls.springboottemplate.common.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jsonwebtoken.Claims;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.config.ConfigProperties;
+import top.werls.springboottemplate.config.JwtClaimsProfile;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class JwtClaimsProfileTest {
+
+  private JwtTokenUtils standard;
+  private JwtTokenUtils compact;
+
+  @BeforeEach
+  void setUp() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyPair keyPair = generator.generateKeyPair();
+    standard = new JwtTokenUtils(properties(keyPair, JwtClaimsProfile.STANDARD));
+    compact = new JwtTokenUtils(properties(keyPair, JwtClaimsProfile.COMPACT));
+  }
+
+  @AfterEach
+  void tearDown() {
+    standard.close();
+    compact.close();
+  }
+
+  private static ConfigProperties properties(KeyPair keyPair, JwtClaimsProfile profile) {
+    ConfigProperties properties = new ConfigProperties();
+    properties.getJwt().setPrivateKey(keyPair.getPrivate());
+    properties.getJwt().setPublicKey(keyPair.getPublic());
+    properties.getJwt().setClaimsProfile(profile);
+    return properties;
+  }
+
+  private static String payload(String token) {
+    String[] parts = token.split("\\.");
+    return new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void compactDropsRedundantClaims() {
+    String token = compact.generateToken("test");
+    String payload = payload(token);
+    assertFalse(payload.contains("\"time\""));
+    assertFalse(payload.contains("\"username\""));
+    assertTrue(token.length() < standard.generateToken("test").length());
+
+    Claims claims = compact.getClaimsFromToken(token);
+    assertEquals(22, claims.getId().length());
+    assertEquals("test", compact.getUsername(claims));
+    assertEquals(claims.getIssuedAt(), compact.getTimeFromToken(token));
+  }
+
+  @Test
+  void profilesReadEachOther() {
+    assertEquals("test", compact.getUsernameFromToken(standard.generateToken("test")));
+    assertEquals("test", standard.getUsernameFromToken(compact.generateToken("test")));
+    assertNotNull(standard.getTimeFromToken(compact.generateToken("test")));
+  }
+}
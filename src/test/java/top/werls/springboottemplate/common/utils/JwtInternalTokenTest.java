@@ -0,0 +1,124 @@
+package top.werls.springboottemplate.common.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.config.ConfigProperties;
+import top.werls.springboottemplate.config.JwtHmacAlgorithm;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class JwtInternalTokenTest {
+
+  private KeyPair keyPair;
+  private String secret;
+  private JwtTokenUtils tokenUtils;
+
+  @BeforeEach
+  void setUp() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    keyPair = generator.generateKeyPair();
+    byte[] bytes = new byte[64];
+    new SecureRandom().nextBytes(bytes);
+    secret = Base64.getEncoder().encodeToString(bytes);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (tokenUtils != null) {
+      tokenUtils.close();
+    }
+  }
+
+  private ConfigProperties properties(JwtHmacAlgorithm algorithm, String audience) {
+    ConfigProperties properties = new ConfigProperties();
+    properties.getJwt().setPrivateKey(keyPair.getPrivate());
+    properties.getJwt().setPublicKey(keyPair.getPublic());
+    ConfigProperties.JwtInternalProperties internal = properties.getJwt().getInternal();
+    internal.setEnabled(true);
+    internal.setAlgorithm(algorithm);
+    internal.setSecret(secret);
+    internal.setAudience(audience);
+    return properties;
+  }
+
+  @Test
+  void routesByHeaderAlgorithm() {
+    tokenUtils = new JwtTokenUtils(properties(JwtHmacAlgorithm.HS512, "internal"));
+    String internal = tokenUtils.generateInternalToken("billing", List.of("ROLE_SERVICE"));
+    assertEquals("HS512", JwtTokenUtils.headerAlgorithm(internal));
+    assertTrue(tokenUtils.isInternalToken(internal));
+    assertFalse(tokenUtils.isInternalToken(tokenUtils.generateToken("test")));
+    assertFalse(tokenUtils.isInternalToken("not-a-token"));
+
+    Claims claims = tokenUtils.getClaimsFromInternalToken(internal);
+    assertEquals("billing", claims.getSubject());
+    assertEquals(List.of("ROLE_SERVICE"), tokenUtils.getInternalAuthorities(claims));
+    // 用户 token 的验签器不接受 HMAC token
+    assertThrows(JwtException.class, () -> tokenUtils.getClaimsFromToken(internal));
+  }
+
+  @Test
+  void audienceRequired() {
+    tokenUtils = new JwtTokenUtils(properties(JwtHmacAlgorithm.HS256, "other"));
+    String token = tokenUtils.generateInternalToken("billing", List.of());
+    JwtTokenUtils receiver = new JwtTokenUtils(properties(JwtHmacAlgorithm.HS256, "internal"));
+    try {
+      assertThrows(JwtException.class, () -> receiver.getClaimsFromInternalToken(token));
+    } finally {
+      receiver.close();
+    }
+  }
+
+  @Test
+  void weakSecretFailsAtStartup() {
+    secret = Base64.getEncoder().encodeToString(new byte[32]);
+    assertThrows(
+        JwtException.class, () -> new JwtTokenUtils(properties(JwtHmacAlgorithm.HS512, "internal")));
+  }
+
+  @Test
+  void disabledByDefault() {
+    ConfigProperties properties = properties(JwtHmacAlgorithm.HS256, "internal");
+    properties.getJwt().getInternal().setEnabled(false);
+    tokenUtils = new JwtTokenUtils(properties);
+    assertFalse(tokenUtils.isInternalToken(tokenUtils.generateToken("test")));
+    assertThrows(
+        IllegalStateException.class, () -> tokenUtils.generateInternalToken("billing", List.of()));
+  }
+
+  @Test
+  void headerAlgorithmReadsAlgField() {
+    // "alg" 作为其他字段的值出现时不影响结果
+    assertEquals(
+        "HS256", JwtTokenUtils.headerAlgorithm(token("{\"cty\":\"alg\",\"alg\":\"HS256\"}")));
+    assertEquals(
+        "RS256",
+        JwtTokenUtils.headerAlgorithm(
+            token("{\"kid\":\"\\\"alg\\\":\\\"HS256\",\"alg\":\"RS256\"}")));
+    assertNull(JwtTokenUtils.headerAlgorithm(token("{\"kid\":\"alg\"}")));
+    assertNull(JwtTokenUtils.headerAlgorithm(token("[\"alg\"]")));
+    assertNull(JwtTokenUtils.headerAlgorithm(token("{\"alg\":")));
+  }
+
+  private static String token(String header) {
+    return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(header.getBytes(StandardCharsets.UTF_8))
+        + ".e30.c2ln";
+  }
+}
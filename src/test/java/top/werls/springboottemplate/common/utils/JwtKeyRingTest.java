@@ -0,0 +1,117 @@
+package top.werls.springboottemplate.common.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jsonwebtoken.JwtException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import top.werls.springboottemplate.common.utils.crypto.asymmetric.PemKeys;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class JwtKeyRingTest {
+
+  @TempDir
+  Path directory;
+
+  private ConfigProperties properties;
+  private JwtTokenUtils tokenUtils;
+
+  @BeforeEach
+  void setUp() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyPair keyPair = generator.generateKeyPair();
+    properties = new ConfigProperties();
+    properties.getJwt().setPrivateKey(keyPair.getPrivate());
+    properties.getJwt().setPublicKey(keyPair.getPublic());
+    properties.getJwt().getKeys().setDirectory(directory.toString());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (tokenUtils != null) {
+      tokenUtils.close();
+    }
+  }
+
+  private void writeKey(String kid, String algorithm) throws Exception {
+    KeyPair keyPair = KeyPairGenerator.getInstance(algorithm).generateKeyPair();
+    Files.writeString(directory.resolve(kid + JwtKeyRing.PUBLIC_SUFFIX),
+        PemKeys.write("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+    Files.writeString(directory.resolve(kid + JwtKeyRing.PRIVATE_SUFFIX),
+        PemKeys.write("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+  }
+
+  private void activate(String kid) throws IOException {
+    Files.writeString(directory.resolve(JwtKeyRing.ACTIVE_FILE), kid);
+  }
+
+  private static String header(String token) {
+    return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+        StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void defaultKeyWithoutDirectoryEntries() {
+    tokenUtils = new JwtTokenUtils(properties);
+    String token = tokenUtils.generateToken("test");
+    assertTrue(header(token).contains("\"kid\":\"default\""));
+    assertEquals("test", tokenUtils.getUsernameFromToken(token));
+  }
+
+  @Test
+  void rotateWithoutInvalidatingLiveTokens() throws Exception {
+    writeKey("k1", "EC");
+    activate("k1");
+    tokenUtils = new JwtTokenUtils(properties);
+    String first = tokenUtils.generateToken("test");
+    assertTrue(header(first).contains("\"kid\":\"k1\""));
+
+    writeKey("k2", "Ed25519");
+    activate("k2");
+    tokenUtils.getKeyRing().reload();
+    String second = tokenUtils.generateToken("test");
+    assertTrue(header(second).contains("\"kid\":\"k2\""));
+    assertEquals("test", tokenUtils.getUsernameFromToken(first));
+    assertEquals("test", tokenUtils.getUsernameFromToken(second));
+  }
+
+  @Test
+  void removedKeyRejectedEvenWhenCached() throws Exception {
+    writeKey("k1", "EC");
+    activate("k1");
+    tokenUtils = new JwtTokenUtils(properties);
+    String token = tokenUtils.generateToken("test");
+    assertEquals("test", tokenUtils.getUsernameFromToken(token));
+
+    Files.delete(directory.resolve(JwtKeyRing.ACTIVE_FILE));
+    Files.delete(directory.resolve("k1" + JwtKeyRing.PUBLIC_SUFFIX));
+    tokenUtils.getKeyRing().reload();
+    assertEquals("default", tokenUtils.getKeyRing().activeKid());
+    assertThrows(JwtException.class, () -> tokenUtils.getClaimsFromToken(token));
+  }
+
+  @Test
+  void brokenDirectoryKeepsPreviousKeys() throws Exception {
+    writeKey("k1", "EC");
+    activate("k1");
+    tokenUtils = new JwtTokenUtils(properties);
+    activate("missing");
+    tokenUtils.getKeyRing().reload();
+    assertEquals("k1", tokenUtils.getKeyRing().activeKid());
+  }
+}
@@ -0,0 +1,67 @@
+package top.werls.springboottemplate.common.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class JwtMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final JwtMetrics metrics = new JwtMetrics(registry);
+
+  @Test
+  void classifiesFailures() {
+    assertEquals(
+        JwtMetrics.Outcome.EXPIRED,
+        JwtMetrics.Outcome.of(new ExpiredJwtException(null, null, "expired")));
+    assertEquals(
+        JwtMetrics.Outcome.BAD_SIGNATURE, JwtMetrics.Outcome.of(new SignatureException("bad")));
+    assertEquals(
+        JwtMetrics.Outcome.MALFORMED, JwtMetrics.Outcome.of(new MalformedJwtException("bad")));
+    assertEquals(
+        JwtMetrics.Outcome.MALFORMED, JwtMetrics.Outcome.of(new IllegalArgumentException()));
+  }
+
+  @Test
+  void recordsByOutcome() {
+    metrics.recordAuthentication(JwtMetrics.Outcome.OK, 1000);
+    metrics.recordAuthentication(JwtMetrics.Outcome.OK, 1000);
+    metrics.recordAuthentication(JwtMetrics.Outcome.REVOKED, 1000);
+    assertEquals(2, registry.get("jwt.authentication").tag("outcome", "ok").timer().count());
+    assertEquals(1, registry.get("jwt.authentication").tag("outcome", "revoked").timer().count());
+    assertEquals(0, registry.get("jwt.authentication").tag("outcome", "expired").timer().count());
+    // 每个 tag 取值一个计时器，与请求内容无关
+    assertEquals(
+        JwtMetrics.Outcome.values().length, registry.get("jwt.authentication").timers().size());
+  }
+
+  @Test
+  void publishesCacheHitRatio() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(10, Duration.ofMinutes(5));
+    metrics.bindCache(cache);
+    cache.put(
+        "token",
+        Jwts.claims().id("j1").expiration(new Date(System.currentTimeMillis() + 60_000)).build(),
+        cache.generation());
+    cache.get("token");
+    cache.get("other");
+    assertEquals(0.5, registry.get("jwt.cache.hit.ratio").gauge().value());
+    assertEquals(1, registry.get("jwt.cache.gets").tag("result", "hit").functionCounter().count());
+    @SuppressWarnings("unchecked")
+    Map<String, Object> stats = (Map<String, Object>) metrics.snapshot().get("cache");
+    assertEquals(1L, stats.get("misses"));
+  }
+}
@@ -2,6 +2,7 @@ package top.werls.springboottemplate.common.utils;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.annotation.Resource;
 import java.util.Date;
 import org.junit.jupiter.api.Test;
@@ -23,4 +24,17 @@ class JwtTokenUtilsTest {
     String token = tokenUtils.generateTokenWithoutExpiry("test");
     System.out.println(token);
   }
+
+  @Test
+  void usernameFromVerifiedClaims() {
+    String token = tokenUtils.generateToken("test");
+    assertEquals("test", tokenUtils.getUsername(tokenUtils.getClaimsFromToken(token)));
+  }
+
+  @Test
+  void tamperedTokenRejected() {
+    String token = tokenUtils.generateToken("test");
+    String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+    assertThrows(JwtException.class, () -> tokenUtils.getClaimsFromToken(tampered));
+  }
 }
\ No newline at end of file
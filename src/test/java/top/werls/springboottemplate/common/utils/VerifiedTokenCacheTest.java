@@ -0,0 +1,97 @@
+package top.werls.springboottemplate.common.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class VerifiedTokenCacheTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicLong millis = new AtomicLong(1_000_000);
+
+  private final VerifiedTokenCache cache =
+      new VerifiedTokenCache(100, Duration.ofMinutes(5), nanos::get, millis::get);
+
+  private Claims claims(String jti, long expiresInMillis) {
+    return Jwts.claims()
+        .id(jti)
+        .expiration(new Date(millis.get() + expiresInMillis))
+        .add("username", "test")
+        .build();
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+    millis.addAndGet(duration.toMillis());
+  }
+
+  @Test
+  void hitReturnsSameClaims() {
+    Claims claims = claims("j1", TimeUnit.MINUTES.toMillis(30));
+    cache.put("token-1", claims, cache.generation());
+    assertSame(claims, cache.get("token-1"));
+    assertNull(cache.get("token-2"));
+  }
+
+  @Test
+  void neverOutlivesExpiration() {
+    cache.put("token-1", claims("j1", TimeUnit.SECONDS.toMillis(30)), cache.generation());
+    advance(Duration.ofSeconds(29));
+    assertNotNull(cache.get("token-1"));
+    advance(Duration.ofSeconds(2));
+    assertNull(cache.get("token-1"));
+  }
+
+  @Test
+  void ttlCapsLongLivedTokens() {
+    cache.put("token-1", claims("j1", TimeUnit.HOURS.toMillis(1)), cache.generation());
+    advance(Duration.ofMinutes(5).plusSeconds(1));
+    assertNull(cache.get("token-1"));
+  }
+
+  @Test
+  void expiredTokenNotCached() {
+    cache.put("token-1", claims("j1", -1), cache.generation());
+    assertNull(cache.get("token-1"));
+  }
+
+  @Test
+  void evictByJti() {
+    cache.put("token-1", claims("j1", TimeUnit.MINUTES.toMillis(30)), cache.generation());
+    cache.put("token-2", claims("j2", TimeUnit.MINUTES.toMillis(30)), cache.generation());
+    cache.evict("j1");
+    assertNull(cache.get("token-1"));
+    assertNotNull(cache.get("token-2"));
+  }
+
+  @Test
+  void revocationDuringVerificationDropsResult() {
+    long generation = cache.generation();
+    cache.evict("other");
+    cache.put("token-1", claims("j1", TimeUnit.MINUTES.toMillis(30)), generation);
+    assertNull(cache.get("token-1"));
+  }
+
+  @Test
+  void hitRatioCountsLookups() {
+    assertEquals(0, cache.hitRatio());
+    cache.put("token-1", claims("j1", TimeUnit.MINUTES.toMillis(30)), cache.generation());
+    cache.get("token-1");
+    cache.get("token-1");
+    cache.get("token-1");
+    cache.get("token-2");
+    assertEquals(3, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals(0.75, cache.hitRatio());
+  }
+}
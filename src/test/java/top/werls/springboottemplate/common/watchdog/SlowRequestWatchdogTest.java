@@ -0,0 +1,156 @@
+package top.werls.springboottemplate.common.watchdog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import top.werls.springboottemplate.config.ConfigProperties;
+
+/**
+ * 慢请求诊断测试，直接调用 scan 并传入时间，后台扫描间隔设置得足够长以免干扰
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class SlowRequestWatchdogTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private static ConfigProperties.WatchdogProperties properties() {
+    ConfigProperties.WatchdogProperties properties = new ConfigProperties.WatchdogProperties();
+    properties.setThreshold(Duration.ofSeconds(2));
+    properties.setSampleInterval(Duration.ofHours(1));
+    properties.setMaxSamples(3);
+    properties.setCapacity(2);
+    return properties;
+  }
+
+  @Test
+  void fastRequestsLeaveNoRecord() {
+    SlowRequestWatchdog watchdog = new SlowRequestWatchdog(properties());
+    try {
+      SlowRequestWatchdog.Ticket ticket = watchdog.begin("Demo.fast", "GET", "/fast", null);
+      watchdog.scan(System.nanoTime());
+      watchdog.end(ticket, false);
+      assertTrue(watchdog.inFlight().isEmpty());
+      assertTrue(watchdog.recent().isEmpty());
+    } finally {
+      watchdog.shutdown();
+    }
+  }
+
+  @Test
+  void samplesStackOfSlowRequest() throws Exception {
+    SlowRequestWatchdog watchdog = new SlowRequestWatchdog(properties());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<SlowRequestWatchdog.Ticket> ticket = new AtomicReference<>();
+    Principal admin = () -> "admin";
+    Thread worker =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  ticket.set(watchdog.begin("Demo.slow", "POST", "/slow", admin));
+                  started.countDown();
+                  blockUntil(release);
+                  watchdog.end(ticket.get(), false);
+                });
+    try {
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      // 等待工作线程进入阻塞，再模拟时间经过阈值
+      while (worker.getState() != Thread.State.WAITING) {
+        Thread.sleep(1);
+      }
+      long now = System.nanoTime();
+      watchdog.scan(now + SECOND);
+      assertTrue(watchdog.inFlight().isEmpty());
+      watchdog.scan(now + 3 * SECOND);
+      watchdog.scan(now + 3 * SECOND);
+      List<SlowRequest> inFlight = watchdog.inFlight();
+      assertEquals(1, inFlight.size());
+      assertFalse(inFlight.get(0).completed());
+      assertEquals(1, inFlight.get(0).samples().size());
+      for (int i = 0; i < 10; i++) {
+        watchdog.scan(now + (4 + i) * TimeUnit.HOURS.toNanos(1));
+      }
+    } finally {
+      release.countDown();
+      worker.join();
+      watchdog.shutdown();
+    }
+    List<SlowRequest> recent = watchdog.recent();
+    assertEquals(1, recent.size());
+    SlowRequest record = recent.get(0);
+    assertEquals("Demo.slow", record.endpoint());
+    assertEquals("POST", record.method());
+    assertEquals("/slow", record.uri());
+    assertEquals("admin", record.principal());
+    assertTrue(record.completed());
+    assertEquals(3, record.samples().size());
+    SlowRequest.StackSample sample = record.samples().get(0);
+    assertEquals("WAITING", sample.state());
+    assertTrue(sample.frames().stream().anyMatch(frame -> frame.contains("blockUntil")));
+  }
+
+  @Test
+  void endpointThresholdOverridesDefault() {
+    ConfigProperties.WatchdogProperties properties = properties();
+    properties.setEndpoints(Map.of("Demo.tight", Duration.ofMillis(10)));
+    SlowRequestWatchdog watchdog = new SlowRequestWatchdog(properties);
+    try {
+      SlowRequestWatchdog.Ticket tight = watchdog.begin("Demo.tight", "GET", "/a", null);
+      SlowRequestWatchdog.Ticket normal = watchdog.begin("Demo.normal", "GET", "/b", null);
+      watchdog.scan(System.nanoTime() + SECOND);
+      List<SlowRequest> inFlight = watchdog.inFlight();
+      assertEquals(1, inFlight.size());
+      assertEquals("Demo.tight", inFlight.get(0).endpoint());
+      watchdog.end(tight, true);
+      watchdog.end(normal, false);
+      assertTrue(watchdog.recent().get(0).failed());
+    } finally {
+      watchdog.shutdown();
+    }
+  }
+
+  @Test
+  void keepsMostRecentRecords() {
+    SlowRequestWatchdog watchdog = new SlowRequestWatchdog(properties());
+    try {
+      for (int i = 0; i < 3; i++) {
+        SlowRequestWatchdog.Ticket ticket = watchdog.begin("Demo.slow" + i, "GET", "/", null);
+        watchdog.scan(System.nanoTime() + 3 * SECOND);
+        watchdog.end(ticket, false);
+      }
+      List<SlowRequest> recent = watchdog.recent();
+      assertEquals(2, recent.size());
+      assertEquals("Demo.slow2", recent.get(0).endpoint());
+      assertEquals("Demo.slow1", recent.get(1).endpoint());
+    } finally {
+      watchdog.shutdown();
+    }
+  }
+
+  @Test
+  void disabledWatchdogIgnoresRequests() {
+    ConfigProperties.WatchdogProperties properties = properties();
+    properties.setEnabled(false);
+    SlowRequestWatchdog watchdog = new SlowRequestWatchdog(properties);
+    assertNull(watchdog.begin("Demo.slow", "GET", "/", null));
+    watchdog.end(null, false);
+    assertTrue(watchdog.recent().isEmpty());
+  }
+
+  private static void blockUntil(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package top.werls.springboottemplate.config;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * 会改变运行状态或导出诊断数据的 actuator 操作只允许管理员
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+@SpringBootTest
+class ActuatorSecurityTest {
+
+  @Resource
+  WebApplicationContext context;
+
+  private MockMvc mvc;
+
+  @BeforeEach
+  void setUp() {
+    mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+  }
+
+  @Test
+  void quotaReloadRequiresAdmin() throws Exception {
+    mvc.perform(post("/actuator/quotas").with(user("test").roles("USER")))
+        .andExpect(status().isForbidden());
+    mvc.perform(post("/actuator/quotas").with(user("test").roles("ADMIN")))
+        .andExpect(status().isOk());
+    mvc.perform(get("/actuator/quotas").with(user("test").roles("USER")))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void jfrControlRequiresAdmin() throws Exception {
+    mvc.perform(get("/actuator/jfr").with(user("test").roles("USER")))
+        .andExpect(status().isForbidden());
+    mvc.perform(get("/actuator/jfr").with(user("test").roles("ADMIN")))
+        .andExpect(status().isOk());
+    mvc.perform(post("/actuator/jfr/dump").with(user("test").roles("USER")))
+        .andExpect(status().isForbidden());
+    mvc.perform(get("/actuator/jfr/recording.jfr").with(user("test").roles("USER")))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void slowRequestsRequireAdmin() throws Exception {
+    mvc.perform(get("/actuator/slowrequests").with(user("test").roles("USER")))
+        .andExpect(status().isForbidden());
+    mvc.perform(get("/actuator/slowrequests").with(user("test").roles("ADMIN")))
+        .andExpect(status().isOk());
+  }
+}
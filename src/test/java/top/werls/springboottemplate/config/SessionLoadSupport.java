@@ -0,0 +1,63 @@
+package top.werls.springboottemplate.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpSession;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import top.werls.springboottemplate.common.utils.JwtTokenUtils;
+
+/**
+ * 用同一个 JWT 连续发起请求，统计创建的 HttpSession 数量与每个请求在当前线程上的内存分配，见 {@link SessionLoadTest}。每个请求都必须认证成功（2xx）。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+abstract class SessionLoadSupport {
+
+  static final int REQUESTS = 2_000;
+
+  @Resource
+  WebApplicationContext context;
+
+  @Resource
+  JwtTokenUtils tokenUtils;
+
+  record LoadResult(int sessions, long bytesPerRequest) {}
+
+  LoadResult run() throws Exception {
+    MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    String authorization = "Bearer " + tokenUtils.generateToken("test");
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Set<String> sessions = new HashSet<>();
+    // 预热，排除类加载与首次初始化
+    for (int i = 0; i < 200; i++) {
+      mvc.perform(get("/actuator/health").header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < REQUESTS; i++) {
+      MvcResult result =
+          mvc.perform(get("/actuator/health").header(HttpHeaders.AUTHORIZATION, authorization))
+              .andReturn();
+      int status = result.getResponse().getStatus();
+      assertTrue(status >= 200 && status < 300, () -> "unexpected status " + status);
+      HttpSession session = result.getRequest().getSession(false);
+      if (session != null) {
+        sessions.add(session.getId());
+      }
+    }
+    long bytesPerRequest = (threads.getCurrentThreadAllocatedBytes() - allocated) / REQUESTS;
+    assertTrue(bytesPerRequest > 0, "thread allocation measurement unavailable");
+    return new LoadResult(sessions.size(), bytesPerRequest);
+  }
+}
@@ -0,0 +1,65 @@
+package top.werls.springboottemplate.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.springframework.test.context.NestedTestConfiguration.EnclosingConfiguration;
+
+/**
+ * 同一负载下对比两种会话模式：默认的无状态模式不创建会话，关闭后（原来的 {@code SessionCreationPolicy.ALWAYS}）
+ * 不带 Cookie 的客户端每个请求都会创建一个新会话，每个请求的内存分配也更多。
+ *
+ * <p>先运行无状态模式并记录结果，会话模式运行后与之比较。
+ *
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+class SessionLoadTest {
+
+  private static SessionLoadSupport.LoadResult stateless;
+
+  @Nested
+  @Order(1)
+  @NestedTestConfiguration(EnclosingConfiguration.OVERRIDE)
+  @SpringBootTest
+  class Stateless extends SessionLoadSupport {
+
+    @Test
+    void noSessionsUnderLoad() throws Exception {
+      LoadResult result = run();
+      assertEquals(0, result.sessions());
+      stateless = result;
+    }
+  }
+
+  @Nested
+  @Order(2)
+  @NestedTestConfiguration(EnclosingConfiguration.OVERRIDE)
+  @SpringBootTest(properties = "env.security.stateless=false")
+  class Sessionful extends SessionLoadSupport {
+
+    @Test
+    void sessionPerRequestAllocatesMore() throws Exception {
+      LoadResult result = run();
+      assertEquals(REQUESTS, result.sessions());
+      assumeTrue(stateless != null, "stateless run did not complete");
+      assertTrue(
+          stateless.bytesPerRequest() < result.bytesPerRequest(),
+          () ->
+              "stateless "
+                  + stateless.bytesPerRequest()
+                  + " bytes/request, sessionful "
+                  + result.bytesPerRequest()
+                  + " bytes/request");
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package top.werls.springboottemplate.system.Security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.time.Duration;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * @author JiaWei Lee
+ * @since on 18 10月 2026
+ */
+class UserClaimsTest {
+
+  private static Claims claims(UserDetails user, long issuedAt) {
+    return Jwts.claims().add(UserClaims.encode(user)).issuedAt(new Date(issuedAt)).build();
+  }
+
+  @Test
+  void roundTrip() {
+    UserDetails user =
+        new User("test", "secret", true, true, true, false,
+            AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+    UserDetails decoded = UserClaims.decode("test", claims(user, System.currentTimeMillis()));
+    assertEquals("test", decoded.getUsername());
+    assertEquals(
+        AuthorityUtils.authorityListToSet(user.getAuthorities()),
+        AuthorityUtils.authorityListToSet(decoded.getAuthorities()));
+    assertTrue(decoded.isEnabled());
+    assertFalse(decoded.isAccountNonLocked());
+  }
+
+  @Test
+  void staleSnapshotRequiresReload() {
+    UserDetails user =
+        new User("test", "secret", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    long now = System.currentTimeMillis();
+    Claims claims = claims(user, now - Duration.ofMinutes(6).toMillis());
+    assertTrue(UserClaims.isFresh(claims, Duration.ofMinutes(10), now));
+    assertFalse(UserClaims.isFresh(claims, Duration.ofMinutes(5), now));
+  }
+
+  @Test
+  void tokenWithoutAuthoritiesRequiresReload() {
+    Claims claims = Jwts.claims().issuedAt(new Date()).add("username", "test").build();
+    assertFalse(UserClaims.isFresh(claims, Duration.ofMinutes(5), System.currentTimeMillis()));
+  }
+}